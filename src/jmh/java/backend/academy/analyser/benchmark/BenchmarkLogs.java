@@ -0,0 +1,59 @@
+package backend.academy.analyser.benchmark;
+
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Строки лога для бенчмарков из синтетического корпуса с фиксированным зерном
+ */
+@UtilityClass
+public class BenchmarkLogs {
+
+    /**
+     * Генерирует строки лога в формате nginx combined из корпуса с параметрами по умолчанию
+     *
+     * @param count Количество строк
+     * @return Строки лога
+     */
+    public static List<String> lines(int count) {
+        LogCorpusGenerator generator = new LogCorpusGenerator(CorpusSpec.ofSize(0));
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(generator.nextLine());
+        }
+        return lines;
+    }
+
+    /**
+     * Возвращает поля лога, которые нужны статистикам по умолчанию
+     *
+     * @return Поля лога
+     */
+    public static Set<LogField> requiredFields() {
+        return new StatsHandler("benchmark", LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT)
+            .requiredFields();
+    }
+
+    /**
+     * Записывает сгенерированные строки лога во временный файл
+     *
+     * @param count Количество строк
+     * @return Путь к файлу
+     * @throws IOException Ошибка записи файла
+     */
+    public static Path writeFile(int count) throws IOException {
+        Path logFile = Files.createTempFile("benchmark-access", ".log");
+        Files.write(logFile, lines(count), StandardCharsets.UTF_8);
+        return logFile;
+    }
+}
@@ -0,0 +1,40 @@
+package backend.academy.analyser.benchmark;
+
+/**
+ * Параметры синтетического корпуса логов
+ *
+ * @param seed         Зерно генератора, одинаковое зерно дает одинаковый корпус
+ * @param totalBytes   Размер корпуса в байтах без сжатия
+ * @param resources    Количество различных ресурсов
+ * @param addresses    Количество различных адресов клиентов
+ * @param zipfExponent Показатель распределения Ципфа для ресурсов, адресов и user-agent
+ * @param rotateBytes  Размер одного файла без сжатия, после которого начинается следующий файл, или 0 без ротации
+ * @param gzip         Сжимать ли файлы в gzip
+ */
+public record CorpusSpec(
+    long seed,
+    long totalBytes,
+    int resources,
+    int addresses,
+    double zipfExponent,
+    long rotateBytes,
+    boolean gzip
+) {
+
+    public static final long DEFAULT_SEED = 42;
+    public static final int DEFAULT_RESOURCES = 10_000;
+    public static final int DEFAULT_ADDRESSES = 50_000;
+    public static final double DEFAULT_ZIPF_EXPONENT = 1.1;
+
+    /**
+     * Создает параметры корпуса заданного размера с параметрами распределений по умолчанию
+     * в одном несжатом файле
+     *
+     * @param totalBytes Размер корпуса в байтах
+     * @return Параметры корпуса
+     */
+    public static CorpusSpec ofSize(long totalBytes) {
+        return new CorpusSpec(DEFAULT_SEED, totalBytes, DEFAULT_RESOURCES, DEFAULT_ADDRESSES, DEFAULT_ZIPF_EXPONENT,
+            0, false);
+    }
+}
@@ -0,0 +1,50 @@
+package backend.academy.analyser.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Выбор номера значения с заданными весами, в том числе по распределению Ципфа
+ */
+final class DiscreteSampler {
+
+    private final double[] cumulative;
+
+    DiscreteSampler(double... weights) {
+        cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Создает распределение Ципфа: значение ранга k выбирается с весом 1 / k^exponent
+     *
+     * @param size Количество значений
+     * @param exponent Показатель распределения, чем больше, тем сильнее перекос к первым значениям
+     * @return Распределение
+     */
+    static DiscreteSampler zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1 / Math.pow(i + 1, exponent);
+        }
+        return new DiscreteSampler(weights);
+    }
+
+    /**
+     * Выбирает номер значения
+     *
+     * @param random Генератор случайных чисел
+     * @return Номер значения от 0 до количества значений не включительно
+     */
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,76 @@
+package backend.academy.analyser.benchmark;
+
+import backend.academy.analyser.LogsFilter;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.parser.ParserType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки фильтрации уже разобранного лога по каждому полю фильтра
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    private static final int ENTITIES = 1024;
+    private static final Map<String, String> FILTER_VALUES = Map.of(
+        "remoteAddr", LogCorpusGenerator.address(0),
+        "remoteUser", "admin",
+        "requestMethod", "GET",
+        "requestPath", "product_1",
+        "requestProtocol", "HTTP/1.1",
+        "status", "404",
+        "bytes", "1024",
+        "referer", "example.com",
+        "agent", "Mozilla",
+        "date", "2015-05-17T12:00"
+    );
+
+    @Param({"remoteAddr", "remoteUser", "requestMethod", "requestPath", "requestProtocol", "status", "bytes",
+        "referer", "agent", "date"})
+    private String field;
+
+    private LogsFilter logsFilter;
+    private NginxLogEntity[] entities;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        logsFilter = new LogsFilter(field, FILTER_VALUES.get(field));
+        LogLineParser logParser = ParserType.SINGLE_PASS.create();
+        List<String> lines = BenchmarkLogs.lines(ENTITIES);
+        entities = new NginxLogEntity[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            entities[i] = logParser.parse(lines.get(i));
+        }
+    }
+
+    /**
+     * Фильтрация лога по выбранному полю
+     *
+     * @return Результат фильтрации
+     */
+    @Benchmark
+    public boolean filter() {
+        index = (index + 1) & (ENTITIES - 1);
+        return logsFilter.filter(entities[index]);
+    }
+}
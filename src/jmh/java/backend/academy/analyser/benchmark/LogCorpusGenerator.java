@@ -0,0 +1,271 @@
+package backend.academy.analyser.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Генератор синтетических логов nginx в формате combined с воспроизводимыми распределениями значений
+ */
+public final class LogCorpusGenerator {
+
+    public static final LocalDateTime START = LocalDateTime.of(2015, 5, 17, 0, 0);
+
+    private static final double REQUESTS_PER_SECOND = 20;
+    private static final double[] HOUR_WEIGHTS = {
+        0.35, 0.25, 0.2, 0.18, 0.2, 0.3, 0.5, 0.8, 1.1, 1.3, 1.4, 1.45,
+        1.5, 1.5, 1.55, 1.6, 1.6, 1.5, 1.45, 1.4, 1.3, 1.1, 0.8, 0.55
+    };
+    private static final int SECONDS_IN_HOUR = 3600;
+    private static final int[] STATUSES = {200, 304, 404, 301, 206, 403, 500, 502};
+    private static final double[] STATUS_WEIGHTS = {70, 12, 10, 3, 1, 2, 1.5, 0.5};
+    private static final int NOT_MODIFIED = 304;
+    private static final String[] METHODS = {"GET", "POST", "HEAD", "PUT", "DELETE"};
+    private static final double[] METHOD_WEIGHTS = {85, 8, 5, 1, 1};
+    private static final String[] PROTOCOLS = {"HTTP/1.1", "HTTP/2.0", "HTTP/1.0"};
+    private static final double[] PROTOCOL_WEIGHTS = {80, 15, 5};
+    private static final String NO_VALUE = "-";
+    private static final String[] USERS = {NO_VALUE, "admin", "alice", "bob", "deploy"};
+    private static final double[] USER_WEIGHTS = {97, 1, 1, 0.5, 0.5};
+    private static final String[] REFERERS = {
+        NO_VALUE, "https://example.com/", "https://www.google.com/", "https://example.com/downloads",
+        "https://news.ycombinator.com/"
+    };
+    private static final double[] REFERER_WEIGHTS = {60, 15, 15, 7, 3};
+    private static final String[] AGENTS = {
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 "
+            + "Safari/537.36",
+        "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) "
+            + "Version/17.1 Mobile/15E148 Safari/604.1",
+        "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 "
+            + "Safari/605.1.15",
+        "Debian APT-HTTP/1.3 (1.0.1ubuntu2)",
+        "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:120.0) Gecko/20100101 Firefox/120.0",
+        "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.6099.43 "
+            + "Mobile Safari/537.36",
+        "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+        "Wget/1.21.4",
+        "curl/8.4.0",
+        "python-requests/2.31.0"
+    };
+    private static final PathTemplate[] PATH_TEMPLATES = {
+        new PathTemplate("/downloads/product_", ""), new PathTemplate("/static/js/app.", ".js"),
+        new PathTemplate("/api/v1/items/", ""), new PathTemplate("/images/photo_", ".jpg")
+    };
+    private static final double MIN_BYTES = 200;
+    private static final double PARETO_ALPHA = 1.2;
+    private static final double MAX_BYTES = 50_000_000;
+    private static final DateTimeFormatter TIME_FORMATTER =
+        DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+    private static final int BUFFER_SIZE = 1_048_576;
+    private static final int OCTET_MASK = 0xFF;
+    private static final int FIRST_OCTETS = 223;
+    private static final int LAST_OCTETS = 254;
+    private static final long MIX_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int FIRST_OCTET_SHIFT = 56;
+    private static final int SECOND_OCTET_SHIFT = 48;
+    private static final int THIRD_OCTET_SHIFT = 40;
+    private static final int FOURTH_OCTET_SHIFT = 32;
+
+    private final CorpusSpec spec;
+    private final SplittableRandom random;
+    private final DiscreteSampler resourceSampler;
+    private final DiscreteSampler addressSampler;
+    private final DiscreteSampler agentSampler;
+    private final DiscreteSampler statusSampler = new DiscreteSampler(STATUS_WEIGHTS);
+    private final DiscreteSampler methodSampler = new DiscreteSampler(METHOD_WEIGHTS);
+    private final DiscreteSampler protocolSampler = new DiscreteSampler(PROTOCOL_WEIGHTS);
+    private final DiscreteSampler userSampler = new DiscreteSampler(USER_WEIGHTS);
+    private final DiscreteSampler refererSampler = new DiscreteSampler(REFERER_WEIGHTS);
+    private final double[] hourRates = new double[HOUR_WEIGHTS.length];
+    private final StringBuilder line = new StringBuilder();
+    private double epochSecond = START.toEpochSecond(ZoneOffset.UTC);
+    private long formattedSecond = Long.MIN_VALUE;
+    private String formattedTime;
+
+    public LogCorpusGenerator(CorpusSpec spec) {
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed());
+        this.resourceSampler = DiscreteSampler.zipf(spec.resources(), spec.zipfExponent());
+        this.addressSampler = DiscreteSampler.zipf(spec.addresses(), spec.zipfExponent());
+        this.agentSampler = DiscreteSampler.zipf(AGENTS.length, spec.zipfExponent());
+        double weightSum = 0;
+        for (double weight : HOUR_WEIGHTS) {
+            weightSum += weight;
+        }
+        for (int hour = 0; hour < HOUR_WEIGHTS.length; hour++) {
+            hourRates[hour] = REQUESTS_PER_SECOND * HOUR_WEIGHTS[hour] * HOUR_WEIGHTS.length / weightSum;
+        }
+    }
+
+    /**
+     * Генерирует следующую строку лога
+     *
+     * @return Строка лога без перевода строки
+     */
+    public String nextLine() {
+        advanceTime();
+        int status = STATUSES[statusSampler.sample(random)];
+        line.setLength(0);
+        line.append(address(addressSampler.sample(random)))
+            .append(" - ").append(USERS[userSampler.sample(random)])
+            .append(" [").append(formattedTime())
+            .append("] \"").append(METHODS[methodSampler.sample(random)])
+            .append(' ');
+        appendPath(line, resourceSampler.sample(random));
+        line.append(' ').append(PROTOCOLS[protocolSampler.sample(random)])
+            .append("\" ").append(status)
+            .append(' ').append(status == NOT_MODIFIED ? 0 : bodyBytes())
+            .append(" \"").append(REFERERS[refererSampler.sample(random)])
+            .append("\" \"").append(AGENTS[agentSampler.sample(random)])
+            .append('"');
+        return line.toString();
+    }
+
+    /**
+     * Записывает корпус в директорию. Без ротации корпус записывается в один файл access.log,
+     * с ротацией — в файлы access-0000.log, access-0001.log и так далее. Сжатые файлы получают суффикс .gz
+     *
+     * @param directory Существующая директория
+     * @return Пути к записанным файлам в порядке записи
+     * @throws IOException Ошибка записи файла
+     */
+    public List<Path> write(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        long written = 0;
+        while (written < spec.totalBytes()) {
+            Path file = directory.resolve(fileName(files.size()));
+            long remaining = spec.totalBytes() - written;
+            written += writeFile(file, spec.rotateBytes() > 0 ? Math.min(spec.rotateBytes(), remaining) : remaining);
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Возвращает адрес клиента по его рангу. Адрес зависит только от ранга, поэтому самые частые адреса
+     * одинаковы во всех корпусах
+     *
+     * @param rank Ранг адреса, начиная с 0
+     * @return IPv4 адрес
+     */
+    public static String address(int rank) {
+        long mixed = (rank + 1) * MIX_MULTIPLIER;
+        return (1 + (mixed >>> FIRST_OCTET_SHIFT & OCTET_MASK) % FIRST_OCTETS) + "."
+            + (mixed >>> SECOND_OCTET_SHIFT & OCTET_MASK) + "."
+            + (mixed >>> THIRD_OCTET_SHIFT & OCTET_MASK) + "."
+            + (1 + (mixed >>> FOURTH_OCTET_SHIFT & OCTET_MASK) % LAST_OCTETS);
+    }
+
+    /**
+     * Записывает строки в файл, пока не будет записано заданное количество байтов
+     *
+     * @param file Путь к файлу
+     * @param limit Количество байтов без сжатия
+     * @return Количество записанных байтов без сжатия
+     * @throws IOException Ошибка записи файла
+     */
+    private long writeFile(Path file, long limit) throws IOException {
+        long written = 0;
+        try (Writer writer = openWriter(file)) {
+            while (written < limit) {
+                String logLine = nextLine();
+                writer.write(logLine);
+                writer.write('\n');
+                written += logLine.length() + 1;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Открывает буферизованную запись в файл, при необходимости со сжатием
+     *
+     * @param file Путь к файлу
+     * @return Запись в файл
+     * @throws IOException Ошибка открытия файла
+     */
+    private Writer openWriter(Path file) throws IOException {
+        OutputStream output = Files.newOutputStream(file);
+        if (spec.gzip()) {
+            output = new GZIPOutputStream(output, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII), BUFFER_SIZE);
+    }
+
+    /**
+     * Возвращает имя файла корпуса
+     *
+     * @param index Номер файла
+     * @return Имя файла
+     */
+    private String fileName(int index) {
+        String name = spec.rotateBytes() > 0 ? String.format("access-%04d.log", index) : "access.log";
+        return spec.gzip() ? name + ".gz" : name;
+    }
+
+    /**
+     * Сдвигает время на экспоненциальный интервал с частотой запросов текущего часа
+     */
+    private void advanceTime() {
+        int hour = (int) ((long) epochSecond / SECONDS_IN_HOUR % HOUR_WEIGHTS.length);
+        epochSecond += -Math.log(1 - random.nextDouble()) / hourRates[hour];
+    }
+
+    /**
+     * Возвращает текущее время в формате time_local, форматируя его один раз на каждую секунду
+     *
+     * @return Время в формате time_local
+     */
+    private String formattedTime() {
+        long second = (long) epochSecond;
+        if (second != formattedSecond) {
+            formattedSecond = second;
+            formattedTime = TIME_FORMATTER.format(Instant.ofEpochSecond(second));
+        }
+        return formattedTime;
+    }
+
+    /**
+     * Выбирает размер ответа по распределению Парето
+     *
+     * @return Размер ответа в байтах
+     */
+    private int bodyBytes() {
+        return (int) Math.min(MAX_BYTES, MIN_BYTES / Math.pow(1 - random.nextDouble(), 1 / PARETO_ALPHA));
+    }
+
+    /**
+     * Добавляет путь ресурса по его рангу
+     *
+     * @param builder Строка лога
+     * @param rank Ранг ресурса, начиная с 0
+     */
+    private static void appendPath(StringBuilder builder, int rank) {
+        PathTemplate template = PATH_TEMPLATES[rank % PATH_TEMPLATES.length];
+        builder.append(template.prefix()).append(rank / PATH_TEMPLATES.length).append(template.suffix());
+    }
+
+    /**
+     * Шаблон пути ресурса, в который подставляется номер ресурса
+     *
+     * @param prefix Часть пути до номера
+     * @param suffix Часть пути после номера
+     */
+    private record PathTemplate(String prefix, String suffix) {
+    }
+}
@@ -0,0 +1,92 @@
+package backend.academy.analyser.benchmark;
+
+import com.beust.jcommander.IStringConverter;
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Точка входа для генерации синтетического корпуса логов на диск
+ */
+@Slf4j
+@UtilityClass
+public class LogCorpusMain {
+
+    private static final long DEFAULT_SIZE = 104_857_600;
+
+    public static void main(String[] args) throws IOException {
+        CorpusArgs corpusArgs = new CorpusArgs();
+        JCommander.newBuilder()
+            .addObject(corpusArgs)
+            .build()
+            .parse(args);
+        Files.createDirectories(corpusArgs.out);
+        List<Path> files = new LogCorpusGenerator(corpusArgs.spec()).write(corpusArgs.out);
+        files.forEach(file -> log.info("Written {}", file));
+    }
+
+    /**
+     * Аргументы командной строки генератора корпуса
+     */
+    private static final class CorpusArgs {
+        @Parameter(names = "--out", required = true)
+        private Path out;
+        @Parameter(names = "--size", converter = SizeConverter.class)
+        private long size = DEFAULT_SIZE;
+        @Parameter(names = "--seed")
+        private long seed = CorpusSpec.DEFAULT_SEED;
+        @Parameter(names = "--rotate-size", converter = SizeConverter.class)
+        private long rotateSize;
+        @Parameter(names = "--gzip")
+        private boolean gzip;
+        @Parameter(names = "--resources")
+        private int resources = CorpusSpec.DEFAULT_RESOURCES;
+        @Parameter(names = "--addresses")
+        private int addresses = CorpusSpec.DEFAULT_ADDRESSES;
+        @Parameter(names = "--zipf")
+        private double zipfExponent = CorpusSpec.DEFAULT_ZIPF_EXPONENT;
+
+        /**
+         * Возвращает параметры корпуса из аргументов
+         *
+         * @return Параметры корпуса
+         */
+        CorpusSpec spec() {
+            return new CorpusSpec(seed, size, resources, addresses, zipfExponent, rotateSize, gzip);
+        }
+    }
+
+    /**
+     * Конвертация размера с необязательным суффиксом KB, MB или GB. Размер, не помещающийся в long,
+     * считается некорректным
+     */
+    public static class SizeConverter implements IStringConverter<Long> {
+
+        private static final String[] SUFFIXES = {"KB", "MB", "GB"};
+        private static final int KILOBYTE_SHIFT = 10;
+
+        @Override
+        public Long convert(String value) {
+            String size = value.trim().toUpperCase(Locale.ROOT);
+            int shift = 0;
+            for (int i = 0; i < SUFFIXES.length; i++) {
+                if (size.endsWith(SUFFIXES[i])) {
+                    size = size.substring(0, size.length() - SUFFIXES[i].length()).trim();
+                    shift = KILOBYTE_SHIFT * (i + 1);
+                }
+            }
+            try {
+                return Math.multiplyExact(Long.parseLong(size), 1L << shift);
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new ParameterException("Invalid size: " + value, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package backend.academy.analyser.benchmark;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.parser.HttpRequestParser;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.parser.ParserType;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки разбора одной строки лога и строки запроса
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final int LINES = 1024;
+
+    @Param({"single-pass", "regex"})
+    private String parser;
+
+    @Param({"all", "required"})
+    private String projection;
+
+    private LogLineParser logParser;
+    private String[] lines;
+    private String[] requests;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ParserType parserType = ParserType.fromOptionName(parser);
+        logParser = "all".equals(projection)
+            ? parserType.create(EnumSet.allOf(LogField.class))
+            : parserType.create(BenchmarkLogs.requiredFields());
+        List<String> logLines = BenchmarkLogs.lines(LINES);
+        lines = logLines.toArray(new String[0]);
+        requests = new String[LINES];
+        for (int i = 0; i < LINES; i++) {
+            String line = lines[i];
+            int requestStart = line.indexOf('"') + 1;
+            requests[i] = line.substring(requestStart, line.indexOf('"', requestStart));
+        }
+    }
+
+    /**
+     * Разбор строки лога выбранным парсером
+     *
+     * @return Сущность лога
+     */
+    @Benchmark
+    public NginxLogEntity parse() {
+        return logParser.parse(lines[next()]);
+    }
+
+    /**
+     * Разбор строки запроса на метод, путь и протокол
+     *
+     * @return Разобранный запрос
+     */
+    @Benchmark
+    public HttpRequest parseHttpRequest() {
+        return HttpRequestParser.parseHttpRequest(requests[next()]);
+    }
+
+    private int next() {
+        index = (index + 1) & (LINES - 1);
+        return index;
+    }
+}
@@ -0,0 +1,77 @@
+package backend.academy.analyser.benchmark;
+
+import backend.academy.analyser.LogsFilter;
+import backend.academy.analyser.parser.ParserType;
+import backend.academy.analyser.reader.LocalFileReader;
+import backend.academy.analyser.reader.LocalReadOptions;
+import backend.academy.analyser.reader.ReadMode;
+import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарк полной обработки сгенерированного файла
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReaderBenchmark {
+
+    @Param({"200000"})
+    private int lines;
+
+    @Param({"buffered", "mmap", "pipeline"})
+    private String readMode;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private Path logFile;
+    private LocalReadOptions options;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = BenchmarkLogs.writeFile(lines);
+        options = new LocalReadOptions(ReadMode.fromOptionName(readMode), threads, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+    }
+
+    /**
+     * Обработка всего файла и сбор статистики
+     *
+     * @return Статистика
+     */
+    @Benchmark
+    public StatsHandler read() {
+        StatsHandler statsHandler =
+            new StatsHandler(logFile.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        new LocalFileReader(statsHandler, LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX),
+            () -> ParserType.SINGLE_PASS.create(BenchmarkLogs.requiredFields()), options)
+            .read(logFile.toString());
+        statsHandler.countStats();
+        return statsHandler;
+    }
+}
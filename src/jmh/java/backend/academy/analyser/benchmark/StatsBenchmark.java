@@ -0,0 +1,138 @@
+package backend.academy.analyser.benchmark;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.parser.ParserType;
+import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.HyperLogLog;
+import backend.academy.analyser.stats.quantile.PercentileMode;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки сбора статистики по N логам за одну операцию
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsBenchmark {
+
+    private static final int COUNT_MULTIPLIER = 7919;
+
+    @Param({"10000", "100000"})
+    private int entries;
+
+    @Param({"0", "1024"})
+    private int heavyHitters;
+
+    @Param({"requests,codes,dates,distinct,sizes", "codes,sizes"})
+    private String metrics;
+
+    private NginxLogEntity[] entities;
+    private List<LogBatch> batches;
+    private StatsHandler filledStats;
+    private Map<String, Long> resourceCounts;
+
+    @Setup
+    public void setUp() {
+        LogLineParser logParser = ParserType.SINGLE_PASS.create(BenchmarkLogs.requiredFields());
+        List<String> lines = BenchmarkLogs.lines(entries);
+        entities = new NginxLogEntity[entries];
+        batches = new ArrayList<>(entries / LogBatch.DEFAULT_CAPACITY + 1);
+        LogBatch batch = new LogBatch();
+        for (int i = 0; i < entries; i++) {
+            entities[i] = logParser.parse(lines.get(i));
+            batch.add(entities[i]);
+            if (batch.isFull()) {
+                batches.add(batch);
+                batch = new LogBatch();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        filledStats = updateStats();
+        resourceCounts = LinkedHashMap.newLinkedHashMap(entries);
+        for (int i = 0; i < entries; i++) {
+            resourceCounts.put("/downloads/product_" + i, (long) i * COUNT_MULTIPLIER % entries);
+        }
+    }
+
+    /**
+     * Учет N логов в статистике по одному
+     *
+     * @return Статистика
+     */
+    @Benchmark
+    public StatsHandler updateStats() {
+        StatsHandler statsHandler = createStats();
+        for (NginxLogEntity entity : entities) {
+            statsHandler.updateStats(entity);
+        }
+        return statsHandler;
+    }
+
+    /**
+     * Учет N логов в статистике пакетами
+     *
+     * @return Статистика
+     */
+    @Benchmark
+    public StatsHandler updateStatsBatch() {
+        StatsHandler statsHandler = createStats();
+        for (LogBatch batch : batches) {
+            statsHandler.updateStats(batch);
+        }
+        return statsHandler;
+    }
+
+    /**
+     * Подсчет итоговой статистики по N логам
+     *
+     * @return Статистика
+     */
+    @Benchmark
+    public StatsHandler countStats() {
+        filledStats.countStats();
+        return filledStats;
+    }
+
+    /**
+     * Выбор самых запрашиваемых ресурсов из N различных ресурсов
+     *
+     * @return Самые запрашиваемые ресурсы
+     */
+    @Benchmark
+    public Map<String, Long> topRequestMap() {
+        return filledStats.topRequestMap(resourceCounts);
+    }
+
+    @SuppressFBWarnings("STT_STRING_PARSING_A_FIELD")
+    private StatsHandler createStats() {
+        return new StatsHandler("benchmark", LocalDateTime.MIN, LocalDateTime.MAX, new StatsOptions(
+            StatsOptions.DEFAULT_PERCENTILE_LEVELS, PercentileMode.SKETCH, heavyHitters, StatsOptions.DEFAULT_TOP,
+            HyperLogLog.DEFAULT_PRECISION, TimeResolution.MINUTE, List.of(metrics.split(","))));
+    }
+}
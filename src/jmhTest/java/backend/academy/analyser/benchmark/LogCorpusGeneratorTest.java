@@ -0,0 +1,68 @@
+package backend.academy.analyser.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для генератора синтетического корпуса логов")
+public class LogCorpusGeneratorTest {
+
+    private static final int MAX_LINE_LENGTH = 512;
+
+    @TempDir
+    public Path tempDir;
+
+    @DisplayName("Проверка одинакового корпуса при одинаковых параметрах")
+    @Test
+    void testWriteReproducible() throws IOException {
+        CorpusSpec spec = new CorpusSpec(7, 64 * 1024, 100, 200, 1.1, 0, false);
+
+        List<Path> first = new LogCorpusGenerator(spec).write(Files.createDirectory(tempDir.resolve("first")));
+        List<Path> second = new LogCorpusGenerator(spec).write(Files.createDirectory(tempDir.resolve("second")));
+        List<Path> otherSeed = new LogCorpusGenerator(new CorpusSpec(8, 64 * 1024, 100, 200, 1.1, 0, false))
+            .write(Files.createDirectory(tempDir.resolve("other")));
+
+        assertEquals(List.of("access.log"), first.stream().map(file -> file.getFileName().toString()).toList());
+        assertArrayEquals(Files.readAllBytes(first.getFirst()), Files.readAllBytes(second.getFirst()));
+        assertNotEquals(-1L, Files.mismatch(first.getFirst(), otherSeed.getFirst()));
+    }
+
+    @DisplayName("Проверка имен и размера файлов корпуса с ротацией и сжатием")
+    @Test
+    void testWriteRotatedGzip() throws IOException {
+        long totalBytes = 100_000;
+        long rotateBytes = 30_000;
+        CorpusSpec spec = new CorpusSpec(7, totalBytes, 100, 200, 1.1, rotateBytes, true);
+
+        List<Path> files = new LogCorpusGenerator(spec).write(tempDir);
+
+        assertEquals(List.of("access-0000.log.gz", "access-0001.log.gz", "access-0002.log.gz", "access-0003.log.gz"),
+            files.stream().map(file -> file.getFileName().toString()).toList());
+        long written = 0;
+        for (int i = 0; i < files.size(); i++) {
+            byte[] content = gunzip(files.get(i));
+            assertEquals('\n', content[content.length - 1]);
+            if (i < files.size() - 1) {
+                assertTrue(content.length >= rotateBytes && content.length < rotateBytes + MAX_LINE_LENGTH);
+            }
+            written += content.length;
+        }
+        assertTrue(written >= totalBytes && written < totalBytes + MAX_LINE_LENGTH);
+    }
+
+    private static byte[] gunzip(Path file) throws IOException {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            return input.readAllBytes();
+        }
+    }
+}
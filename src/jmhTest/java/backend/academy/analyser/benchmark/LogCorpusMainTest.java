@@ -0,0 +1,35 @@
+package backend.academy.analyser.benchmark;
+
+import com.beust.jcommander.ParameterException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тесты для аргументов генератора корпуса")
+public class LogCorpusMainTest {
+
+    private final LogCorpusMain.SizeConverter sizeConverter = new LogCorpusMain.SizeConverter();
+
+    @DisplayName("Проверка перевода размера с суффиксом")
+    @ParameterizedTest
+    @CsvSource({
+        "512, 512",
+        "2KB, 2048",
+        "10 mb, 10485760",
+        "10GB, 10737418240",
+        "8589934591GB, 9223372035781033984"
+    })
+    void testConvertSize(String value, long expected) {
+        assertEquals(expected, sizeConverter.convert(value));
+    }
+
+    @DisplayName("Проверка ошибки для некорректного или слишком большого размера")
+    @ParameterizedTest
+    @ValueSource(strings = {"abc", "GB", "8589934592GB", "9223372036854775807KB", "99999999999999999999"})
+    void testConvertInvalidSize(String value) {
+        assertThrows(ParameterException.class, () -> sizeConverter.convert(value));
+    }
+}
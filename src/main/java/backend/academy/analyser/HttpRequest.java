@@ -0,0 +1,22 @@
+package backend.academy.analyser;
+
+/**
+ * Строка HTTP-запроса лога, разобранная на составляющие один раз при парсинге лога
+ *
+ * @param method   Метод запроса
+ * @param path     Путь запроса
+ * @param protocol Протокол запроса
+ */
+public record HttpRequest(String method, String path, String protocol) {
+
+    public static final HttpRequest MALFORMED = new HttpRequest("", "", "");
+
+    /**
+     * Проверяет, что строку запроса не удалось разобрать
+     *
+     * @return Результат проверки
+     */
+    public boolean isMalformed() {
+        return method.isEmpty();
+    }
+}
@@ -2,20 +2,36 @@ package backend.academy.analyser;
 
 import backend.academy.analyser.argument.ArgsParser;
 import backend.academy.analyser.argument.CommandLineArgs;
+import backend.academy.analyser.filter.FieldPredicates;
+import backend.academy.analyser.filter.FilterNode;
 import backend.academy.analyser.mapper.AdocMapper;
 import backend.academy.analyser.mapper.MarkdownMapper;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.parser.ParserType;
+import backend.academy.analyser.reader.LocalReadOptions;
 import backend.academy.analyser.reader.LogFileReader;
+import backend.academy.analyser.reader.ReadMode;
 import backend.academy.analyser.reader.factory.LocalFileReaderFactory;
 import backend.academy.analyser.reader.factory.LogFileReaderFactory;
 import backend.academy.analyser.reader.factory.UrlLogFileReaderFactory;
+import backend.academy.analyser.stats.StatsCollectors;
 import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.HyperLogLog;
+import backend.academy.analyser.stats.quantile.PercentileMode;
 import com.beust.jcommander.ParameterException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,6 +54,7 @@ public class LogAnalyserHandler {
     private LocalDateTime toDate;
     private String filterField;
     private String filterValue;
+    private ParserType parserType;
 
     /**
      * Поочередно вызывает методы для работы программы
@@ -48,17 +65,33 @@ public class LogAnalyserHandler {
 
         setFilter(cmgArgs.filterField(), cmgArgs.filterValue());
         filterValidate(filterField, filterValue);
-        createLogFileReaderFactory(cmgArgs.filePath());
+        createLogFileReaderFactory(cmgArgs.filePath(), cmgArgs.readMode(), cmgArgs.threads());
         setTime(cmgArgs.fromTime(), cmgArgs.toTime());
+        setParserType(cmgArgs.parserType());
         String format = setFormat(cmgArgs.outFormat());
 
-        StatsHandler statsHandler = new StatsHandler(cmgArgs.filePath(), fromDate, toDate);
+        StatsHandler statsHandler = new StatsHandler(cmgArgs.filePath(), fromDate, toDate, new StatsOptions(
+            Objects.requireNonNullElse(cmgArgs.percentiles(), StatsOptions.DEFAULT_PERCENTILE_LEVELS),
+            Objects.requireNonNullElse(cmgArgs.percentileMode(), PercentileMode.SKETCH),
+            Objects.requireNonNullElse(cmgArgs.heavyHitters(), 0),
+            Objects.requireNonNullElse(cmgArgs.top(), StatsOptions.DEFAULT_TOP),
+            Objects.requireNonNullElse(cmgArgs.distinctPrecision(), HyperLogLog.DEFAULT_PRECISION),
+            Objects.requireNonNullElse(cmgArgs.resolution(), TimeResolution.MINUTE),
+            Objects.requireNonNullElse(cmgArgs.metrics(), StatsCollectors.names())));
 
-        LogFileReader logFileReader =
-            logFileReaderFactory.createLogFileReader(statsHandler, fromDate, toDate, filterField, filterValue);
+        FieldPredicates fieldPredicates = LogsFilter.fieldPredicates(filterField, filterValue, fromDate, toDate);
+        FilterNode remainingExpression = cmgArgs.filterExpression() == null
+            ? null : cmgArgs.filterExpression().pushDown(fieldPredicates);
+        RunMetrics runMetrics = new RunMetrics();
+        runMetrics.register();
+        LogFileReader logFileReader = logFileReaderFactory.createLogFileReader(
+            statsHandler, createLogsPredicate(remainingExpression),
+            createParserSupplier(statsHandler.requiredFields(), remainingExpression, fieldPredicates), runMetrics);
         logFileReader.read(cmgArgs.filePath());
 
         statsHandler.countStats();
+        runMetrics.finish();
+        runMetrics.summary().forEach(log::info);
 
         String outputStats = mapOutputStats(format, statsHandler);
         saveToFile(String.format(PATH_TO_SAVE, format), outputStats);
@@ -102,6 +135,39 @@ public class LogAnalyserHandler {
         filterValue = Objects.requireNonNullElse(argFilterValue, "");
     }
 
+    /**
+     * Метод для сборки предиката из проверок выражения фильтрации, которые не удалось перенести в парсер
+     *
+     * @param remainingExpression Оставшаяся часть выражения фильтрации или null, если ее нет
+     * @return Предикат, пропускающий подходящие логи
+     */
+    private Predicate<NginxLogEntity> createLogsPredicate(FilterNode remainingExpression) {
+        return remainingExpression == null ? nginxLogEntity -> true : remainingExpression;
+    }
+
+    /**
+     * Метод для создания парсеров, декодирующих только поля, которые нужны статистике и фильтрам,
+     * и отбрасывающих строки по проверкам отдельных полей во время разбора
+     *
+     * @param requiredFields Поля, которые нужны выбранным статистикам
+     * @param remainingExpression Оставшаяся часть выражения фильтрации или null, если ее нет
+     * @param fieldPredicates Проверки отдельных полей, перенесенные в парсер
+     * @return Поставщик парсеров строки лога
+     */
+    private Supplier<LogLineParser> createParserSupplier(
+        Set<LogField> requiredFields,
+        FilterNode remainingExpression,
+        FieldPredicates fieldPredicates
+    ) {
+        Set<LogField> projection = EnumSet.noneOf(LogField.class);
+        projection.addAll(requiredFields);
+        if (remainingExpression != null) {
+            projection.addAll(remainingExpression.fields());
+        }
+        ParserType selectedParserType = parserType;
+        return () -> selectedParserType.create(projection, fieldPredicates);
+    }
+
     /**
      * Метод для установления начального и конечного времени
      *
@@ -113,16 +179,29 @@ public class LogAnalyserHandler {
         toDate = Objects.requireNonNullElse(to, LocalDateTime.MAX);
     }
 
+    /**
+     * Метод для установления парсера строки лога
+     *
+     * @param argParserType Выбранный пользователем парсер
+     */
+    private void setParserType(ParserType argParserType) {
+        parserType = Objects.requireNonNullElse(argParserType, ParserType.SINGLE_PASS);
+    }
+
     /**
      * Метод для выбора создания конкретной фабрики ридера в зависимости от пути к логам
      *
      * @param path Путь к логам
+     * @param readMode Выбранный режим чтения локальных файлов
+     * @param threads Выбранное количество потоков обработки локальных файлов
      */
-    private void createLogFileReaderFactory(String path) {
+    private void createLogFileReaderFactory(String path, ReadMode readMode, Integer threads) {
         if (isUrl(path)) {
             logFileReaderFactory = new UrlLogFileReaderFactory();
         } else {
-            logFileReaderFactory = new LocalFileReaderFactory();
+            logFileReaderFactory = new LocalFileReaderFactory(new LocalReadOptions(
+                Objects.requireNonNullElse(readMode, ReadMode.BUFFERED),
+                Objects.requireNonNullElse(threads, 1)));
         }
     }
 
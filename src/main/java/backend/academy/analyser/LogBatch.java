@@ -0,0 +1,179 @@
+package backend.academy.analyser;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Переиспользуемый пакет разобранных логов в виде параллельных массивов по полям. Не потокобезопасен
+ */
+@SuppressFBWarnings("EI_EXPOSE_REP")
+public final class LogBatch {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private final int[] statuses;
+    private final int[] bodyBytesSent;
+    private final long[] localEpochSeconds;
+    private final int[] methodIds;
+    private final int[] pathIds;
+    private final String[] remoteAddrs;
+    private final String[] userAgents;
+    private final StringDictionary methods = new StringDictionary();
+    private final StringDictionary paths = new StringDictionary();
+    private int size;
+
+    public LogBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LogBatch(int capacity) {
+        statuses = new int[capacity];
+        bodyBytesSent = new int[capacity];
+        localEpochSeconds = new long[capacity];
+        methodIds = new int[capacity];
+        pathIds = new int[capacity];
+        remoteAddrs = new String[capacity];
+        userAgents = new String[capacity];
+    }
+
+    /**
+     * Добавляет лог в пакет. Время лога хранится местным временем в секундах,
+     * запрос с неразобранной строкой хранится без номеров метода и пути
+     *
+     * @param nginxLogEntity Текущий лог
+     */
+    public void add(NginxLogEntity nginxLogEntity) {
+        statuses[size] = nginxLogEntity.status();
+        bodyBytesSent[size] = nginxLogEntity.bodyBytesSent();
+        remoteAddrs[size] = nginxLogEntity.remoteAddr();
+        userAgents[size] = nginxLogEntity.httpUserAgent();
+        LogTime time = nginxLogEntity.time();
+        localEpochSeconds[size] = time == null ? NO_TIME : time.localEpochSecond();
+        HttpRequest request = nginxLogEntity.request();
+        if (request == null || request.isMalformed()) {
+            methodIds[size] = StringDictionary.NO_ID;
+            pathIds[size] = StringDictionary.NO_ID;
+        } else {
+            methodIds[size] = methods.id(request.method());
+            pathIds[size] = paths.id(request.path());
+        }
+        size++;
+    }
+
+    /**
+     * Проверяет, заполнен ли пакет
+     *
+     * @return Результат проверки
+     */
+    public boolean isFull() {
+        return size == statuses.length;
+    }
+
+    /**
+     * Проверяет, пуст ли пакет
+     *
+     * @return Результат проверки
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Очищает пакет и его словари для повторного заполнения
+     */
+    public void clear() {
+        size = 0;
+        methods.clear();
+        paths.clear();
+    }
+
+    /**
+     * Возвращает количество логов в пакете
+     *
+     * @return Количество логов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает коды статуса логов пакета
+     *
+     * @return Массив кодов статуса
+     */
+    public int[] statuses() {
+        return statuses;
+    }
+
+    /**
+     * Возвращает размеры ответов логов пакета
+     *
+     * @return Массив размеров ответа
+     */
+    public int[] bodyBytesSent() {
+        return bodyBytesSent;
+    }
+
+    /**
+     * Возвращает местное время логов пакета в секундах, как если бы оно было записано в UTC
+     *
+     * @return Массив времени или {@link #NO_TIME} для логов с некорректным временем
+     */
+    public long[] localEpochSeconds() {
+        return localEpochSeconds;
+    }
+
+    /**
+     * Возвращает номера методов запроса в словаре {@link #methods()}
+     *
+     * @return Массив номеров или {@link StringDictionary#NO_ID} для неразобранных запросов
+     */
+    public int[] methodIds() {
+        return methodIds;
+    }
+
+    /**
+     * Возвращает номера путей запроса в словаре {@link #paths()}
+     *
+     * @return Массив номеров или {@link StringDictionary#NO_ID} для неразобранных запросов
+     */
+    public int[] pathIds() {
+        return pathIds;
+    }
+
+    /**
+     * Возвращает адреса клиентов логов пакета. Строки берутся из сущностей логов без копирования
+     *
+     * @return Массив адресов или null для логов, в которых адрес не декодирован
+     */
+    public String[] remoteAddrs() {
+        return remoteAddrs;
+    }
+
+    /**
+     * Возвращает user-agent логов пакета. Строки берутся из сущностей логов без копирования
+     *
+     * @return Массив user-agent или null для логов, в которых user-agent не декодирован
+     */
+    public String[] userAgents() {
+        return userAgents;
+    }
+
+    /**
+     * Возвращает словарь методов запроса
+     *
+     * @return Словарь методов
+     */
+    public StringDictionary methods() {
+        return methods;
+    }
+
+    /**
+     * Возвращает словарь путей запроса
+     *
+     * @return Словарь путей
+     */
+    public StringDictionary paths() {
+        return paths;
+    }
+}
@@ -0,0 +1,15 @@
+package backend.academy.analyser;
+
+/**
+ * Enum полей nginx лога, из которых составляется проекция парсера
+ */
+public enum LogField {
+    REMOTE_ADDR,
+    REMOTE_USER,
+    TIME,
+    REQUEST,
+    STATUS,
+    BYTES,
+    REFERER,
+    USER_AGENT
+}
@@ -0,0 +1,77 @@
+package backend.academy.analyser;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Время запроса из поля time_local nginx лога в виде секунд эпохи UTC со смещением часового пояса лога
+ *
+ * @param epochSecond   Секунды от начала эпохи UTC
+ * @param offsetSeconds Смещение часового пояса лога в секундах
+ */
+public record LogTime(long epochSecond, int offsetSeconds) {
+
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    /**
+     * Создает время лога по местному времени и смещению
+     *
+     * @param localDateTime Местное время лога
+     * @param offset Смещение часового пояса лога
+     * @return Время лога
+     */
+    public static LogTime of(LocalDateTime localDateTime, ZoneOffset offset) {
+        return new LogTime(localDateTime.toEpochSecond(offset), offset.getTotalSeconds());
+    }
+
+    /**
+     * Возвращает местное время лога в секундах, как если бы оно было записано в UTC.
+     * Используется для сравнения с датами без часового пояса
+     *
+     * @return Местное время в секундах
+     */
+    public long localEpochSecond() {
+        return epochSecond + offsetSeconds;
+    }
+
+    /**
+     * Сравнивает местное время лога с датой без часового пояса, заранее переведенной в секунды
+     *
+     * @param otherLocalEpochSecond Дата в секундах, как если бы она была записана в UTC
+     * @param otherNano Наносекунды даты
+     * @return Результат сравнения в смысле {@link Comparable#compareTo(Object)}
+     */
+    public int compareLocal(long otherLocalEpochSecond, int otherNano) {
+        int result = Long.compare(localEpochSecond(), otherLocalEpochSecond);
+        return result != 0 || otherNano == 0 ? result : -1;
+    }
+
+    /**
+     * Возвращает час местного времени лога
+     *
+     * @return Час от 0 до 23
+     */
+    public int hourOfDay() {
+        return localHour(localEpochSecond());
+    }
+
+    /**
+     * Возвращает час местного времени, заданного в секундах
+     *
+     * @param localEpochSecond Местное время в секундах, как если бы оно было записано в UTC
+     * @return Час от 0 до 23
+     */
+    public static int localHour(long localEpochSecond) {
+        return (int) (Math.floorMod(localEpochSecond, SECONDS_PER_DAY) / SECONDS_PER_HOUR);
+    }
+
+    /**
+     * Возвращает местное время лога без часового пояса
+     *
+     * @return Местное время
+     */
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.ofTotalSeconds(offsetSeconds));
+    }
+}
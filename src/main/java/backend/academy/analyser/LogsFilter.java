@@ -1,18 +1,23 @@
 package backend.academy.analyser;
 
+import backend.academy.analyser.filter.FieldPredicates;
+import backend.academy.analyser.filter.FilterField;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
-import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 
 /**
  * Класс, осуществляющий фильтрацию логов по каким-то параметрам
- *
- * @param filterField Поле фильтрации
- * @param filterValue Значение фильтрации
  */
-public record LogsFilter(String filterField, String filterValue) {
+public final class LogsFilter {
+
+    private final Predicate<NginxLogEntity> fieldPredicate;
+
+    public LogsFilter(String filterField, String filterValue) {
+        this.fieldPredicate = compile(filterField, filterValue);
+    }
 
     /**
      * Фильтрует логи в зависимости от выбранного поля и значения лога
@@ -21,43 +26,142 @@ public record LogsFilter(String filterField, String filterValue) {
      * @return Результат фильтрации лога по выбранному полю и значению
      */
     public boolean filter(NginxLogEntity nginxLogEntity) {
-        Map<String, Function<NginxLogEntity, Boolean>> filterStrategies = new HashMap<>();
-        int methodPosition = 0;
-        int pathPosition = 1;
-        int protocolPosition = 2;
-
-        filterStrategies.put("remoteAddr", ng -> ng.remoteAddr().equals(filterValue));
-        filterStrategies.put("remoteUser", ng -> ng.remoteUser().equals(filterValue));
-        filterStrategies.put("requestMethod",
-            ng -> parseHttpRequest(ng.request())[methodPosition].equals(filterValue.toUpperCase()));
-        filterStrategies.put("requestPath", ng -> parseHttpRequest(ng.request())[pathPosition].contains(filterValue));
-        filterStrategies.put("requestProtocol",
-            ng -> parseHttpRequest(ng.request())[protocolPosition].equals(filterValue));
-        filterStrategies.put("status", ng -> String.valueOf(ng.status()).equals(filterValue));
-        filterStrategies.put("bytes", ng -> String.valueOf(ng.bodyBytesSent()).equals(filterValue));
-        filterStrategies.put("referer", ng -> ng.httpReferer() != null && ng.httpReferer().contains(filterValue));
-        filterStrategies.put("agent", ng -> ng.httpUserAgent() != null && ng.httpUserAgent().contains(filterValue));
-        filterStrategies.put("date", ng -> ng.timeLocal().toString().equals(filterValue));
-
-        Function<NginxLogEntity, Boolean> filterFunction = filterStrategies.get(filterField);
-
-        if (filterFunction == null) {
-            return true;
-        }
+        return fieldPredicate.test(nginxLogEntity);
+    }
 
-        return filterFunction.apply(nginxLogEntity);
+    /**
+     * Компилирует фильтр по полю и временному диапазону в один предикат, который применяют ридеры
+     *
+     * @param filterField Поле фильтрации
+     * @param filterValue Значение фильтрации
+     * @param fromDateTime Дата, до которой логи фильтруются
+     * @param toDateTime Дата, после которой логи фильтруются
+     * @return Предикат, пропускающий подходящие логи
+     */
+    public static Predicate<NginxLogEntity> compile(
+        String filterField,
+        String filterValue,
+        LocalDateTime fromDateTime,
+        LocalDateTime toDateTime
+    ) {
+        return fieldPredicates(filterField, filterValue, fromDateTime, toDateTime);
     }
 
     /**
-     * Фильтрует логи в зависимости от того, попадают ли они в выбранный временной диапазон
+     * Компилирует фильтр по полю в предикат. Числовые поля сравниваются как int,
+     * значение фильтра разбирается один раз. Для неизвестного поля возвращается предикат, пропускающий все логи
      *
+     * @param filterField Поле фильтрации
+     * @param filterValue Значение фильтрации
+     * @return Предикат, пропускающий логи с подходящим значением поля
+     */
+    public static Predicate<NginxLogEntity> compile(String filterField, String filterValue) {
+        return fieldPredicates(filterField, filterValue);
+    }
+
+    /**
+     * Компилирует фильтр по полю и временному диапазону в проверки отдельных полей, которые парсер
+     * выполняет во время разбора строки. Проверка времени добавляется только для ограниченного диапазона,
+     * чтобы без него парсер не декодировал время ради фильтра
+     *
+     * @param filterField Поле фильтрации
+     * @param filterValue Значение фильтрации
      * @param fromDateTime Дата, до которой логи фильтруются
      * @param toDateTime Дата, после которой логи фильтруются
-     * @param actualDateTime Дата лога
-     * @return Результат фильтрации лога по заданному временному диапазону
+     * @return Проверки полей лога
      */
-    public boolean checkFromToDate(LocalDateTime fromDateTime, LocalDateTime toDateTime, LocalDateTime actualDateTime) {
-        return actualDateTime.isAfter(fromDateTime) && actualDateTime.isBefore(toDateTime);
+    public static FieldPredicates fieldPredicates(
+        String filterField,
+        String filterValue,
+        LocalDateTime fromDateTime,
+        LocalDateTime toDateTime
+    ) {
+        FieldPredicates predicates = fieldPredicates(filterField, filterValue);
+        if (LocalDateTime.MIN.equals(fromDateTime) && LocalDateTime.MAX.equals(toDateTime)) {
+            return predicates;
+        }
+        long fromSecond = fromDateTime.toEpochSecond(ZoneOffset.UTC);
+        int fromNano = fromDateTime.getNano();
+        long toSecond = toDateTime.toEpochSecond(ZoneOffset.UTC);
+        int toNano = toDateTime.getNano();
+        return predicates.andTime(time -> time.compareLocal(fromSecond, fromNano) > 0
+            && time.compareLocal(toSecond, toNano) < 0);
     }
 
+    /**
+     * Компилирует фильтр по полю в проверку значения этого поля
+     *
+     * @param filterField Поле фильтрации
+     * @param filterValue Значение фильтрации
+     * @return Проверки полей лога, пустые для неизвестного поля
+     */
+    private static FieldPredicates fieldPredicates(String filterField, String filterValue) {
+        FieldPredicates predicates = new FieldPredicates();
+        return switch (filterField) {
+            case "remoteAddr" -> predicates.andString(LogField.REMOTE_ADDR, filterValue::equals);
+            case "remoteUser" -> predicates.andString(LogField.REMOTE_USER, filterValue::equals);
+            case "requestMethod" -> {
+                String method = FilterField.REQUEST_METHOD.normalize(filterValue);
+                yield predicates.andRequest(request -> request.method().equals(method));
+            }
+            case "requestPath" -> predicates.andRequest(request -> request.path().contains(filterValue));
+            case "requestProtocol" -> predicates.andRequest(request -> request.protocol().equals(filterValue));
+            case "status" -> predicates.andInt(LogField.STATUS, intEquals(filterValue));
+            case "bytes" -> predicates.andInt(LogField.BYTES, intEquals(filterValue));
+            case "referer" -> predicates.andString(LogField.REFERER, contains(filterValue));
+            case "agent" -> predicates.andString(LogField.USER_AGENT, contains(filterValue));
+            case "date" -> predicates.andTime(dateEquals(filterValue));
+            case null, default -> predicates;
+        };
+    }
+
+    /**
+     * Создает проверку вхождения значения фильтра в строковое поле
+     *
+     * @param filterValue Значение фильтрации
+     * @return Проверка значения поля
+     */
+    private static Predicate<String> contains(String filterValue) {
+        return value -> value != null && value.contains(filterValue);
+    }
+
+    /**
+     * Создает проверку числового поля лога без преобразования поля в строку.
+     * Поле проходит проверку, только если его строковое представление совпадает со значением фильтра
+     *
+     * @param filterValue Значение фильтрации
+     * @return Проверка значения поля
+     */
+    private static IntPredicate intEquals(String filterValue) {
+        try {
+            int expected = Integer.parseInt(filterValue);
+            if (String.valueOf(expected).equals(filterValue)) {
+                return value -> value == expected;
+            }
+        } catch (NumberFormatException e) {
+            return value -> false;
+        }
+        return value -> false;
+    }
+
+    /**
+     * Создает проверку времени лога по дате из фильтра. Дата разбирается один раз,
+     * и время проходит проверку, только если его строковое представление совпадает со значением фильтра
+     *
+     * @param filterValue Значение фильтрации
+     * @return Проверка времени
+     */
+    private static Predicate<LogTime> dateEquals(String filterValue) {
+        try {
+            LocalDateTime expected = LocalDateTime.parse(filterValue);
+            if (expected.toString().equals(filterValue)) {
+                long expectedSecond = expected.toEpochSecond(ZoneOffset.UTC);
+                int expectedNano = expected.getNano();
+                return time -> time.compareLocal(expectedSecond, expectedNano) == 0;
+            }
+        } catch (DateTimeParseException e) {
+            return time -> false;
+        }
+        return time -> false;
+    }
 }
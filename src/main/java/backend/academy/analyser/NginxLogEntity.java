@@ -7,8 +7,8 @@ import java.time.LocalDateTime;
  *
  * @param remoteAddr    Адрес клиента
  * @param remoteUser    Имя пользователя
- * @param timeLocal     Время запроса
- * @param request       Полный запрос
+ * @param time          Время запроса в секундах эпохи со смещением часового пояса
+ * @param request       Запрос, разобранный на метод, путь и протокол
  * @param status        Код статуса
  * @param bodyBytesSent Кол-во байтов в теле ответа
  * @param httpReferer   URL страницы, с которой совершен переход
@@ -16,10 +16,19 @@ import java.time.LocalDateTime;
  */
 public record NginxLogEntity(String remoteAddr,
                              String remoteUser,
-                             LocalDateTime timeLocal,
-                             String request,
+                             LogTime time,
+                             HttpRequest request,
                              int status,
                              int bodyBytesSent,
                              String httpReferer,
                              String httpUserAgent) {
+
+    /**
+     * Возвращает местное время запроса без часового пояса
+     *
+     * @return Местное время или null, если время в логе записано некорректно
+     */
+    public LocalDateTime timeLocal() {
+        return time == null ? null : time.toLocalDateTime();
+    }
 }
@@ -0,0 +1,229 @@
+package backend.academy.analyser;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Словарь, присваивающий повторяющимся строкам номера в порядке первого появления. Не потокобезопасен
+ */
+@SuppressFBWarnings("PL_PARALLEL_LISTS")
+public final class StringDictionary {
+
+    public static final int NO_ID = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int HASH_SPREAD_SHIFT = 16;
+    private static final int EMPTY_SLOT = 0;
+
+    private final int maxSize;
+    private final List<String> values = new ArrayList<>(INITIAL_CAPACITY);
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int[] touchedIds = new int[INITIAL_CAPACITY];
+
+    public StringDictionary() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public StringDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Возвращает номер строки, добавляя строку в словарь при первом появлении
+     *
+     * @param value Строка
+     * @return Номер строки или -1, если строки нет в заполненном словаре
+     */
+    public int id(String value) {
+        return find(value, 0, value.length(), value.hashCode(), value);
+    }
+
+    /**
+     * Возвращает номер значения, расположенного в диапазоне строки, не выделяя значение в отдельную строку.
+     * Строка создается только при первом появлении значения
+     *
+     * @param line Строка, содержащая значение
+     * @param from Начало значения включительно
+     * @param to Конец значения не включительно
+     * @return Номер значения или -1, если значения нет в заполненном словаре
+     */
+    public int id(CharSequence line, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = HASH_MULTIPLIER * hash + line.charAt(i);
+        }
+        return find(line, from, to, hash, null);
+    }
+
+    /**
+     * Возвращает строку по ее номеру
+     *
+     * @param id Номер строки
+     * @return Строка
+     */
+    public String value(int id) {
+        return values.get(id);
+    }
+
+    /**
+     * Возвращает количество различных строк в словаре
+     *
+     * @return Количество строк
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Удаляет все строки из словаря, сохраняя выделенные массивы. Номера, выданные до очистки, становятся
+     * недействительными
+     */
+    public void clear() {
+        values.clear();
+        Arrays.fill(slots, EMPTY_SLOT);
+    }
+
+    /**
+     * Считает номера из массива в счетчиках, индексированных номером, и прибавляет полученные количества
+     * к счетчикам строк. Строка восстанавливается один раз на каждый различный номер, а не на каждый элемент
+     *
+     * @param idArray Номера строк
+     * @param size Количество учитываемых элементов массива
+     * @param target Счетчики строк
+     */
+    public void addCounts(int[] idArray, int size, Object2LongOpenHashMap<String> target) {
+        addCounts(idArray, size, (ObjLongConsumer<String>) target::addTo);
+    }
+
+    /**
+     * Считает номера из массива в счетчиках, индексированных номером, и передает каждую различную строку
+     * вместе с ее количеством получателю
+     *
+     * @param idArray Номера строк
+     * @param size Количество учитываемых элементов массива
+     * @param target Получатель строк и их количеств
+     */
+    public void addCounts(int[] idArray, int size, ObjLongConsumer<String> target) {
+        if (touchedIds.length < size) {
+            touchedIds = new int[size];
+        }
+        int touchedCount = 0;
+        for (int i = 0; i < size; i++) {
+            int id = idArray[i];
+            if (id != NO_ID && counts[id]++ == 0) {
+                touchedIds[touchedCount++] = id;
+            }
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touchedIds[i];
+            target.accept(values.get(id), counts[id]);
+            counts[id] = 0;
+        }
+    }
+
+    /**
+     * Ищет значение в таблице с открытой адресацией и добавляет его, если оно не найдено
+     *
+     * @param line Строка, содержащая значение
+     * @param from Начало значения включительно
+     * @param to Конец значения не включительно
+     * @param hash Хеш значения, совпадающий с {@link String#hashCode()}
+     * @param value Значение в виде готовой строки или null, если строку нужно создать при добавлении
+     * @return Номер значения или -1, если значения нет в заполненном словаре
+     */
+    private int find(CharSequence line, int from, int to, int hash, String value) {
+        int mask = slots.length - 1;
+        int slot = spread(hash) & mask;
+        while (slots[slot] != EMPTY_SLOT) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && regionEquals(values.get(id), line, from, to)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (values.size() >= maxSize) {
+            return NO_ID;
+        }
+        return add(value == null ? line.subSequence(from, to).toString() : value, hash, slot);
+    }
+
+    /**
+     * Добавляет новое значение в свободную ячейку таблицы, увеличивая таблицу при заполнении наполовину
+     *
+     * @param value Значение
+     * @param hash Хеш значения
+     * @param slot Свободная ячейка таблицы
+     * @return Номер значения
+     */
+    private int add(String value, int hash, int slot) {
+        int id = values.size();
+        values.add(value);
+        if (id == hashes.length) {
+            hashes = Arrays.copyOf(hashes, id * 2);
+            counts = Arrays.copyOf(counts, id * 2);
+        }
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+        if (values.size() * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Увеличивает таблицу вдвое и заново раскладывает номера по ячейкам
+     */
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int id = 0; id < values.size(); id++) {
+            int slot = spread(hashes[id]) & mask;
+            while (slots[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Перемешивает старшие биты хеша с младшими, по которым выбирается ячейка таблицы
+     *
+     * @param hash Хеш значения
+     * @return Перемешанный хеш
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> HASH_SPREAD_SHIFT);
+    }
+
+    /**
+     * Сравнивает сохраненную строку с диапазоном строки лога
+     *
+     * @param stored Сохраненная строка
+     * @param line Строка, содержащая значение
+     * @param from Начало значения включительно
+     * @param to Конец значения не включительно
+     * @return Результат сравнения
+     */
+    private static boolean regionEquals(String stored, CharSequence line, int from, int to) {
+        int length = to - from;
+        if (stored.length() != length) {
+            return false;
+        }
+        if (line instanceof String string) {
+            return string.regionMatches(from, stored, 0, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (stored.charAt(i) != line.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
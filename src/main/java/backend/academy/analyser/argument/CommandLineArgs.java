@@ -1,5 +1,13 @@
 package backend.academy.analyser.argument;
 
+import backend.academy.analyser.filter.FilterExpressionParser;
+import backend.academy.analyser.filter.FilterNode;
+import backend.academy.analyser.parser.ParserType;
+import backend.academy.analyser.reader.ReadMode;
+import backend.academy.analyser.stats.StatsCollectors;
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.HyperLogLog;
+import backend.academy.analyser.stats.quantile.PercentileMode;
 import com.beust.jcommander.IParameterValidator;
 import com.beust.jcommander.IStringConverter;
 import com.beust.jcommander.Parameter;
@@ -7,6 +15,7 @@ import com.beust.jcommander.ParameterException;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import lombok.Getter;
 
 /**
@@ -26,6 +35,28 @@ public class CommandLineArgs {
     private String filterField;
     @Parameter(names = {"--filter-value"})
     private String filterValue;
+    @Parameter(names = "--filter", converter = FilterExpressionConverter.class)
+    private FilterNode filterExpression;
+    @Parameter(names = "--parser", converter = ParserTypeConverter.class)
+    private ParserType parserType;
+    @Parameter(names = "--read-mode", converter = ReadModeConverter.class)
+    private ReadMode readMode;
+    @Parameter(names = "--threads", validateWith = ValidatorThreads.class)
+    private Integer threads;
+    @Parameter(names = "--percentiles", converter = PercentileConverter.class)
+    private List<Double> percentiles;
+    @Parameter(names = "--percentile-mode", converter = PercentileModeConverter.class)
+    private PercentileMode percentileMode;
+    @Parameter(names = "--heavy-hitters", validateWith = ValidatorHeavyHitters.class)
+    private Integer heavyHitters;
+    @Parameter(names = "--top", validateWith = ValidatorTop.class)
+    private Integer top;
+    @Parameter(names = "--distinct-precision", validateWith = ValidatorDistinctPrecision.class)
+    private Integer distinctPrecision;
+    @Parameter(names = "--resolution", converter = TimeResolutionConverter.class)
+    private TimeResolution resolution;
+    @Parameter(names = "--metrics", converter = MetricConverter.class)
+    private List<String> metrics;
 
     /**
      * Валидация аргумента пути к лог-файлам
@@ -58,6 +89,76 @@ public class CommandLineArgs {
         }
     }
 
+    /**
+     * Валидация количества потоков обработки
+     */
+    public static class ValidatorThreads implements IParameterValidator {
+
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+            try {
+                if (Integer.parseInt(value) < 1) {
+                    throw new ParameterException("Threads must be positive: " + value);
+                }
+            } catch (NumberFormatException e) {
+                throw new ParameterException("Invalid threads: " + value, e);
+            }
+        }
+    }
+
+    /**
+     * Валидация количества счетчиков приближенного подсчета запрошенных ресурсов
+     */
+    public static class ValidatorHeavyHitters implements IParameterValidator {
+
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+            try {
+                if (Integer.parseInt(value) < 1) {
+                    throw new ParameterException("Heavy hitters must be positive: " + value);
+                }
+            } catch (NumberFormatException e) {
+                throw new ParameterException("Invalid heavy hitters: " + value, e);
+            }
+        }
+    }
+
+    /**
+     * Валидация количества строк в таблицах самых частых значений
+     */
+    public static class ValidatorTop implements IParameterValidator {
+
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+            try {
+                if (Integer.parseInt(value) < 1) {
+                    throw new ParameterException("Top must be positive: " + value);
+                }
+            } catch (NumberFormatException e) {
+                throw new ParameterException("Invalid top: " + value, e);
+            }
+        }
+    }
+
+    /**
+     * Валидация точности оценки количества различных значений
+     */
+    public static class ValidatorDistinctPrecision implements IParameterValidator {
+
+        @Override
+        public void validate(String name, String value) throws ParameterException {
+            try {
+                int precision = Integer.parseInt(value);
+                if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+                    throw new ParameterException("Distinct precision must be between " + HyperLogLog.MIN_PRECISION
+                        + " and " + HyperLogLog.MAX_PRECISION + ": " + value);
+                }
+            } catch (NumberFormatException e) {
+                throw new ParameterException("Invalid distinct precision: " + value, e);
+            }
+        }
+    }
+
     /**
      * Конвертация даты, введенной пользователем
      */
@@ -76,4 +177,106 @@ public class CommandLineArgs {
         }
     }
 
+    /**
+     * Конвертация имени парсера строки лога, введенного пользователем
+     */
+    public static class ParserTypeConverter implements IStringConverter<ParserType> {
+        @Override
+        public ParserType convert(String optionName) {
+            ParserType parserType = ParserType.fromOptionName(optionName);
+            if (parserType == null) {
+                throw new ParameterException("Unknown parser: " + optionName);
+            }
+            return parserType;
+        }
+    }
+
+    /**
+     * Конвертация режима чтения локальных файлов, введенного пользователем
+     */
+    public static class ReadModeConverter implements IStringConverter<ReadMode> {
+        @Override
+        public ReadMode convert(String optionName) {
+            ReadMode readMode = ReadMode.fromOptionName(optionName);
+            if (readMode == null) {
+                throw new ParameterException("Unknown read mode: " + optionName);
+            }
+            return readMode;
+        }
+    }
+
+    /**
+     * Конвертация уровня перцентиля размера ответа
+     */
+    public static class PercentileConverter implements IStringConverter<Double> {
+        private static final double MAX_PERCENTILE = 100;
+
+        @Override
+        public Double convert(String level) {
+            try {
+                double percentile = Double.parseDouble(level);
+                if (percentile < 0 || percentile > MAX_PERCENTILE) {
+                    throw new ParameterException("Percentile must be between 0 and 100: " + level);
+                }
+                return percentile;
+            } catch (NumberFormatException e) {
+                throw new ParameterException("Invalid percentile: " + level, e);
+            }
+        }
+    }
+
+    /**
+     * Конвертация способа подсчета перцентилей
+     */
+    public static class PercentileModeConverter implements IStringConverter<PercentileMode> {
+        @Override
+        public PercentileMode convert(String optionName) {
+            PercentileMode percentileMode = PercentileMode.fromOptionName(optionName);
+            if (percentileMode == null) {
+                throw new ParameterException("Unknown percentile mode: " + optionName);
+            }
+            return percentileMode;
+        }
+    }
+
+    /**
+     * Конвертация размера интервала временного ряда
+     */
+    public static class TimeResolutionConverter implements IStringConverter<TimeResolution> {
+        @Override
+        public TimeResolution convert(String optionName) {
+            TimeResolution resolution = TimeResolution.fromOptionName(optionName);
+            if (resolution == null) {
+                throw new ParameterException("Unknown resolution: " + optionName);
+            }
+            return resolution;
+        }
+    }
+
+    /**
+     * Конвертация имени статистики, найденной через {@link StatsCollectors}
+     */
+    public static class MetricConverter implements IStringConverter<String> {
+        @Override
+        public String convert(String name) {
+            if (!StatsCollectors.names().contains(name)) {
+                throw new ParameterException("Unknown metric: " + name + ", available: " + StatsCollectors.names());
+            }
+            return name;
+        }
+    }
+
+    /**
+     * Конвертация выражения фильтрации в дерево проверок
+     */
+    public static class FilterExpressionConverter implements IStringConverter<FilterNode> {
+        @Override
+        public FilterNode convert(String expression) {
+            try {
+                return FilterExpressionParser.parse(expression);
+            } catch (IllegalArgumentException e) {
+                throw new ParameterException("Invalid filter expression: " + e.getMessage(), e);
+            }
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.NginxLogEntity;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Узел, пропускающий лог, если его пропускают все дочерние узлы
+ */
+public final class AndFilterNode extends CompositeFilterNode {
+
+    public AndFilterNode(List<FilterNode> children) {
+        super(children);
+    }
+
+    @Override
+    public boolean test(NginxLogEntity nginxLogEntity) {
+        for (FilterNode child : children) {
+            if (!child.test(nginxLogEntity)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FilterNode pushDown(FieldPredicates target) {
+        List<FilterNode> remaining = new ArrayList<>(children.length);
+        for (FilterNode child : children) {
+            FilterNode remainingChild = child.pushDown(target);
+            if (remainingChild != null) {
+                remaining.add(remainingChild);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return null;
+        }
+        return remaining.size() == 1 ? remaining.getFirst() : new AndFilterNode(remaining);
+    }
+}
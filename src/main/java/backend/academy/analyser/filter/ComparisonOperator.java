@@ -0,0 +1,61 @@
+package backend.academy.analyser.filter;
+
+import java.util.function.IntPredicate;
+import lombok.Getter;
+
+/**
+ * Enum операторов сравнения поля лога со значением в выражении фильтрации
+ */
+public enum ComparisonOperator {
+    EQUALS("=", c -> c == 0),
+    NOT_EQUALS("!=", c -> c != 0),
+    GREATER(">", c -> c > 0),
+    GREATER_OR_EQUALS(">=", c -> c >= 0),
+    LESS("<", c -> c < 0),
+    LESS_OR_EQUALS("<=", c -> c <= 0),
+    CONTAINS("~", null),
+    IN("in", null);
+
+    @Getter
+    private final String symbol;
+    private final IntPredicate comparisonResult;
+
+    ComparisonOperator(String symbol, IntPredicate comparisonResult) {
+        this.symbol = symbol;
+        this.comparisonResult = comparisonResult;
+    }
+
+    /**
+     * Проверяет, задает ли оператор порядок значений и может ли применяться к результату сравнения
+     *
+     * @return Результат проверки
+     */
+    public boolean isOrdering() {
+        return comparisonResult != null;
+    }
+
+    /**
+     * Проверяет результат сравнения значения поля со значением фильтра
+     *
+     * @param comparison Результат сравнения в смысле {@link Comparable#compareTo(Object)}
+     * @return Выполняется ли условие оператора
+     */
+    public boolean matches(int comparison) {
+        return comparisonResult.test(comparison);
+    }
+
+    /**
+     * Ищет оператор по его записи
+     *
+     * @param symbol Запись оператора в выражении фильтрации
+     * @return Оператор или null, если оператор с такой записью не найден
+     */
+    public static ComparisonOperator fromSymbol(String symbol) {
+        for (ComparisonOperator operator : values()) {
+            if (operator.symbol.equalsIgnoreCase(symbol)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+}
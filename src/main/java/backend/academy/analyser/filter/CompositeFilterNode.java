@@ -0,0 +1,36 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.LogField;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Узел, объединяющий несколько дочерних узлов, отсортированных по стоимости
+ */
+abstract class CompositeFilterNode implements FilterNode {
+
+    protected final FilterNode[] children;
+    private final int cost;
+    private final EnumSet<LogField> fields;
+
+    protected CompositeFilterNode(List<FilterNode> children) {
+        this.children = children.stream()
+            .sorted(Comparator.comparingInt(FilterNode::cost))
+            .toArray(FilterNode[]::new);
+        this.cost = children.stream().mapToInt(FilterNode::cost).sum();
+        this.fields = EnumSet.noneOf(LogField.class);
+        children.forEach(child -> fields.addAll(child.fields()));
+    }
+
+    @Override
+    public int cost() {
+        return cost;
+    }
+
+    @Override
+    public Set<LogField> fields() {
+        return EnumSet.copyOf(fields);
+    }
+}
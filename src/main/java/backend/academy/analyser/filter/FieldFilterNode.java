@@ -0,0 +1,186 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.LogTime;
+import backend.academy.analyser.NginxLogEntity;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Узел, сравнивающий одно поле лога со значением или набором значений
+ *
+ * @param predicates Скомпилированная проверка поля
+ * @param cost       Стоимость проверки
+ */
+public record FieldFilterNode(FieldPredicates predicates, int cost) implements FilterNode {
+
+    private static final String UNSUPPORTED_OPERATOR = "Operator %s is not supported for field %s";
+
+    @Override
+    public boolean test(NginxLogEntity nginxLogEntity) {
+        return predicates.test(nginxLogEntity);
+    }
+
+    @Override
+    public Set<LogField> fields() {
+        return predicates.fields();
+    }
+
+    @Override
+    public FilterNode pushDown(FieldPredicates target) {
+        target.and(predicates);
+        return null;
+    }
+
+    /**
+     * Компилирует сравнение поля со значениями
+     *
+     * @param field Поле лога
+     * @param operator Оператор сравнения
+     * @param values Значения фильтра: одно значение или набор для оператора in
+     * @return Узел выражения фильтрации
+     * @throws IllegalArgumentException Оператор не подходит к типу поля или значение не разбирается
+     */
+    public static FieldFilterNode of(FilterField field, ComparisonOperator operator, List<String> values) {
+        FieldPredicates predicates = switch (field.type()) {
+            case NUMBER -> field.intPredicate(numberPredicate(field, operator, values));
+            case STRING -> field.stringPredicate(
+                stringPredicate(field, operator, values.stream().map(field::normalize).toList()));
+            case DATE -> new FieldPredicates().andTime(datePredicate(field, operator, values));
+        };
+        int cost = operator == ComparisonOperator.CONTAINS ? field.cost() + 1 : field.cost();
+        return new FieldFilterNode(predicates, cost);
+    }
+
+    /**
+     * Компилирует сравнение значения числового поля
+     *
+     * @param field Числовое поле лога
+     * @param operator Оператор сравнения
+     * @param values Значения фильтра
+     * @return Проверка значения поля
+     */
+    private static IntPredicate numberPredicate(FilterField field, ComparisonOperator operator, List<String> values) {
+        if (operator == ComparisonOperator.IN) {
+            IntOpenHashSet expectedValues = new IntOpenHashSet(values.size());
+            for (String value : values) {
+                expectedValues.add(parseInt(field, value));
+            }
+            return expectedValues::contains;
+        }
+        checkOrdering(field, operator);
+        int expected = parseInt(field, values.getFirst());
+        return value -> operator.matches(Integer.compare(value, expected));
+    }
+
+    /**
+     * Компилирует сравнение значения строкового поля. Для строк доступны только равенство,
+     * вхождение подстроки и набор
+     *
+     * @param field Строковое поле лога
+     * @param operator Оператор сравнения
+     * @param values Значения фильтра
+     * @return Проверка значения поля
+     */
+    private static Predicate<String> stringPredicate(
+        FilterField field,
+        ComparisonOperator operator,
+        List<String> values
+    ) {
+        String expected = values.getFirst();
+        return switch (operator) {
+            case IN -> {
+                Set<String> expectedValues = Set.copyOf(values);
+                yield value -> value != null && expectedValues.contains(value);
+            }
+            case CONTAINS -> value -> value != null && value.contains(expected);
+            case EQUALS -> expected::equals;
+            case NOT_EQUALS -> value -> !expected.equals(value);
+            default -> throw new IllegalArgumentException(
+                String.format(UNSUPPORTED_OPERATOR, operator.symbol(), field.optionName()));
+        };
+    }
+
+    /**
+     * Компилирует сравнение времени лога. Время в логе записано с точностью до секунды,
+     * поэтому значения набора с долями секунды отклоняются
+     *
+     * @param field Поле с временем лога
+     * @param operator Оператор сравнения
+     * @param values Значения фильтра
+     * @return Проверка времени
+     */
+    private static Predicate<LogTime> datePredicate(
+        FilterField field,
+        ComparisonOperator operator,
+        List<String> values
+    ) {
+        if (operator == ComparisonOperator.IN) {
+            LongOpenHashSet expectedValues = new LongOpenHashSet(values.size());
+            for (String value : values) {
+                LocalDateTime expected = parseDate(field, value);
+                if (expected.getNano() != 0) {
+                    throw new IllegalArgumentException(
+                        "Fractional seconds are not supported in a set for field " + field.optionName() + ": " + value);
+                }
+                expectedValues.add(expected.toEpochSecond(ZoneOffset.UTC));
+            }
+            return time -> expectedValues.contains(time.localEpochSecond());
+        }
+        checkOrdering(field, operator);
+        LocalDateTime expected = parseDate(field, values.getFirst());
+        long expectedSecond = expected.toEpochSecond(ZoneOffset.UTC);
+        int expectedNano = expected.getNano();
+        return time -> operator.matches(time.compareLocal(expectedSecond, expectedNano));
+    }
+
+    /**
+     * Проверяет, что оператор задает порядок и подходит для сравнения чисел и дат
+     *
+     * @param field Поле лога
+     * @param operator Оператор сравнения
+     */
+    private static void checkOrdering(FilterField field, ComparisonOperator operator) {
+        if (!operator.isOrdering()) {
+            throw new IllegalArgumentException(
+                String.format(UNSUPPORTED_OPERATOR, operator.symbol(), field.optionName()));
+        }
+    }
+
+    /**
+     * Разбирает числовое значение фильтра
+     *
+     * @param field Поле лога
+     * @param value Значение фильтра
+     * @return Число
+     */
+    private static int parseInt(FilterField field, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for field " + field.optionName() + ": " + value, e);
+        }
+    }
+
+    /**
+     * Разбирает значение фильтра с датой
+     *
+     * @param field Поле лога
+     * @param value Значение фильтра
+     * @return Дата и время
+     */
+    private static LocalDateTime parseDate(FilterField field, String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date for field " + field.optionName() + ": " + value, e);
+        }
+    }
+}
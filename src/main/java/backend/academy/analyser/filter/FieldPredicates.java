@@ -0,0 +1,209 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.LogTime;
+import backend.academy.analyser.NginxLogEntity;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Набор проверок отдельных полей лога, объединенных через AND и выполняемых парсером
+ */
+public final class FieldPredicates implements Predicate<NginxLogEntity> {
+
+    private final Map<LogField, IntPredicate> intPredicates = new EnumMap<>(LogField.class);
+    private final Map<LogField, Predicate<String>> stringPredicates = new EnumMap<>(LogField.class);
+    private Predicate<LogTime> timePredicate;
+    private Predicate<HttpRequest> requestPredicate;
+    private Predicate<NginxLogEntity> entityPredicate = ng -> true;
+
+    /**
+     * Добавляет проверку числового поля
+     *
+     * @param field Числовое поле лога: код статуса или размер ответа
+     * @param predicate Проверка значения поля
+     * @return Текущий набор проверок
+     */
+    public FieldPredicates andInt(LogField field, IntPredicate predicate) {
+        intPredicates.merge(field, predicate, IntPredicate::and);
+        ToIntFunction<NginxLogEntity> accessor = intAccessor(field);
+        entityPredicate = entityPredicate.and(ng -> predicate.test(accessor.applyAsInt(ng)));
+        return this;
+    }
+
+    /**
+     * Добавляет проверку строкового поля. Проверка получает null, если значение поля отсутствует
+     *
+     * @param field Строковое поле лога
+     * @param predicate Проверка значения поля
+     * @return Текущий набор проверок
+     */
+    public FieldPredicates andString(LogField field, Predicate<String> predicate) {
+        stringPredicates.merge(field, predicate, Predicate::and);
+        Function<NginxLogEntity, String> accessor = stringAccessor(field);
+        entityPredicate = entityPredicate.and(ng -> predicate.test(accessor.apply(ng)));
+        return this;
+    }
+
+    /**
+     * Добавляет проверку времени лога. Лог с некорректным временем проверку не проходит
+     *
+     * @param predicate Проверка времени
+     * @return Текущий набор проверок
+     */
+    public FieldPredicates andTime(Predicate<LogTime> predicate) {
+        timePredicate = timePredicate == null ? predicate : timePredicate.and(predicate);
+        entityPredicate = entityPredicate.and(ng -> ng.time() != null && predicate.test(ng.time()));
+        return this;
+    }
+
+    /**
+     * Добавляет проверку разобранного запроса
+     *
+     * @param predicate Проверка запроса
+     * @return Текущий набор проверок
+     */
+    public FieldPredicates andRequest(Predicate<HttpRequest> predicate) {
+        requestPredicate = requestPredicate == null ? predicate : requestPredicate.and(predicate);
+        entityPredicate = entityPredicate.and(ng -> predicate.test(ng.request()));
+        return this;
+    }
+
+    /**
+     * Добавляет все проверки другого набора
+     *
+     * @param other Другой набор проверок
+     * @return Текущий набор проверок
+     */
+    public FieldPredicates and(FieldPredicates other) {
+        other.intPredicates.forEach(this::andInt);
+        other.stringPredicates.forEach(this::andString);
+        if (other.timePredicate != null) {
+            andTime(other.timePredicate);
+        }
+        if (other.requestPredicate != null) {
+            andRequest(other.requestPredicate);
+        }
+        return this;
+    }
+
+    /**
+     * Возвращает поля лога, которые читают проверки набора
+     *
+     * @return Поля лога
+     */
+    public Set<LogField> fields() {
+        Set<LogField> fields = EnumSet.noneOf(LogField.class);
+        fields.addAll(intPredicates.keySet());
+        fields.addAll(stringPredicates.keySet());
+        if (timePredicate != null) {
+            fields.add(LogField.TIME);
+        }
+        if (requestPredicate != null) {
+            fields.add(LogField.REQUEST);
+        }
+        return fields;
+    }
+
+    /**
+     * Проверяет значение числового поля
+     *
+     * @param field Числовое поле лога
+     * @param value Значение поля
+     * @return Проходит ли значение проверку или true, если поле не проверяется
+     */
+    public boolean testInt(LogField field, int value) {
+        IntPredicate predicate = intPredicates.get(field);
+        return predicate == null || predicate.test(value);
+    }
+
+    /**
+     * Проверяет значение строкового поля
+     *
+     * @param field Строковое поле лога
+     * @param value Значение поля
+     * @return Проходит ли значение проверку или true, если поле не проверяется
+     */
+    public boolean testString(LogField field, String value) {
+        Predicate<String> predicate = stringPredicates.get(field);
+        return predicate == null || predicate.test(value);
+    }
+
+    /**
+     * Возвращает проверку строкового поля
+     *
+     * @param field Строковое поле лога
+     * @return Проверка значения поля или null, если поле не проверяется
+     */
+    public Predicate<String> stringPredicate(LogField field) {
+        return stringPredicates.get(field);
+    }
+
+    /**
+     * Проверяет время лога
+     *
+     * @param time Время лога или null, если время записано некорректно
+     * @return Проходит ли время проверку или true, если время не проверяется
+     */
+    public boolean testTime(LogTime time) {
+        return timePredicate == null || time != null && timePredicate.test(time);
+    }
+
+    /**
+     * Проверяет разобранный запрос
+     *
+     * @param request Запрос
+     * @return Проходит ли запрос проверку или true, если запрос не проверяется
+     */
+    public boolean testRequest(HttpRequest request) {
+        return requestPredicate == null || requestPredicate.test(request);
+    }
+
+    /**
+     * Проверяет уже созданную сущность лога всеми проверками набора
+     *
+     * @param nginxLogEntity Текущий лог
+     * @return Проходит ли лог все проверки
+     */
+    @Override
+    public boolean test(NginxLogEntity nginxLogEntity) {
+        return entityPredicate.test(nginxLogEntity);
+    }
+
+    /**
+     * Возвращает способ чтения числового поля из сущности лога
+     *
+     * @param field Числовое поле лога
+     * @return Способ чтения поля
+     */
+    private static ToIntFunction<NginxLogEntity> intAccessor(LogField field) {
+        return switch (field) {
+            case STATUS -> NginxLogEntity::status;
+            case BYTES -> NginxLogEntity::bodyBytesSent;
+            default -> throw new IllegalArgumentException("Field is not numeric: " + field);
+        };
+    }
+
+    /**
+     * Возвращает способ чтения строкового поля из сущности лога
+     *
+     * @param field Строковое поле лога
+     * @return Способ чтения поля
+     */
+    private static Function<NginxLogEntity, String> stringAccessor(LogField field) {
+        return switch (field) {
+            case REMOTE_ADDR -> NginxLogEntity::remoteAddr;
+            case REMOTE_USER -> NginxLogEntity::remoteUser;
+            case REFERER -> NginxLogEntity::httpReferer;
+            case USER_AGENT -> NginxLogEntity::httpUserAgent;
+            default -> throw new IllegalArgumentException("Field is not a string: " + field);
+        };
+    }
+}
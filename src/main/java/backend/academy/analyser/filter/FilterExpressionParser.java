@@ -0,0 +1,273 @@
+package backend.academy.analyser.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбирает выражение фильтрации логов и компилирует его в дерево узлов с сокращенным вычислением.
+ * <p>
+ * Грамматика выражения:
+ * <pre>
+ * expression := and ("OR" and)*
+ * and        := unary ("AND" unary)*
+ * unary      := "NOT" unary | "(" expression ")" | comparison
+ * comparison := field operator value | field "IN" "(" value ("," value)* ")"
+ * operator   := "=" | "!=" | "&gt;" | "&gt;=" | "&lt;" | "&lt;=" | "~"
+ * </pre>
+ * Ключевые слова не зависят от регистра, значения с пробелами и спецсимволами записываются в кавычках
+ */
+public final class FilterExpressionParser {
+
+    private static final String OPERATOR_CHARS = "=!<>~";
+    private static final String SPECIAL_CHARS = "(),'\"" + OPERATOR_CHARS;
+    private static final int INITIAL_OPERANDS_CAPACITY = 4;
+
+    private final List<Token> tokens;
+    private int position;
+
+    private FilterExpressionParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Разбирает и компилирует выражение фильтрации
+     *
+     * @param expression Выражение фильтрации
+     * @return Корневой узел выражения
+     * @throws IllegalArgumentException Ошибка в выражении
+     */
+    public static FilterNode parse(String expression) {
+        FilterExpressionParser parser = new FilterExpressionParser(tokenize(expression));
+        FilterNode root = parser.parseOr();
+        parser.expect(TokenType.END);
+        return root;
+    }
+
+    /**
+     * Разбирает дизъюнкцию
+     *
+     * @return Узел выражения
+     */
+    private FilterNode parseOr() {
+        List<FilterNode> operands = new ArrayList<>(INITIAL_OPERANDS_CAPACITY);
+        do {
+            operands.add(parseAnd());
+        } while (acceptKeyword("OR"));
+        return operands.size() == 1 ? operands.getFirst() : new OrFilterNode(operands);
+    }
+
+    /**
+     * Разбирает конъюнкцию
+     *
+     * @return Узел выражения
+     */
+    private FilterNode parseAnd() {
+        List<FilterNode> operands = new ArrayList<>(INITIAL_OPERANDS_CAPACITY);
+        do {
+            operands.add(parseUnary());
+        } while (acceptKeyword("AND"));
+        return operands.size() == 1 ? operands.getFirst() : new AndFilterNode(operands);
+    }
+
+    /**
+     * Разбирает отрицание, выражение в скобках или сравнение
+     *
+     * @return Узел выражения
+     */
+    private FilterNode parseUnary() {
+        if (acceptKeyword("NOT")) {
+            return new NotFilterNode(parseUnary());
+        }
+        if (accept(TokenType.OPEN)) {
+            FilterNode node = parseOr();
+            expect(TokenType.CLOSE);
+            return node;
+        }
+        return parseComparison();
+    }
+
+    /**
+     * Разбирает сравнение поля со значением или набором значений
+     *
+     * @return Узел выражения
+     */
+    private FilterNode parseComparison() {
+        String fieldName = expect(TokenType.WORD).text();
+        FilterField field = FilterField.fromOptionName(fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown filter field: " + fieldName);
+        }
+        if (acceptKeyword(ComparisonOperator.IN.symbol())) {
+            return FieldFilterNode.of(field, ComparisonOperator.IN, parseValueList());
+        }
+        String symbol = expect(TokenType.OPERATOR).text();
+        ComparisonOperator operator = ComparisonOperator.fromSymbol(symbol);
+        if (operator == null || operator == ComparisonOperator.IN) {
+            throw new IllegalArgumentException("Unknown filter operator: " + symbol);
+        }
+        return FieldFilterNode.of(field, operator, List.of(parseValue()));
+    }
+
+    /**
+     * Разбирает набор значений в скобках
+     *
+     * @return Значения набора
+     */
+    private List<String> parseValueList() {
+        expect(TokenType.OPEN);
+        List<String> values = new ArrayList<>(INITIAL_OPERANDS_CAPACITY);
+        do {
+            values.add(parseValue());
+        } while (accept(TokenType.COMMA));
+        expect(TokenType.CLOSE);
+        return values;
+    }
+
+    /**
+     * Разбирает значение: слово или строку в кавычках
+     *
+     * @return Значение
+     */
+    private String parseValue() {
+        Token token = tokens.get(position);
+        if (token.type() != TokenType.WORD && token.type() != TokenType.QUOTED) {
+            throw new IllegalArgumentException("Expected value but found: " + token.text());
+        }
+        position++;
+        return token.text();
+    }
+
+    /**
+     * Пропускает текущий токен, если он совпадает с ключевым словом
+     *
+     * @param keyword Ключевое слово
+     * @return Был ли пропущен токен
+     */
+    private boolean acceptKeyword(String keyword) {
+        Token token = tokens.get(position);
+        if (token.type() == TokenType.WORD && token.text().equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Пропускает текущий токен, если он имеет заданный тип
+     *
+     * @param type Тип токена
+     * @return Был ли пропущен токен
+     */
+    private boolean accept(TokenType type) {
+        if (tokens.get(position).type() == type) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает текущий токен заданного типа и переходит к следующему
+     *
+     * @param type Ожидаемый тип токена
+     * @return Текущий токен
+     */
+    private Token expect(TokenType type) {
+        Token token = tokens.get(position);
+        if (token.type() != type) {
+            throw new IllegalArgumentException("Expected " + type + " but found: " + token.text());
+        }
+        position++;
+        return token;
+    }
+
+    /**
+     * Делит выражение на токены
+     *
+     * @param expression Выражение фильтрации
+     * @return Токены, последний из которых обозначает конец выражения
+     */
+    private static List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        int index = 0;
+        while (index < expression.length()) {
+            char current = expression.charAt(index);
+            TokenType punctuation = punctuationType(current);
+            if (Character.isWhitespace(current)) {
+                index++;
+            } else if (punctuation != null) {
+                tokens.add(new Token(punctuation, String.valueOf(current)));
+                index++;
+            } else if (current == '\'' || current == '"') {
+                int end = expression.indexOf(current, index + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed quote in filter expression: " + expression);
+                }
+                tokens.add(new Token(TokenType.QUOTED, expression.substring(index + 1, end)));
+                index = end + 1;
+            } else {
+                boolean isOperator = OPERATOR_CHARS.indexOf(current) >= 0;
+                int end = index + 1;
+                while (end < expression.length() && isTokenPart(expression.charAt(end), isOperator)) {
+                    end++;
+                }
+                TokenType type = isOperator ? TokenType.OPERATOR : TokenType.WORD;
+                tokens.add(new Token(type, expression.substring(index, end)));
+                index = end;
+            }
+        }
+        tokens.add(new Token(TokenType.END, "end of expression"));
+        return tokens;
+    }
+
+    /**
+     * Определяет тип токена из одного символа пунктуации
+     *
+     * @param symbol Текущий символ
+     * @return Тип токена или null, если символ не является пунктуацией
+     */
+    private static TokenType punctuationType(char symbol) {
+        return switch (symbol) {
+            case '(' -> TokenType.OPEN;
+            case ')' -> TokenType.CLOSE;
+            case ',' -> TokenType.COMMA;
+            default -> null;
+        };
+    }
+
+    /**
+     * Проверяет, продолжает ли символ текущий токен оператора или слова
+     *
+     * @param symbol Проверяемый символ
+     * @param isOperator Является ли текущий токен оператором
+     * @return Результат проверки
+     */
+    private static boolean isTokenPart(char symbol, boolean isOperator) {
+        if (isOperator) {
+            return OPERATOR_CHARS.indexOf(symbol) >= 0;
+        }
+        return !Character.isWhitespace(symbol) && SPECIAL_CHARS.indexOf(symbol) < 0;
+    }
+
+    /**
+     * Тип токена выражения
+     */
+    private enum TokenType {
+        WORD,
+        QUOTED,
+        OPERATOR,
+        OPEN,
+        CLOSE,
+        COMMA,
+        END
+    }
+
+    /**
+     * Токен выражения
+     *
+     * @param type Тип токена
+     * @param text Текст токена
+     */
+    private record Token(TokenType type, String text) {
+    }
+}
@@ -0,0 +1,116 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import lombok.Getter;
+
+/**
+ * Enum полей лога, доступных в выражении фильтрации
+ */
+public enum FilterField {
+    STATUS("status", 1, LogField.STATUS, FieldType.NUMBER),
+    BYTES("bytes", 1, LogField.BYTES, FieldType.NUMBER),
+    DATE("date", 2, LogField.TIME, FieldType.DATE),
+    REMOTE_ADDR("remoteAddr", 2, LogField.REMOTE_ADDR, FieldType.STRING),
+    REMOTE_USER("remoteUser", 2, LogField.REMOTE_USER, FieldType.STRING),
+    REFERER("referer", 3, LogField.REFERER, FieldType.STRING),
+    AGENT("agent", 3, LogField.USER_AGENT, FieldType.STRING),
+    REQUEST_METHOD("requestMethod", 4, HttpRequest::method),
+    REQUEST_PATH("requestPath", 4, HttpRequest::path),
+    REQUEST_PROTOCOL("requestProtocol", 4, HttpRequest::protocol);
+
+    @Getter
+    private final String optionName;
+    @Getter
+    private final int cost;
+    @Getter
+    private final LogField logField;
+    @Getter
+    private final FieldType type;
+    private final Function<HttpRequest, String> requestPart;
+
+    FilterField(String optionName, int cost, LogField logField, FieldType type) {
+        this(optionName, cost, logField, type, null);
+    }
+
+    FilterField(String optionName, int cost, Function<HttpRequest, String> requestPart) {
+        this(optionName, cost, LogField.REQUEST, FieldType.STRING, requestPart);
+    }
+
+    FilterField(
+        String optionName,
+        int cost,
+        LogField logField,
+        FieldType type,
+        Function<HttpRequest, String> requestPart
+    ) {
+        this.optionName = optionName;
+        this.cost = cost;
+        this.logField = logField;
+        this.type = type;
+        this.requestPart = requestPart;
+    }
+
+    /**
+     * Приводит значение фильтра к виду, в котором поле записано в логе: метод запроса сравнивается
+     * в верхнем регистре, остальные значения не меняются
+     *
+     * @param value Значение фильтра
+     * @return Приведенное значение
+     */
+    public String normalize(String value) {
+        return this == REQUEST_METHOD ? value.toUpperCase(Locale.ROOT) : value;
+    }
+
+    /**
+     * Создает набор из одной проверки значения числового поля
+     *
+     * @param predicate Проверка значения поля
+     * @return Набор проверок полей
+     */
+    public FieldPredicates intPredicate(IntPredicate predicate) {
+        return new FieldPredicates().andInt(logField, predicate);
+    }
+
+    /**
+     * Создает набор из одной проверки значения строкового поля. Для частей запроса проверка применяется
+     * к разобранному запросу
+     *
+     * @param predicate Проверка значения поля, получающая null, если значение отсутствует
+     * @return Набор проверок полей
+     */
+    public FieldPredicates stringPredicate(Predicate<String> predicate) {
+        if (requestPart == null) {
+            return new FieldPredicates().andString(logField, predicate);
+        }
+        return new FieldPredicates().andRequest(request -> predicate.test(requestPart.apply(request)));
+    }
+
+    /**
+     * Ищет поле по его имени
+     *
+     * @param optionName Имя поля в выражении фильтрации
+     * @return Поле или null, если поле с таким именем не найдено
+     */
+    public static FilterField fromOptionName(String optionName) {
+        for (FilterField filterField : values()) {
+            if (filterField.optionName.equals(optionName)) {
+                return filterField;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Тип значения поля, определяющий доступные операторы сравнения
+     */
+    public enum FieldType {
+        NUMBER,
+        STRING,
+        DATE
+    }
+}
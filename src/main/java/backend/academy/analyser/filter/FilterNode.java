@@ -0,0 +1,37 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Узел скомпилированного выражения фильтрации логов
+ */
+public interface FilterNode extends Predicate<NginxLogEntity> {
+
+    /**
+     * Возвращает относительную стоимость проверки узла. Узлы с меньшей стоимостью проверяются первыми
+     *
+     * @return Стоимость проверки
+     */
+    int cost();
+
+    /**
+     * Возвращает поля лога, которые читает проверка узла, чтобы парсер декодировал только их
+     *
+     * @return Поля лога
+     */
+    Set<LogField> fields();
+
+    /**
+     * Переносит проверки отдельных полей в набор проверок, которые парсер выполняет во время разбора строки.
+     * По умолчанию узел не переносится
+     *
+     * @param target Набор проверок полей, в который добавляются перенесенные проверки
+     * @return Узел с оставшимися проверками или null, если перенесены все проверки узла
+     */
+    default FilterNode pushDown(FieldPredicates target) {
+        return this;
+    }
+}
@@ -0,0 +1,28 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import java.util.Set;
+
+/**
+ * Узел, инвертирующий результат дочернего узла
+ *
+ * @param child Дочерний узел
+ */
+public record NotFilterNode(FilterNode child) implements FilterNode {
+
+    @Override
+    public boolean test(NginxLogEntity nginxLogEntity) {
+        return !child.test(nginxLogEntity);
+    }
+
+    @Override
+    public int cost() {
+        return child.cost();
+    }
+
+    @Override
+    public Set<LogField> fields() {
+        return child.fields();
+    }
+}
@@ -0,0 +1,24 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.NginxLogEntity;
+import java.util.List;
+
+/**
+ * Узел, пропускающий лог, если его пропускает хотя бы один дочерний узел
+ */
+public final class OrFilterNode extends CompositeFilterNode {
+
+    public OrFilterNode(List<FilterNode> children) {
+        super(children);
+    }
+
+    @Override
+    public boolean test(NginxLogEntity nginxLogEntity) {
+        for (FilterNode child : children) {
+            if (child.test(nginxLogEntity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
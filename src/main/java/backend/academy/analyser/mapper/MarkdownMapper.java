@@ -1,9 +1,23 @@
 package backend.academy.analyser.mapper;
 
+import backend.academy.analyser.stats.StatsCollector;
 import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsRenderer;
+import backend.academy.analyser.stats.date.DateStats;
+import backend.academy.analyser.stats.date.TimeBucket;
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.DistinctStats;
+import backend.academy.analyser.stats.request.RequestStats;
 import backend.academy.analyser.stats.response.Code;
+import backend.academy.analyser.stats.response.ResponseCodeStats;
+import backend.academy.analyser.stats.size.ResponseSizeStats;
+import backend.academy.analyser.stats.topk.HeavyHitter;
+import backend.academy.analyser.stats.topk.SpaceSaving;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
 import lombok.experimental.UtilityClass;
 
@@ -14,10 +28,10 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class MarkdownMapper {
 
-    private final static int COUNT_OF_FIRST_VALUES = 3;
     private final static String DIVIDE_STRING = "|:---------------:|-----------:|\n";
     private final static String VAR_FORMAT_STRING = "|  `%s`  |      %,d |\n";
     private final static String QUANTITY_STRING = "Количество";
+    private final static DateTimeFormatter INTERVAL_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
 
     /**
      * Основной метод, вызывающие все методы по сборе компонентов строки
@@ -26,22 +40,15 @@ public class MarkdownMapper {
      * @return Строку для записи в markdown
      */
     public static String mapStatsToMarkdownString(StatsHandler statsHandler) {
-        StringBuilder output = new StringBuilder();
+        MarkdownRenderer renderer = new MarkdownRenderer(statsHandler);
+        for (StatsCollector<?> collector : statsHandler.collectors()) {
+            collector.render(renderer);
+        }
 
+        StringBuilder output = new StringBuilder();
         output.append("#### Общая информация\n\n");
-        output.append(generateGeneralInfoTable(statsHandler));
-
-        output.append("#### Самые запрашиваемые ресурсы\n\n");
-        output.append(generateTopRequestedResourcesTable(statsHandler));
-
-        output.append("#### Самые запрашиваемые методы\n\n");
-        output.append(generateTopRequestedMethodsTable(statsHandler));
-
-        output.append("#### Коды ответа\n\n");
-        output.append(generateResponseCodesTable(statsHandler));
-
-        output.append("#### Самое активное время\n\n");
-        output.append(generateActiveHoursTable(statsHandler));
+        output.append(generateGeneralInfoTable(statsHandler, renderer.generalInfo()));
+        output.append(renderer.sections());
 
         return output.toString();
     }
@@ -50,9 +57,10 @@ public class MarkdownMapper {
      * Генерация части с основной статистикой
      *
      * @param statsHandler Собранная статистика
+     * @param collectorRows Строки таблицы, выведенные выбранными статистиками
      * @return Таблица с основной статистикой
      */
-    private static String generateGeneralInfoTable(StatsHandler statsHandler) {
+    private static String generateGeneralInfoTable(StatsHandler statsHandler, String collectorRows) {
         StringBuilder output = new StringBuilder();
         output.append("|        Метрика        |     Значение |\n");
         output.append(DIVIDE_STRING);
@@ -66,8 +74,8 @@ public class MarkdownMapper {
         output.append(String.format("|    Начальная дата     |   %s |\n", fromDate));
         output.append(String.format("|     Конечная дата     |   %s |\n", toDate));
         output.append(String.format("|  Количество запросов  |       %,d |\n", statsHandler.requestCount()));
-        output.append(String.format("| Средний размер ответа |         %db |\n", statsHandler.avgResponseSize()));
-        output.append(String.format("|   95p размера ответа  |         %db |\n\n", statsHandler.percentile()));
+        output.append(collectorRows);
+        output.append('\n');
 
         return output.toString();
     }
@@ -76,43 +84,65 @@ public class MarkdownMapper {
      * Генерирует таблицу для самых запрашиваемых ресурсах
      *
      * @param statsHandler Собранная статистика
+     * @param requestStats Статистика по запросам
      * @return Таблица с самыми запрашиваемыми ресурсами
      */
-    public static String generateTopRequestedResourcesTable(StatsHandler statsHandler) {
-        return generateTableWithSingleMetric("Ресурс", QUANTITY_STRING, statsHandler.sortRequestMap(
-            statsHandler.requestStats().requestResourceCounts()));
+    public static String generateTopRequestedResourcesTable(StatsHandler statsHandler, RequestStats requestStats) {
+        if (requestStats.isApproximate()) {
+            return generateHeavyHittersTable(requestStats.resourceHeavyHitters(), statsHandler.top());
+        }
+        return generateTableWithSingleMetric("Ресурс", QUANTITY_STRING, statsHandler.topRequestMap(
+            requestStats.requestResourceCounts()));
+    }
+
+    /**
+     * Генерирует таблицу самых запрашиваемых ресурсов, посчитанных приближенно, с наибольшей переоценкой
+     * количества каждого ресурса
+     *
+     * @param heavyHitters Приближенные счетчики ресурсов
+     * @param limit Количество строк таблицы
+     * @return Таблица с самыми запрашиваемыми ресурсами
+     */
+    private static String generateHeavyHittersTable(SpaceSaving heavyHitters, int limit) {
+        StringBuilder output = new StringBuilder();
+        output.append("|     Ресурс      | Количество | Погрешность |\n");
+        output.append("|:---------------:|-----------:|------------:|\n");
+        for (HeavyHitter heavyHitter : heavyHitters.top(limit)) {
+            output.append(String.format("|  `%s`  |      %,d |      %,d |\n",
+                heavyHitter.item(), heavyHitter.count(), heavyHitter.error()));
+        }
+        output.append('\n');
+        return output.toString();
     }
 
     /**
      * Генерирует таблицу для самых запрашиваемых методов
      *
      * @param statsHandler Собранная статистика
+     * @param requestStats Статистика по запросам
      * @return Таблица с самыми запрашиваемыми методами
      */
-    public static String generateTopRequestedMethodsTable(StatsHandler statsHandler) {
-        return generateTableWithSingleMetric("Метод", QUANTITY_STRING, statsHandler.sortRequestMap(
-            statsHandler.requestStats().requestMethodsCounts()));
+    public static String generateTopRequestedMethodsTable(StatsHandler statsHandler, RequestStats requestStats) {
+        return generateTableWithSingleMetric("Метод", QUANTITY_STRING, statsHandler.topRequestMap(
+            requestStats.requestMethodsCounts()));
     }
 
     /**
      * Генерирует таблицу для самых частых кодов ответа сервера
      *
      * @param statsHandler Собранная статистика
+     * @param responseCodeStats Статистика по кодам ответа
      * @return Таблица с самыми частыми кодами ответа сервера
      */
-    private static String generateResponseCodesTable(StatsHandler statsHandler) {
+    private static String generateResponseCodesTable(StatsHandler statsHandler, ResponseCodeStats responseCodeStats) {
         StringBuilder output = new StringBuilder();
         output.append("| Код |          Имя          | Количество |\n");
         output.append("|:---:|:---------------------:|-----------:|\n");
 
-        int count = 0;
-        for (Map.Entry<Integer, Integer> entry : statsHandler.responseCodeStats()
-            .sortCodeMap(statsHandler.responseCodeStats().responseCodesMap()).entrySet()) {
-            if (count < COUNT_OF_FIRST_VALUES) {
-                String codeName = getStatusName(entry.getKey());
-                output.append(String.format("| %d | %-20s | %,d |\n", entry.getKey(), codeName, entry.getValue()));
-                count++;
-            }
+        for (Map.Entry<Integer, Long> entry : responseCodeStats
+            .topCodeMap(responseCodeStats.responseCodesMap(), statsHandler.top()).entrySet()) {
+            String codeName = getStatusName(entry.getKey());
+            output.append(String.format("| %d | %-20s | %,d |\n", entry.getKey(), codeName, entry.getValue()));
         }
         return output.toString();
     }
@@ -121,11 +151,30 @@ public class MarkdownMapper {
      * Генерирует таблицу с самыми активными часами записи логов
      *
      * @param statsHandler Собранная статистика
+     * @param dateStats Статистика по датам
      * @return Таблица с самыми активными часами записи логов
      */
-    public static String generateActiveHoursTable(StatsHandler statsHandler) {
-        return generateTableWithSingleMetric("Час", QUANTITY_STRING, statsHandler.sortRequestMap(
-            statsHandler.dateStats().hoursRequestCounts()));
+    public static String generateActiveHoursTable(StatsHandler statsHandler, DateStats dateStats) {
+        return generateTableWithSingleMetric("Час", QUANTITY_STRING, statsHandler.topRequestMap(
+            dateStats.hoursRequestCounts()));
+    }
+
+    /**
+     * Генерирует таблицу с интервалами временного ряда, в которые пришло больше всего запросов
+     *
+     * @param buckets Интервалы по убыванию количества запросов
+     * @return Таблица с самыми нагруженными интервалами
+     */
+    public static String generatePeakIntervalsTable(List<TimeBucket> buckets) {
+        StringBuilder output = new StringBuilder();
+        output.append("|   Начало интервала   | Запросы | Ошибки 5xx | Байты |\n");
+        output.append("|:--------------------:|--------:|-----------:|------:|\n");
+        for (TimeBucket bucket : buckets) {
+            output.append(String.format("| %s | %,d | %,d | %,d |\n", formatIntervalStart(bucket),
+                bucket.requests(), bucket.errors(), bucket.bytes()));
+        }
+        output.append('\n');
+        return output.toString();
     }
 
     /**
@@ -139,23 +188,29 @@ public class MarkdownMapper {
     private static String generateTableWithSingleMetric(
         String metricName,
         String valueName,
-        Map<String, Integer> data
+        Map<String, Long> data
     ) {
         StringBuilder output = new StringBuilder();
         output.append(String.format("|     %s      | %s |\n", metricName, valueName));
         output.append(DIVIDE_STRING);
 
-        int count = 0;
-        for (Map.Entry<String, Integer> entry : data.entrySet()) {
-            if (count < COUNT_OF_FIRST_VALUES) {
-                output.append(String.format(VAR_FORMAT_STRING, entry.getKey(), entry.getValue()));
-                count++;
-            }
+        for (Map.Entry<String, Long> entry : data.entrySet()) {
+            output.append(String.format(VAR_FORMAT_STRING, entry.getKey(), entry.getValue()));
         }
         output.append('\n');
         return output.toString();
     }
 
+    /**
+     * Форматирует начало интервала временного ряда
+     *
+     * @param bucket Интервал
+     * @return Дата и время начала интервала
+     */
+    private String formatIntervalStart(TimeBucket bucket) {
+        return LocalDateTime.ofEpochSecond(bucket.startEpochSecond(), 0, ZoneOffset.UTC).format(INTERVAL_FORMATTER);
+    }
+
     /**
      * Метод для получения описания кода ответа сервера
      *
@@ -170,4 +225,105 @@ public class MarkdownMapper {
         }
         return "Unknown";
     }
+
+    /**
+     * Собирает строки общей информации и разделы отчета, которые выводят выбранные статистики
+     */
+    private static final class MarkdownRenderer implements StatsRenderer {
+
+        private final StatsHandler statsHandler;
+        private final StringBuilder generalInfo = new StringBuilder();
+        private final StringBuilder sections = new StringBuilder();
+
+        private MarkdownRenderer(StatsHandler statsHandler) {
+            this.statsHandler = statsHandler;
+        }
+
+        @Override
+        public void requestStats(RequestStats requestStats) {
+            sections.append("#### Самые запрашиваемые ресурсы\n\n");
+            sections.append(generateTopRequestedResourcesTable(statsHandler, requestStats));
+
+            sections.append("#### Самые запрашиваемые методы\n\n");
+            sections.append(generateTopRequestedMethodsTable(statsHandler, requestStats));
+        }
+
+        @Override
+        public void responseCodeStats(ResponseCodeStats responseCodeStats) {
+            sections.append("#### Коды ответа\n\n");
+            sections.append(generateResponseCodesTable(statsHandler, responseCodeStats));
+        }
+
+        @Override
+        public void dateStats(DateStats dateStats) {
+            sections.append("#### Самое активное время\n\n");
+            sections.append(generateActiveHoursTable(statsHandler, dateStats));
+
+            sections.append("#### Самые нагруженные интервалы\n\n");
+            sections.append(generatePeakIntervalsTable(dateStats.peakIntervals(statsHandler.top())));
+
+            if (dateStats.resolutionSeconds() < TimeResolution.HOUR.seconds()) {
+                sections.append("#### Самые нагруженные часы\n\n");
+                sections.append(generatePeakIntervalsTable(dateStats.peakHours(statsHandler.top())));
+            }
+        }
+
+        @Override
+        public void distinctStats(DistinctStats distinctStats) {
+            generalInfo.append(String.format("|  Уникальных клиентов  |       ~%,d |\n",
+                distinctStats.uniqueRemoteAddrs()));
+            generalInfo.append(String.format("|  Уникальных ресурсов  |       ~%,d |\n",
+                distinctStats.uniqueResources()));
+            generalInfo.append(String.format("| Уникальных user-agent |       ~%,d |\n",
+                distinctStats.uniqueUserAgents()));
+        }
+
+        @Override
+        public void responseSizeStats(ResponseSizeStats responseSizeStats) {
+            generalInfo.append(String.format("| Средний размер ответа |         %db |\n",
+                responseSizeStats.avgResponseSize()));
+            for (Map.Entry<String, Integer> entry : responseSizeStats.percentiles().entrySet()) {
+                generalInfo.append(String.format("|   %sp размера ответа  |         %db |\n",
+                    entry.getKey(), entry.getValue()));
+            }
+        }
+
+        @Override
+        public void table(String title, List<String> columns, List<List<String>> rows) {
+            sections.append(String.format("#### %s\n\n", title));
+            appendRow(columns);
+            sections.append(String.format("|%s\n", "---:|".repeat(columns.size())));
+            for (List<String> row : rows) {
+                appendRow(row);
+            }
+            sections.append('\n');
+        }
+
+        /**
+         * Добавляет к разделам отчета строку таблицы сторонней статистики
+         *
+         * @param cells Значения ячеек строки
+         */
+        private void appendRow(List<String> cells) {
+            sections.append(String.format("| %s |\n", String.join(" | ", cells)));
+        }
+
+        /**
+         * Возвращает строки общей информации, выведенные статистиками
+         *
+         * @return Строки таблицы общей информации
+         */
+        private String generalInfo() {
+            return generalInfo.toString();
+        }
+
+        /**
+         * Возвращает разделы отчета, выведенные статистиками
+         *
+         * @return Разделы отчета
+         */
+        private String sections() {
+            return sections.toString();
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package backend.academy.analyser.metrics;
+
+/**
+ * Время обработки одного файла, сложенное по всем его частям
+ *
+ * @param file  Путь к файлу или URL
+ * @param bytes Количество обработанных байтов файла
+ * @param nanos Время обработки в наносекундах
+ */
+public record FileTiming(String file, long bytes, long nanos) {
+
+    /**
+     * Складывает время обработки двух частей одного файла
+     *
+     * @param other Время обработки другой части файла
+     * @return Суммарное время обработки
+     */
+    public FileTiming plus(FileTiming other) {
+        return new FileTiming(file, bytes + other.bytes, nanos + other.nanos);
+    }
+}
@@ -0,0 +1,219 @@
+package backend.academy.analyser.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Метрики одного запуска обработки логов, доступные через JMX. Потокобезопасен
+ */
+@Slf4j
+public final class RunMetrics implements RunMetricsMXBean {
+
+    public static final String OBJECT_NAME = "backend.academy.analyser:type=RunMetrics";
+    public static final String PARSE_STAGE = "parse";
+    public static final String AGGREGATE_STAGE = "aggregate";
+
+    private static final double NANOS_IN_SECOND = 1e9;
+    private static final double BYTES_IN_MEGABYTE = 1024 * 1024;
+
+    private final LongAdder linesRead = new LongAdder();
+    private final LongAdder linesParsed = new LongAdder();
+    private final LongAdder linesRejected = new LongAdder();
+    private final LongAdder linesMalformed = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final Map<String, LongAdder> stageNanos = new LinkedHashMap<>();
+    private final Map<String, FileTiming> fileTimings = new LinkedHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong endNanos = new AtomicLong();
+
+    /**
+     * Учитывает строки, обработанные одним потоком
+     *
+     * @param lines Количество прочитанных строк
+     * @param parsed Количество строк, разобранных в сущность лога
+     * @param rejected Количество строк, отброшенных фильтрами в парсере или после разбора
+     * @param malformed Количество строк, не соответствующих формату лога
+     * @param bytes Количество байтов строк
+     */
+    void addLines(long lines, long parsed, long rejected, long malformed, long bytes) {
+        linesRead.add(lines);
+        linesParsed.add(parsed);
+        linesRejected.add(rejected);
+        linesMalformed.add(malformed);
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Учитывает время работы стадии обработки
+     *
+     * @param stage Имя стадии
+     * @param nanos Время работы в наносекундах
+     */
+    public void addStageNanos(String stage, long nanos) {
+        LongAdder adder;
+        synchronized (stageNanos) {
+            adder = stageNanos.computeIfAbsent(stage, name -> new LongAdder());
+        }
+        adder.add(nanos);
+    }
+
+    /**
+     * Учитывает время обработки файла или его части
+     *
+     * @param file Путь к файлу или URL
+     * @param bytes Количество обработанных байтов
+     * @param nanos Время обработки в наносекундах
+     */
+    public void addFileTiming(String file, long bytes, long nanos) {
+        synchronized (fileTimings) {
+            fileTimings.merge(file, new FileTiming(file, bytes, nanos), FileTiming::plus);
+        }
+    }
+
+    /**
+     * Отмечает завершение запуска, после которого время работы и скорость обработки не меняются
+     */
+    public void finish() {
+        endNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    /**
+     * Регистрирует метрики в платформенном сервере MBean под именем {@link #OBJECT_NAME},
+     * заменяя метрики предыдущего запуска
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            log.warn("Run metrics are not available over JMX: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Возвращает итоговую сводку запуска: по одной строке на счетчики строк, скорость обработки,
+     * время каждой стадии и время каждого файла
+     *
+     * @return Строки сводки
+     */
+    public List<String> summary() {
+        Map<String, Long> stageMillis = getStageMillis();
+        List<FileTiming> timings = fileTimings();
+        List<String> summary = new ArrayList<>(2 + stageMillis.size() + timings.size());
+        summary.add(String.format("Lines: read=%d, parsed=%d, rejected=%d, malformed=%d",
+            getLinesRead(), getLinesParsed(), getLinesRejected(), getLinesMalformed()));
+        summary.add(String.format("Throughput: %d ms, %.0f lines/s, %.1f MB/s",
+            getElapsedMillis(), getLinesPerSecond(), getBytesPerSecond() / BYTES_IN_MEGABYTE));
+        stageMillis.forEach((stage, millis) -> summary.add(String.format("Stage %s: %d ms", stage, millis)));
+        for (FileTiming timing : timings) {
+            summary.add(String.format("File %s: %d bytes, %d ms",
+                timing.file(), timing.bytes(), TimeUnit.NANOSECONDS.toMillis(timing.nanos())));
+        }
+        return summary;
+    }
+
+    /**
+     * Возвращает время обработки файлов в порядке начала их обработки
+     *
+     * @return Время обработки файлов
+     */
+    public List<FileTiming> fileTimings() {
+        synchronized (fileTimings) {
+            return List.copyOf(fileTimings.values());
+        }
+    }
+
+    @Override
+    public long getLinesRead() {
+        return linesRead.sum();
+    }
+
+    @Override
+    public long getLinesParsed() {
+        return linesParsed.sum();
+    }
+
+    @Override
+    public long getLinesRejected() {
+        return linesRejected.sum();
+    }
+
+    @Override
+    public long getLinesMalformed() {
+        return linesMalformed.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos());
+    }
+
+    @Override
+    public double getLinesPerSecond() {
+        return perSecond(getLinesRead());
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return perSecond(getBytesRead());
+    }
+
+    @Override
+    public Map<String, Long> getStageMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        synchronized (stageNanos) {
+            stageNanos.forEach((stage, nanos) -> millis.put(stage, TimeUnit.NANOSECONDS.toMillis(nanos.sum())));
+        }
+        return millis;
+    }
+
+    @Override
+    public Map<String, Long> getFileMillis() {
+        List<FileTiming> timings = fileTimings();
+        Map<String, Long> millis = LinkedHashMap.newLinkedHashMap(timings.size());
+        for (FileTiming timing : timings) {
+            millis.put(timing.file(), TimeUnit.NANOSECONDS.toMillis(timing.nanos()));
+        }
+        return millis;
+    }
+
+    /**
+     * Возвращает время работы с создания метрик и до завершения или до текущего момента
+     *
+     * @return Время работы в наносекундах
+     */
+    private long elapsedNanos() {
+        long end = endNanos.get();
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    /**
+     * Переводит количество за все время работы в количество за секунду
+     *
+     * @param count Количество
+     * @return Количество за секунду
+     */
+    private double perSecond(long count) {
+        long elapsed = elapsedNanos();
+        return elapsed == 0 ? 0 : count * NANOS_IN_SECOND / elapsed;
+    }
+}
@@ -0,0 +1,29 @@
+package backend.academy.analyser.metrics;
+
+import java.util.Map;
+
+/**
+ * Интерфейс JMX для наблюдения за обработкой логов во время работы программы
+ */
+public interface RunMetricsMXBean {
+
+    long getLinesRead();
+
+    long getLinesParsed();
+
+    long getLinesRejected();
+
+    long getLinesMalformed();
+
+    long getBytesRead();
+
+    long getElapsedMillis();
+
+    double getLinesPerSecond();
+
+    double getBytesPerSecond();
+
+    Map<String, Long> getStageMillis();
+
+    Map<String, Long> getFileMillis();
+}
@@ -0,0 +1,109 @@
+package backend.academy.analyser.metrics;
+
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.parser.LogLineParser;
+
+/**
+ * Метрики одного потока обработки, периодически переносимые в метрики запуска. Не потокобезопасен
+ */
+public final class WorkerMetrics {
+
+    private static final int FLUSH_INTERVAL = 65_536;
+
+    private final RunMetrics runMetrics;
+    private final LogLineParser logParser;
+    private long lines;
+    private long entities;
+    private long filtered;
+    private long bytes;
+    private long aggregateNanos;
+    private long flushedBytes;
+    private long flushedAggregateNanos;
+    private long flushedParserRejected;
+    private long fileStartBytes;
+    private long fileStartAggregateNanos;
+
+    public WorkerMetrics(RunMetrics runMetrics, LogLineParser logParser) {
+        this.runMetrics = runMetrics;
+        this.logParser = logParser;
+    }
+
+    /**
+     * Учитывает прочитанную строку и результат ее разбора. Размер строки считается по ее длине
+     * в символах с переводом строки
+     *
+     * @param line Строка лога без перевода строки
+     * @param nginxLogEntity Результат разбора строки
+     */
+    public void countLine(CharSequence line, NginxLogEntity nginxLogEntity) {
+        countLine(line.length(), nginxLogEntity);
+    }
+
+    /**
+     * Учитывает прочитанную строку заданного размера и результат ее разбора
+     *
+     * @param lineBytes Размер строки без перевода строки
+     * @param nginxLogEntity Результат разбора строки
+     */
+    public void countLine(long lineBytes, NginxLogEntity nginxLogEntity) {
+        bytes += lineBytes + 1;
+        if (nginxLogEntity != null) {
+            entities++;
+        }
+        if (++lines == FLUSH_INTERVAL) {
+            flush();
+        }
+    }
+
+    /**
+     * Учитывает разобранную строку, которую отбросил фильтр после разбора
+     */
+    public void countFiltered() {
+        filtered++;
+    }
+
+    /**
+     * Учитывает время, затраченное на учет пакета логов в статистике
+     *
+     * @param nanos Время в наносекундах
+     */
+    public void countAggregate(long nanos) {
+        aggregateNanos += nanos;
+    }
+
+    /**
+     * Учитывает время обработки файла или его части, начатой в заданный момент. Время разбора файла —
+     * это время его обработки без времени агрегации
+     *
+     * @param file Путь к файлу или URL
+     * @param startNanos Момент начала обработки
+     */
+    public void finishFile(String file, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        long totalBytes = flushedBytes + bytes;
+        long totalAggregateNanos = flushedAggregateNanos + aggregateNanos;
+        runMetrics.addFileTiming(file, totalBytes - fileStartBytes, elapsed);
+        runMetrics.addStageNanos(RunMetrics.PARSE_STAGE, elapsed - (totalAggregateNanos - fileStartAggregateNanos));
+        fileStartBytes = totalBytes;
+        fileStartAggregateNanos = totalAggregateNanos;
+    }
+
+    /**
+     * Переносит накопленные значения в общие метрики запуска
+     */
+    public void flush() {
+        long parserRejected = logParser.rejectedLines() - flushedParserRejected;
+        runMetrics.addLines(lines, entities, filtered + parserRejected, lines - entities - parserRejected, bytes);
+        if (aggregateNanos > 0) {
+            runMetrics.addStageNanos(RunMetrics.AGGREGATE_STAGE, aggregateNanos);
+        }
+        flushedParserRejected += parserRejected;
+        flushedBytes += bytes;
+        flushedAggregateNanos += aggregateNanos;
+        lines = 0;
+        entities = 0;
+        filtered = 0;
+        bytes = 0;
+        aggregateNanos = 0;
+    }
+}
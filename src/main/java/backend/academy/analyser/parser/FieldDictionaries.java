@@ -0,0 +1,123 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.StringDictionary;
+import backend.academy.analyser.filter.FieldPredicates;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
+
+/**
+ * Словари парсера для часто повторяющихся строковых полей лога. Не потокобезопасен
+ */
+final class FieldDictionaries {
+
+    static final int MAX_VALUES = 65_536;
+
+    private static final LogField[] ENCODED_FIELDS = {LogField.REMOTE_USER, LogField.REFERER, LogField.USER_AGENT};
+
+    private final Map<LogField, EncodedField> encodedFields = new EnumMap<>(LogField.class);
+    private final StringDictionary methods = new StringDictionary(MAX_VALUES);
+    private final StringDictionary protocols = new StringDictionary(MAX_VALUES);
+    private final Set<LogField> projection;
+    private final FieldPredicates fieldPredicates;
+
+    FieldDictionaries(Set<LogField> projection, FieldPredicates fieldPredicates) {
+        this.projection = projection;
+        this.fieldPredicates = fieldPredicates;
+        for (LogField field : ENCODED_FIELDS) {
+            if (projection.contains(field)) {
+                encodedFields.put(field, new EncodedField(fieldPredicates.stringPredicate(field)));
+            }
+        }
+    }
+
+    /**
+     * Декодирует строковое поле, если оно входит в проекцию. Значения полей со словарем берутся из словаря
+     *
+     * @param field Строковое поле лога
+     * @param line Строка лога
+     * @param from Начало поля включительно
+     * @param to Конец поля не включительно
+     * @return Значение поля или null, если поле не входит в проекцию
+     */
+    String decode(LogField field, CharSequence line, int from, int to) {
+        if (!projection.contains(field)) {
+            return null;
+        }
+        EncodedField encodedField = encodedFields.get(field);
+        int id = encodedField == null ? StringDictionary.NO_ID : encodedField.dictionary.id(line, from, to);
+        return id == StringDictionary.NO_ID
+            ? line.subSequence(from, to).toString()
+            : encodedField.dictionary.value(id);
+    }
+
+    /**
+     * Проверяет значение строкового поля. Для полей со словарем результат запоминается по номеру значения
+     *
+     * @param field Строковое поле лога
+     * @param value Значение поля
+     * @return Проходит ли значение проверку
+     */
+    boolean test(LogField field, String value) {
+        EncodedField encodedField = encodedFields.get(field);
+        return encodedField == null ? fieldPredicates.testString(field, value) : encodedField.test(value);
+    }
+
+    /**
+     * Парсит запрос, беря метод и протокол из словарей
+     *
+     * @param line Строка лога
+     * @param from Начало запроса включительно
+     * @param to Конец запроса не включительно
+     * @return Разобранный запрос
+     */
+    HttpRequest parseRequest(CharSequence line, int from, int to) {
+        return parseHttpRequest(line, from, to, methods, protocols);
+    }
+
+    /**
+     * Словарь одного поля с запомненными результатами проверки значений
+     */
+    private static final class EncodedField {
+
+        private static final byte UNKNOWN = 0;
+        private static final byte ACCEPTED = 1;
+        private static final byte REJECTED = 2;
+
+        private final StringDictionary dictionary = new StringDictionary(MAX_VALUES);
+        private final Predicate<String> predicate;
+        private byte[] results = new byte[0];
+
+        EncodedField(Predicate<String> predicate) {
+            this.predicate = predicate;
+        }
+
+        /**
+         * Проверяет значение поля, вычисляя проверку один раз на каждый номер значения
+         *
+         * @param value Значение поля
+         * @return Проходит ли значение проверку или true, если поле не проверяется
+         */
+        boolean test(String value) {
+            if (predicate == null) {
+                return true;
+            }
+            int id = value == null ? StringDictionary.NO_ID : dictionary.id(value);
+            if (id == StringDictionary.NO_ID) {
+                return predicate.test(value);
+            }
+            if (id >= results.length) {
+                results = Arrays.copyOf(results, Math.max(id + 1, results.length * 2));
+            }
+            if (results[id] == UNKNOWN) {
+                results[id] = predicate.test(value) ? ACCEPTED : REJECTED;
+            }
+            return results[id] == ACCEPTED;
+        }
+    }
+}
@@ -1,30 +1,162 @@
 package backend.academy.analyser.parser;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.StringDictionary;
 import lombok.experimental.UtilityClass;
 
 /**
- * Парсит часть лога, содержащую запрос в массив с запросом, разделенным на составляющие
+ * Парсит часть лога, содержащую запрос, на метод, путь и протокол за один проход
  */
 @UtilityClass
 public class HttpRequestParser {
 
-    private static final String REQUEST_REGEX = "(\\S+)\\s(\\S+)\\s(HTTP/\\d\\.\\d)";
-    private static final int HTTP_REQUEST_METHOD_GROUP = 1;
-    private static final int HTTP_REQUEST_PATH_GROUP = 2;
-    private static final int HTTP_REQUEST_PROTOCOL_GROUP = 3;
+    private static final int NOT_FOUND = -1;
+    private static final String PROTOCOL_PREFIX = "HTTP/";
+    private static final int PROTOCOL_LENGTH = PROTOCOL_PREFIX.length() + 3;
+    private static final String[] KNOWN_METHODS = {"GET", "POST", "HEAD", "PUT", "DELETE", "PATCH", "OPTIONS"};
+    private static final String[] KNOWN_PROTOCOLS = {"HTTP/1.1", "HTTP/1.0", "HTTP/2.0"};
 
-    public static String[] parseHttpRequest(String httpRequest) {
-        Pattern pattern = Pattern.compile(REQUEST_REGEX);
-        Matcher matcher = pattern.matcher(httpRequest);
+    /**
+     * Парсит строку запроса
+     *
+     * @param httpRequest Полный запрос
+     * @return Разобранный запрос или {@link HttpRequest#MALFORMED}, если запрос не соответствует формату
+     */
+    public static HttpRequest parseHttpRequest(CharSequence httpRequest) {
+        return parseHttpRequest(httpRequest, 0, httpRequest.length());
+    }
+
+    /**
+     * Парсит запрос, расположенный в заданном диапазоне строки лога, не выделяя его в отдельную строку.
+     * Запрос должен состоять из метода, пути и протокола вида HTTP/x.y, разделенных одним пробельным символом
+     *
+     * @param line Строка, содержащая запрос
+     * @param from Начало запроса включительно
+     * @param to Конец запроса не включительно
+     * @return Разобранный запрос или {@link HttpRequest#MALFORMED}, если запрос не соответствует формату
+     */
+    public static HttpRequest parseHttpRequest(CharSequence line, int from, int to) {
+        return parseHttpRequest(line, from, to, null, null);
+    }
+
+    /**
+     * Парсит запрос, расположенный в заданном диапазоне строки лога. Методы и протоколы, которых нет среди констант,
+     * ищутся в словарях, поэтому строка для них создается только при первом появлении значения
+     *
+     * @param line Строка, содержащая запрос
+     * @param from Начало запроса включительно
+     * @param to Конец запроса не включительно
+     * @param methods Словарь методов или null, если значения нужно копировать
+     * @param protocols Словарь протоколов или null, если значения нужно копировать
+     * @return Разобранный запрос или {@link HttpRequest#MALFORMED}, если запрос не соответствует формату
+     */
+    public static HttpRequest parseHttpRequest(
+        CharSequence line,
+        int from,
+        int to,
+        StringDictionary methods,
+        StringDictionary protocols
+    ) {
+        int methodEnd = indexOfWhitespace(line, from, to);
+        int pathStart = methodEnd + 1;
+        int pathEnd = methodEnd == NOT_FOUND ? NOT_FOUND : indexOfWhitespace(line, pathStart, to);
+        int protocolStart = pathEnd + 1;
+        if (methodEnd <= from || pathEnd <= pathStart || !isProtocol(line, protocolStart, to)) {
+            return HttpRequest.MALFORMED;
+        }
+        return new HttpRequest(
+            canonical(line, from, methodEnd, KNOWN_METHODS, methods),
+            line.subSequence(pathStart, pathEnd).toString(),
+            canonical(line, protocolStart, to, KNOWN_PROTOCOLS, protocols)
+        );
+    }
+
+    /**
+     * Ищет первый пробельный символ в заданном диапазоне строки
+     *
+     * @param line Строка, содержащая запрос
+     * @param from Начало диапазона включительно
+     * @param to Конец диапазона не включительно
+     * @return Позиция символа или -1, если символ не найден
+     */
+    private static int indexOfWhitespace(CharSequence line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.isWhitespace(line.charAt(i))) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
 
-        if (matcher.matches()) {
-            String method = matcher.group(HTTP_REQUEST_METHOD_GROUP);
-            String path = matcher.group(HTTP_REQUEST_PATH_GROUP);
-            String protocol = matcher.group(HTTP_REQUEST_PROTOCOL_GROUP);
-            return new String[] {method, path, protocol};
+    /**
+     * Проверяет, что диапазон строки содержит протокол вида HTTP/x.y
+     *
+     * @param line Строка, содержащая запрос
+     * @param from Начало протокола включительно
+     * @param to Конец протокола не включительно
+     * @return Результат проверки
+     */
+    private static boolean isProtocol(CharSequence line, int from, int to) {
+        if (to - from != PROTOCOL_LENGTH || !regionEquals(line, from, PROTOCOL_PREFIX)) {
+            return false;
         }
-        return new String[0];
+        int versionStart = from + PROTOCOL_PREFIX.length();
+        return isDigit(line.charAt(versionStart))
+            && line.charAt(versionStart + 1) == '.'
+            && isDigit(line.charAt(versionStart + 2));
+    }
+
+    /**
+     * Возвращает константу из списка известных значений, совпадающую с диапазоном строки,
+     * затем значение из словаря и только после этого копию диапазона
+     *
+     * @param line Строка, содержащая запрос
+     * @param from Начало диапазона включительно
+     * @param to Конец диапазона не включительно
+     * @param knownValues Известные значения
+     * @param dictionary Словарь встреченных значений или null
+     * @return Значение диапазона
+     */
+    private static String canonical(
+        CharSequence line,
+        int from,
+        int to,
+        String[] knownValues,
+        StringDictionary dictionary
+    ) {
+        for (String knownValue : knownValues) {
+            if (knownValue.length() == to - from && regionEquals(line, from, knownValue)) {
+                return knownValue;
+            }
+        }
+        int id = dictionary == null ? StringDictionary.NO_ID : dictionary.id(line, from, to);
+        return id == StringDictionary.NO_ID ? line.subSequence(from, to).toString() : dictionary.value(id);
+    }
+
+    /**
+     * Проверяет, начинается ли строка с заданной позиции с указанного значения
+     *
+     * @param line Строка, содержащая запрос
+     * @param offset Позиция начала сравнения
+     * @param value Значение
+     * @return Результат сравнения
+     */
+    private static boolean regionEquals(CharSequence line, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (line.charAt(offset + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет, является ли символ цифрой ASCII
+     *
+     * @param ch Проверяемый символ
+     * @return Результат проверки
+     */
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
     }
 }
@@ -0,0 +1,24 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.NginxLogEntity;
+
+/**
+ * Интерфейс, который реализуют парсеры строки лога в экземпляр NginxLogEntity
+ */
+public interface LogLineParser {
+
+    /**
+     * Парсит строку лога в сущность лога
+     *
+     * @param logLine Текущая строка лога
+     * @return Сущность лога или null, если строка не соответствует формату
+     */
+    NginxLogEntity parse(CharSequence logLine);
+
+    /**
+     * Возвращает количество строк, отброшенных проверками полей во время разбора, до создания сущности лога
+     *
+     * @return Количество отброшенных строк
+     */
+    long rejectedLines();
+}
@@ -1,21 +1,22 @@
 package backend.academy.analyser.parser;
 
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.LogTime;
 import backend.academy.analyser.NginxLogEntity;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Locale;
+import backend.academy.analyser.filter.FieldPredicates;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import lombok.extern.slf4j.Slf4j;
 
 /**
- * Класс для парсинга строки лога в экземпляр NginxLogEntity
+ * Класс для парсинга строки лога в экземпляр NginxLogEntity с помощью регулярного выражения
  */
-@Slf4j
-public class LogParser {
+public class LogParser implements LogLineParser {
 
-    DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.US);
+    private static final Pattern PARSE_PATTERN =
+        Pattern.compile("(\\S+) - (\\S+) \\[(.+?)] \"(.+?)\" (\\d{3}) (\\d+) \"(.+?)\" \"(.+?)\"");
 
     private static final int REMOTE_ADDRESS_GROUP = 1;
     private static final int REMOTE_USER_GROUP = 2;
@@ -25,62 +26,146 @@ public class LogParser {
     private static final int BYTES_GROUP = 6;
     private static final int HTTP_REFERER_GROUP = 7;
     private static final int HTTP_USER_AGENT_GROUP = 8;
+    private static final int NOT_A_NUMBER = -1;
+
+    private final TimeLocalParser timeLocalParser = new TimeLocalParser();
+    private final Set<LogField> projection;
+    private final FieldPredicates fieldPredicates;
+    private final FieldDictionaries fieldDictionaries;
+    private long rejectedLines;
+
+    public LogParser() {
+        this(EnumSet.allOf(LogField.class));
+    }
+
+    public LogParser(Set<LogField> projection) {
+        this(projection, new FieldPredicates());
+    }
+
+    public LogParser(Set<LogField> projection, FieldPredicates fieldPredicates) {
+        this.fieldPredicates = fieldPredicates;
+        this.projection = EnumSet.noneOf(LogField.class);
+        this.projection.addAll(projection);
+        this.projection.addAll(fieldPredicates.fields());
+        this.fieldDictionaries = new FieldDictionaries(this.projection, fieldPredicates);
+    }
 
     /**
      * Парсит строку лога в сущность лога
      *
      * @param logLine Текущая строка лога
-     * @return Сущность лога
+     * @return Сущность лога или null, если строка не соответствует формату или не прошла проверку полей
      */
-    public NginxLogEntity parse(String logLine) {
-        String regex = "(\\S+) - (\\S+) \\[(.+?)] \"(.+?)\" (\\d{3}) (\\d+) \"(.+?)\" \"(.+?)\"";
-
-        Pattern parsePattern = Pattern.compile(regex);
-        Matcher matcher = parsePattern.matcher(logLine);
+    @Override
+    public NginxLogEntity parse(CharSequence logLine) {
+        Matcher matcher = PARSE_PATTERN.matcher(logLine);
 
         if (matcher.matches()) {
-            return createNginxLogEntity(matcher);
+            return createNginxLogEntity(logLine, matcher);
         }
         return null;
     }
 
+    @Override
+    public long rejectedLines() {
+        return rejectedLines;
+    }
+
     /**
-     * Заполняет поля для создаваемого экземпляра лога
+     * Заполняет поля для создаваемого экземпляра лога. Строка с нераспознанным временем или числом,
+     * не помещающимся в int, считается некорректной до проверки полей. Числовые поля проверяются первыми,
+     * строковые поля извлекаются только после того, как строка прошла проверку остальных полей
      *
+     * @param logLine Текущая строка лога
      * @param matcher Шаблон парсинга
-     * @return Экземпляр лога
+     * @return Экземпляр лога или null, если время или число некорректно или строка не прошла проверку полей
      */
-    private NginxLogEntity createNginxLogEntity(Matcher matcher) {
-
-        String remoteAddr = matcher.group(REMOTE_ADDRESS_GROUP);
-        String remoteUser = matcher.group(REMOTE_USER_GROUP);
-        LocalDateTime timeLocal = parseLocalDateTime(matcher.group(TIME_GROUP));
-        String request = matcher.group(REQUEST_GROUP);
-        int status = Integer.parseInt(matcher.group(STATUS_GROUP));
-        int bodyBytesSent = Integer.parseInt(matcher.group(BYTES_GROUP));
-        String httpReferer = matcher.group(HTTP_REFERER_GROUP);
-        String httpUserAgent = matcher.group(HTTP_USER_AGENT_GROUP);
-
-        return new NginxLogEntity(remoteAddr,
+    private NginxLogEntity createNginxLogEntity(CharSequence logLine, Matcher matcher) {
+
+        int status = parseNumber(matcher.group(STATUS_GROUP));
+        int bodyBytesSent = parseNumber(matcher.group(BYTES_GROUP));
+        boolean timeProjected = projection.contains(LogField.TIME);
+        LogTime time = timeProjected
+            ? timeLocalParser.parse(logLine, matcher.start(TIME_GROUP), matcher.end(TIME_GROUP)) : null;
+        if (status == NOT_A_NUMBER || bodyBytesSent == NOT_A_NUMBER || timeProjected && time == null
+            || !accepts(fieldPredicates.testInt(LogField.STATUS, status)
+            && fieldPredicates.testInt(LogField.BYTES, bodyBytesSent))) {
+            return null;
+        }
+        HttpRequest request = projection.contains(LogField.REQUEST)
+            ? fieldDictionaries.parseRequest(logLine, matcher.start(REQUEST_GROUP), matcher.end(REQUEST_GROUP)) : null;
+        if (!accepts(fieldPredicates.testTime(time) && fieldPredicates.testRequest(request))) {
+            return null;
+        }
+        String remoteAddr = group(LogField.REMOTE_ADDR, logLine, matcher, REMOTE_ADDRESS_GROUP);
+        String remoteUser = group(LogField.REMOTE_USER, logLine, matcher, REMOTE_USER_GROUP);
+        String httpReferer = group(LogField.REFERER, logLine, matcher, HTTP_REFERER_GROUP);
+        String httpUserAgent = group(LogField.USER_AGENT, logLine, matcher, HTTP_USER_AGENT_GROUP);
+
+        return accepts(acceptsStrings(remoteAddr, remoteUser, httpReferer, httpUserAgent))
+            ? new NginxLogEntity(remoteAddr,
             remoteUser,
-            timeLocal, request,
+            time, request,
             status, bodyBytesSent,
             httpReferer,
-            httpUserAgent);
+            httpUserAgent)
+            : null;
     }
 
     /**
-     * Парсит время в логе в LocalDateTime
+     * Переводит последовательность цифр в число, как однопроходный парсер
      *
-     * @param logTime Время в текущем логе
-     * @return Время в LocalDateTime
+     * @param digits Цифры поля
+     * @return Число или -1, если число не помещается в int
      */
-    private LocalDateTime parseLocalDateTime(String logTime) {
+    private static int parseNumber(String digits) {
         try {
-            return LocalDateTime.parse(logTime, dateTimeFormatter);
-        } catch (DateTimeParseException e) {
-            log.warn("Error parsing log line: {}", logTime);
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return NOT_A_NUMBER;
         }
-        return null;
+    }
+
+    /**
+     * Проверяет строковые поля лога
+     *
+     * @param remoteAddr Адрес клиента
+     * @param remoteUser Имя пользователя
+     * @param httpReferer URL страницы, с которой совершен переход
+     * @param httpUserAgent Строка user-agent
+     * @return Проходят ли поля проверки
+     */
+    private boolean acceptsStrings(String remoteAddr, String remoteUser, String httpReferer, String httpUserAgent) {
+        return fieldDictionaries.test(LogField.REMOTE_ADDR, remoteAddr)
+            && fieldDictionaries.test(LogField.REMOTE_USER, remoteUser)
+            && fieldDictionaries.test(LogField.REFERER, httpReferer)
+            && fieldDictionaries.test(LogField.USER_AGENT, httpUserAgent);
+    }
+
+    /**
+     * Учитывает строку, не прошедшую проверку полей
+     *
+     * @param accepted Результат проверки полей
+     * @return Результат проверки полей
+     */
+    private boolean accepts(boolean accepted) {
+        if (!accepted) {
+            rejectedLines++;
+        }
+        return accepted;
+    }
+
+    /**
+     * Извлекает группу шаблона, если поле входит в проекцию. Повторяющиеся значения берутся из словаря
+     * по границам группы без вызова {@link Matcher#group(int)}
+     *
+     * @param field Поле лога
+     * @param logLine Текущая строка лога
+     * @param matcher Шаблон парсинга
+     * @param group Номер группы
+     * @return Значение поля или null, если поле не входит в проекцию
+     */
+    private String group(LogField field, CharSequence logLine, Matcher matcher, int group) {
+        return fieldDictionaries.decode(field, logLine, matcher.start(group), matcher.end(group));
     }
 }
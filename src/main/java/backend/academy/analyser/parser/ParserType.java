@@ -0,0 +1,72 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.filter.FieldPredicates;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiFunction;
+import lombok.Getter;
+
+/**
+ * Enum доступных парсеров строки лога
+ */
+public enum ParserType {
+    SINGLE_PASS("single-pass", SinglePassLogParser::new),
+    REGEX("regex", LogParser::new);
+
+    @Getter
+    private final String optionName;
+    private final BiFunction<Set<LogField>, FieldPredicates, LogLineParser> parserFactory;
+
+    ParserType(String optionName, BiFunction<Set<LogField>, FieldPredicates, LogLineParser> parserFactory) {
+        this.optionName = optionName;
+        this.parserFactory = parserFactory;
+    }
+
+    /**
+     * Создает новый экземпляр парсера выбранного типа, декодирующий все поля лога
+     *
+     * @return Парсер строки лога
+     */
+    public LogLineParser create() {
+        return create(EnumSet.allOf(LogField.class));
+    }
+
+    /**
+     * Создает новый экземпляр парсера выбранного типа, декодирующий только поля проекции.
+     * Остальные поля сущности лога остаются null
+     *
+     * @param projection Поля, которые нужно декодировать
+     * @return Парсер строки лога
+     */
+    public LogLineParser create(Set<LogField> projection) {
+        return create(projection, new FieldPredicates());
+    }
+
+    /**
+     * Создает новый экземпляр парсера выбранного типа, декодирующий поля проекции и поля, которые читают проверки.
+     * Строка, не прошедшая проверку поля, отбрасывается сразу после декодирования этого поля
+     *
+     * @param projection Поля, которые нужно декодировать
+     * @param fieldPredicates Проверки отдельных полей, выполняемые во время разбора
+     * @return Парсер строки лога
+     */
+    public LogLineParser create(Set<LogField> projection, FieldPredicates fieldPredicates) {
+        return parserFactory.apply(projection, fieldPredicates);
+    }
+
+    /**
+     * Ищет тип парсера по его имени
+     *
+     * @param optionName Имя парсера, переданное пользователем
+     * @return Тип парсера или null, если парсер с таким именем не найден
+     */
+    public static ParserType fromOptionName(String optionName) {
+        for (ParserType parserType : values()) {
+            if (parserType.optionName.equals(optionName)) {
+                return parserType;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,271 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.LogTime;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.filter.FieldPredicates;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Парсер строки лога в экземпляр NginxLogEntity за один проход без регулярных выражений
+ */
+public class SinglePassLogParser implements LogLineParser {
+
+    private static final int NOT_FOUND = -1;
+    private static final LogTime MALFORMED_TIME = new LogTime(Long.MIN_VALUE, 0);
+    private static final int STATUS_LENGTH = 3;
+    private static final int RADIX = 10;
+
+    private static final String ADDRESS_DELIMITER = " - ";
+    private static final String TIME_OPEN_DELIMITER = " [";
+    private static final String TIME_CLOSE_DELIMITER = "] \"";
+    private static final String REQUEST_CLOSE_DELIMITER = "\" ";
+    private static final String OPEN_QUOTE_DELIMITER = " \"";
+    private static final String QUOTED_FIELDS_DELIMITER = "\" \"";
+
+    private final TimeLocalParser timeLocalParser = new TimeLocalParser();
+    private final Set<LogField> projection;
+    private final FieldPredicates fieldPredicates;
+    private final FieldDictionaries fieldDictionaries;
+    private long rejectedLines;
+
+    public SinglePassLogParser() {
+        this(EnumSet.allOf(LogField.class));
+    }
+
+    public SinglePassLogParser(Set<LogField> projection) {
+        this(projection, new FieldPredicates());
+    }
+
+    public SinglePassLogParser(Set<LogField> projection, FieldPredicates fieldPredicates) {
+        this.fieldPredicates = fieldPredicates;
+        this.projection = EnumSet.noneOf(LogField.class);
+        this.projection.addAll(projection);
+        this.projection.addAll(fieldPredicates.fields());
+        this.fieldDictionaries = new FieldDictionaries(this.projection, fieldPredicates);
+    }
+
+    /**
+     * Парсит строку лога в сущность лога. Код статуса и размер ответа проверяются сразу после чтения
+     * и декодирования времени, остальные поля проверяются по мере декодирования, до поиска полей referer
+     * и user-agent. Строка с нераспознанным временем считается некорректной, а не отброшенной фильтром
+     *
+     * @param logLine Текущая строка лога
+     * @return Сущность лога или null, если строка не соответствует формату или не прошла проверку полей
+     */
+    @Override
+    public NginxLogEntity parse(CharSequence logLine) {
+        int length = logLine.length();
+
+        int addressEnd = indexOf(logLine, ' ', 0, length);
+        int userStart = skipDelimiter(logLine, 0, addressEnd, ADDRESS_DELIMITER);
+        int userEnd = indexOf(logLine, ' ', userStart, length);
+        int timeStart = skipDelimiter(logLine, userStart, userEnd, TIME_OPEN_DELIMITER);
+        int timeEnd = indexOf(logLine, ']', timeStart, length);
+        int requestStart = skipDelimiter(logLine, timeStart, timeEnd, TIME_CLOSE_DELIMITER);
+        int requestEnd = indexOf(logLine, '"', requestStart, length);
+        int statusStart = skipDelimiter(logLine, requestStart, requestEnd, REQUEST_CLOSE_DELIMITER);
+        int statusEnd = statusStart == NOT_FOUND ? NOT_FOUND : statusStart + STATUS_LENGTH;
+        int bytesStart = skipDelimiter(logLine, statusStart, statusEnd, " ");
+        int bytesEnd = indexOf(logLine, ' ', bytesStart, length);
+        int refererStart = skipDelimiter(logLine, bytesStart, bytesEnd, OPEN_QUOTE_DELIMITER);
+
+        int status = parseNumber(logLine, statusStart, statusEnd);
+        int bodyBytesSent = parseNumber(logLine, bytesStart, bytesEnd);
+        LogTime time = refererStart == NOT_FOUND || status == NOT_FOUND || bodyBytesSent == NOT_FOUND
+            ? MALFORMED_TIME : decodeTime(logLine, timeStart, timeEnd);
+        if (time == MALFORMED_TIME || !accepts(acceptsNumbers(status, bodyBytesSent))) {
+            return null;
+        }
+
+        String remoteAddr = fieldDictionaries.decode(LogField.REMOTE_ADDR, logLine, 0, addressEnd);
+        String remoteUser = fieldDictionaries.decode(LogField.REMOTE_USER, logLine, userStart, userEnd);
+        HttpRequest request = projection.contains(LogField.REQUEST)
+            ? fieldDictionaries.parseRequest(logLine, requestStart, requestEnd) : null;
+        if (!accepts(acceptsPrefix(time, remoteAddr, remoteUser, request))) {
+            return null;
+        }
+
+        int refererEnd = indexOfQuotedFieldsDelimiter(logLine, refererStart, length);
+        int userAgentStart = skipDelimiter(logLine, refererStart, refererEnd, QUOTED_FIELDS_DELIMITER);
+        int userAgentEnd = length - 1;
+        if (userAgentStart == NOT_FOUND || userAgentEnd <= userAgentStart || logLine.charAt(userAgentEnd) != '"') {
+            return null;
+        }
+
+        String httpReferer = fieldDictionaries.decode(LogField.REFERER, logLine, refererStart, refererEnd);
+        String httpUserAgent = fieldDictionaries.decode(LogField.USER_AGENT, logLine, userAgentStart, userAgentEnd);
+        return accepts(fieldDictionaries.test(LogField.REFERER, httpReferer)
+            && fieldDictionaries.test(LogField.USER_AGENT, httpUserAgent))
+            ? new NginxLogEntity(remoteAddr, remoteUser, time, request, status, bodyBytesSent,
+            httpReferer, httpUserAgent)
+            : null;
+    }
+
+    @Override
+    public long rejectedLines() {
+        return rejectedLines;
+    }
+
+    /**
+     * Декодирует время лога, если оно входит в проекцию
+     *
+     * @param line Строка лога
+     * @param from Начало времени
+     * @param to Конец времени
+     * @return Время лога, null, если время не декодируется, или признак некорректного времени
+     */
+    private LogTime decodeTime(CharSequence line, int from, int to) {
+        if (!projection.contains(LogField.TIME)) {
+            return null;
+        }
+        LogTime time = timeLocalParser.parse(line, from, to);
+        return time == null ? MALFORMED_TIME : time;
+    }
+
+    /**
+     * Проверяет код статуса и размер ответа
+     *
+     * @param status Код статуса
+     * @param bodyBytesSent Размер ответа
+     * @return Проходят ли поля проверки
+     */
+    private boolean acceptsNumbers(int status, int bodyBytesSent) {
+        return fieldPredicates.testInt(LogField.STATUS, status)
+            && fieldPredicates.testInt(LogField.BYTES, bodyBytesSent);
+    }
+
+    /**
+     * Проверяет поля, расположенные в строке до поля referer
+     *
+     * @param time Время лога
+     * @param remoteAddr Адрес клиента
+     * @param remoteUser Имя пользователя
+     * @param request Запрос
+     * @return Проходят ли поля проверки
+     */
+    private boolean acceptsPrefix(LogTime time, String remoteAddr, String remoteUser, HttpRequest request) {
+        return fieldPredicates.testTime(time)
+            && fieldDictionaries.test(LogField.REMOTE_ADDR, remoteAddr)
+            && fieldDictionaries.test(LogField.REMOTE_USER, remoteUser)
+            && fieldPredicates.testRequest(request);
+    }
+
+    /**
+     * Учитывает строку, не прошедшую проверку полей
+     *
+     * @param accepted Результат проверки полей
+     * @return Результат проверки полей
+     */
+    private boolean accepts(boolean accepted) {
+        if (!accepted) {
+            rejectedLines++;
+        }
+        return accepted;
+    }
+
+    /**
+     * Проверяет, что поле не пустое и за ним следует ожидаемый разделитель
+     *
+     * @param line Строка лога
+     * @param fieldStart Начало поля
+     * @param fieldEnd Конец поля, с которого начинается разделитель
+     * @param delimiter Ожидаемый разделитель
+     * @return Позиция начала следующего поля или -1, если строка не соответствует формату
+     */
+    private static int skipDelimiter(CharSequence line, int fieldStart, int fieldEnd, String delimiter) {
+        if (fieldStart == NOT_FOUND || fieldEnd <= fieldStart || !startsWith(line, fieldEnd, delimiter)) {
+            return NOT_FOUND;
+        }
+        return fieldEnd + delimiter.length();
+    }
+
+    /**
+     * Ищет первое вхождение символа в заданном диапазоне строки
+     *
+     * @param line Строка лога
+     * @param ch Искомый символ
+     * @param from Начало диапазона включительно
+     * @param to Конец диапазона не включительно
+     * @return Позиция символа или -1, если символ не найден или начало диапазона не определено
+     */
+    private static int indexOf(CharSequence line, char ch, int from, int to) {
+        if (from == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        if (line instanceof String string) {
+            int index = string.indexOf(ch, from);
+            return index < to ? index : NOT_FOUND;
+        }
+        for (int i = from; i < to; i++) {
+            if (line.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Ищет конец поля в кавычках, за которым следует следующее поле в кавычках
+     *
+     * @param line Строка лога
+     * @param from Начало поля
+     * @param to Конец строки
+     * @return Позиция закрывающей кавычки или -1, если разделитель не найден
+     */
+    private static int indexOfQuotedFieldsDelimiter(CharSequence line, int from, int to) {
+        int quote = indexOf(line, '"', from, to);
+        while (quote != NOT_FOUND && !startsWith(line, quote, QUOTED_FIELDS_DELIMITER)) {
+            quote = indexOf(line, '"', quote + 1, to);
+        }
+        return quote;
+    }
+
+    /**
+     * Проверяет, начинается ли строка с заданной позиции с указанного разделителя
+     *
+     * @param line Строка лога
+     * @param offset Позиция начала сравнения
+     * @param delimiter Разделитель
+     * @return Результат сравнения
+     */
+    private static boolean startsWith(CharSequence line, int offset, String delimiter) {
+        if (offset < 0 || offset + delimiter.length() > line.length()) {
+            return false;
+        }
+        for (int i = 0; i < delimiter.length(); i++) {
+            if (line.charAt(offset + i) != delimiter.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Читает неотрицательное число из цифр в заданном диапазоне
+     *
+     * @param line Строка лога
+     * @param from Начало числа включительно
+     * @param to Конец числа не включительно
+     * @return Число или -1, если диапазон пуст, содержит не цифры или число не помещается в int
+     */
+    private static int parseNumber(CharSequence line, int from, int to) {
+        if (from == NOT_FOUND || to <= from) {
+            return NOT_FOUND;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char ch = line.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return NOT_FOUND;
+            }
+            value = value * RADIX + (ch - '0');
+            if (value > Integer.MAX_VALUE) {
+                return NOT_FOUND;
+            }
+        }
+        return (int) value;
+    }
+}
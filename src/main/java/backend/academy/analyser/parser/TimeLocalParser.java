@@ -0,0 +1,250 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.LogTime;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Парсер поля time_local nginx лога, запоминающий последнюю разобранную минуту. Не потокобезопасен
+ */
+@Slf4j
+final class TimeLocalParser {
+
+    private static final String[] MONTHS =
+        {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final int TIME_LENGTH = "dd/MMM/yyyy:HH:mm:ss +hhmm".length();
+    private static final int DAY = 0;
+    private static final int MONTH = 3;
+    private static final int YEAR = 7;
+    private static final int HOUR = 12;
+    private static final int MINUTE = 15;
+    private static final int SECOND = 18;
+    private static final int OFFSET_SIGN = 21;
+    private static final int OFFSET_MINUTES = 24;
+    private static final int MINUTE_PREFIX_LENGTH = SECOND - 1;
+    private static final int MONTH_LENGTH = 3;
+    private static final int YEAR_DIGITS = 4;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = MINUTES_PER_HOUR * SECONDS_PER_MINUTE;
+    private static final int MAX_OFFSET_SECONDS = 18 * SECONDS_PER_HOUR;
+    private static final long SECONDS_PER_DAY = (long) HOURS_PER_DAY * SECONDS_PER_HOUR;
+    private static final int RADIX = 10;
+    private static final int INVALID = -1;
+    private static final int INVALID_OFFSET = Integer.MIN_VALUE;
+    private static final long INVALID_MINUTE = Long.MIN_VALUE;
+
+    private final char[] cachedTime = new char[TIME_LENGTH];
+    private boolean hasCachedMinute;
+    private long cachedMinuteEpochSecond;
+    private int cachedOffsetSeconds;
+
+    /**
+     * Парсит время в логе
+     *
+     * @param logTime Время в текущем логе
+     * @return Время лога или null, если время записано некорректно
+     */
+    LogTime parse(CharSequence logTime) {
+        return parse(logTime, 0, logTime.length());
+    }
+
+    /**
+     * Парсит время, расположенное в заданном диапазоне строки лога, не выделяя его в отдельную строку
+     *
+     * @param line Строка, содержащая время
+     * @param from Начало времени включительно
+     * @param to Конец времени не включительно
+     * @return Время лога или null, если время записано некорректно
+     */
+    LogTime parse(CharSequence line, int from, int to) {
+        if (to - from != TIME_LENGTH) {
+            return invalid(line, from, to);
+        }
+        int second = parseTwoDigits(line, from + SECOND);
+        if (second == INVALID || second >= SECONDS_PER_MINUTE || line.charAt(from + SECOND - 1) != ':') {
+            return invalid(line, from, to);
+        }
+        if (!isCachedMinute(line, from) && !decodeMinute(line, from)) {
+            return invalid(line, from, to);
+        }
+        return new LogTime(cachedMinuteEpochSecond + second, cachedOffsetSeconds);
+    }
+
+    /**
+     * Проверяет, совпадают ли минута и смещение времени с последними разобранными
+     *
+     * @param line Строка, содержащая время
+     * @param from Начало времени
+     * @return Результат проверки
+     */
+    private boolean isCachedMinute(CharSequence line, int from) {
+        if (!hasCachedMinute) {
+            return false;
+        }
+        for (int i = 0; i < MINUTE_PREFIX_LENGTH; i++) {
+            if (line.charAt(from + i) != cachedTime[i]) {
+                return false;
+            }
+        }
+        for (int i = SECOND + 2; i < TIME_LENGTH; i++) {
+            if (line.charAt(from + i) != cachedTime[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Разбирает дату, час, минуту и смещение времени и запоминает их для следующих строк
+     *
+     * @param line Строка, содержащая время
+     * @param from Начало времени
+     * @return Удалось ли разобрать время
+     */
+    private boolean decodeMinute(CharSequence line, int from) {
+        hasCachedMinute = false;
+        int offsetSeconds = parseOffset(line, from + OFFSET_SIGN);
+        long localMinuteEpochSecond = parseLocalMinute(line, from);
+        if (offsetSeconds == INVALID_OFFSET || localMinuteEpochSecond == INVALID_MINUTE) {
+            return false;
+        }
+        cachedOffsetSeconds = offsetSeconds;
+        cachedMinuteEpochSecond = localMinuteEpochSecond - offsetSeconds;
+        for (int i = 0; i < TIME_LENGTH; i++) {
+            cachedTime[i] = line.charAt(from + i);
+        }
+        hasCachedMinute = true;
+        return true;
+    }
+
+    /**
+     * Разбирает дату, час и минуту местного времени
+     *
+     * @param line Строка, содержащая время
+     * @param from Начало времени
+     * @return Местное время начала минуты в секундах, как если бы оно было записано в UTC,
+     *     или {@link Long#MIN_VALUE}, если время записано некорректно
+     */
+    private static long parseLocalMinute(CharSequence line, int from) {
+        int day = parseTwoDigits(line, from + DAY);
+        int month = parseMonth(line, from + MONTH);
+        int year = parseDigits(line, from + YEAR, YEAR_DIGITS);
+        int hour = parseTwoDigits(line, from + HOUR);
+        int minute = parseTwoDigits(line, from + MINUTE);
+        if (day == INVALID || month == INVALID || year == INVALID || hour == INVALID || hour >= HOURS_PER_DAY
+            || minute == INVALID || minute >= MINUTES_PER_HOUR || !hasSeparators(line, from)) {
+            return INVALID_MINUTE;
+        }
+        try {
+            return LocalDate.of(year, month, day).toEpochDay() * SECONDS_PER_DAY
+                + hour * SECONDS_PER_HOUR + minute * SECONDS_PER_MINUTE;
+        } catch (DateTimeException e) {
+            return INVALID_MINUTE;
+        }
+    }
+
+    /**
+     * Разбирает смещение часового пояса вида +hhmm или -hhmm в пределах ±18:00
+     *
+     * @param line Строка, содержащая время
+     * @param offset Начало смещения
+     * @return Смещение в секундах или {@link Integer#MIN_VALUE}, если смещение записано некорректно
+     */
+    private static int parseOffset(CharSequence line, int offset) {
+        char sign = line.charAt(offset);
+        int hours = parseTwoDigits(line, offset + 1);
+        int minutes = parseTwoDigits(line, offset + OFFSET_MINUTES - OFFSET_SIGN);
+        if ((sign != '+' && sign != '-') || hours == INVALID || minutes == INVALID || minutes >= MINUTES_PER_HOUR) {
+            return INVALID_OFFSET;
+        }
+        int offsetSeconds = hours * SECONDS_PER_HOUR + minutes * SECONDS_PER_MINUTE;
+        if (offsetSeconds > MAX_OFFSET_SECONDS) {
+            return INVALID_OFFSET;
+        }
+        return sign == '-' ? -offsetSeconds : offsetSeconds;
+    }
+
+    /**
+     * Проверяет разделители между частями времени
+     *
+     * @param line Строка, содержащая время
+     * @param from Начало времени
+     * @return Результат проверки
+     */
+    private static boolean hasSeparators(CharSequence line, int from) {
+        return line.charAt(from + MONTH - 1) == '/'
+            && line.charAt(from + YEAR - 1) == '/'
+            && line.charAt(from + HOUR - 1) == ':'
+            && line.charAt(from + MINUTE - 1) == ':'
+            && line.charAt(from + OFFSET_SIGN - 1) == ' ';
+    }
+
+    /**
+     * Читает трехбуквенное английское название месяца
+     *
+     * @param line Строка, содержащая время
+     * @param offset Начало названия месяца
+     * @return Номер месяца от 1 до 12 или -1, если название не распознано
+     */
+    private static int parseMonth(CharSequence line, int offset) {
+        for (int month = 0; month < MONTHS.length; month++) {
+            String name = MONTHS[month];
+            if (line.charAt(offset) == name.charAt(0)
+                && line.charAt(offset + 1) == name.charAt(1)
+                && line.charAt(offset + 2) == name.charAt(MONTH_LENGTH - 1)) {
+                return month + 1;
+            }
+        }
+        return INVALID;
+    }
+
+    /**
+     * Читает число из двух цифр
+     *
+     * @param line Строка, содержащая время
+     * @param offset Начало числа
+     * @return Число или -1, если встречен не цифровой символ
+     */
+    private static int parseTwoDigits(CharSequence line, int offset) {
+        return parseDigits(line, offset, 2);
+    }
+
+    /**
+     * Читает число из заданного количества цифр
+     *
+     * @param line Строка, содержащая время
+     * @param offset Начало числа
+     * @param digits Количество цифр
+     * @return Число или -1, если встречен не цифровой символ
+     */
+    private static int parseDigits(CharSequence line, int offset, int digits) {
+        int value = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            char ch = line.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return INVALID;
+            }
+            value = value * RADIX + (ch - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Сообщает о некорректном времени в логе на уровне debug: такие строки учитываются как некорректные
+     * в метриках запуска, и на каждую из них не пишется предупреждение
+     *
+     * @param line Строка, содержащая время
+     * @param from Начало времени
+     * @param to Конец времени
+     * @return Всегда null
+     */
+    private static LogTime invalid(CharSequence line, int from, int to) {
+        if (log.isDebugEnabled()) {
+            log.debug("Error parsing log time: {}", line.subSequence(from, to));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package backend.academy.analyser.reader;
+
+import java.nio.file.Path;
+
+/**
+ * Диапазон байтов файла с логами, границы которого совпадают с границами строк
+ *
+ * @param path Путь к файлу
+ * @param from Начало диапазона включительно
+ * @param to   Конец диапазона не включительно
+ */
+public record FileRange(Path path, long from, long to) {
+}
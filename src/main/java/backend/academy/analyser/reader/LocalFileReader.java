@@ -1,7 +1,10 @@
 package backend.academy.analyser.reader;
 
-import backend.academy.analyser.LogsFilter;
-import backend.academy.analyser.parser.LogParser;
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.metrics.WorkerMetrics;
+import backend.academy.analyser.parser.LogLineParser;
 import backend.academy.analyser.stats.StatsHandler;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.BufferedReader;
@@ -11,7 +14,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,24 +33,41 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class LocalFileReader implements LogFileReader {
 
-    private final LogParser logParser;
+    private static final String ERROR_READING_FILE = "Error reading file: {}";
+    private static final String INTERRUPTED_MESSAGE = "File processing was interrupted";
+
+    private final Supplier<LogLineParser> parserSupplier;
     private final StatsHandler statsHandler;
-    private final LocalDateTime fromDateTime;
-    private final LocalDateTime toDateTime;
-    private final LogsFilter logsFilter;
+    private final Predicate<NginxLogEntity> logsPredicate;
+    private final LocalReadOptions options;
+    private final RunMetrics runMetrics;
+
+    public LocalFileReader(
+        StatsHandler statsHandler,
+        Predicate<NginxLogEntity> logsPredicate,
+        Supplier<LogLineParser> parserSupplier,
+        LocalReadOptions options
+    ) {
+        this(statsHandler, logsPredicate, parserSupplier, options, new RunMetrics());
+    }
 
     public LocalFileReader(
         StatsHandler statsHandler,
-        LocalDateTime fromDateTime,
-        LocalDateTime toDateTime,
-        String filterField,
-        String filterValue
+        Predicate<NginxLogEntity> logsPredicate,
+        Supplier<LogLineParser> parserSupplier,
+        LocalReadOptions options,
+        RunMetrics runMetrics
     ) {
-        this.logParser = new LogParser();
+        this.parserSupplier = parserSupplier;
+        this.options = options;
         this.statsHandler = statsHandler;
-        this.fromDateTime = fromDateTime;
-        this.toDateTime = toDateTime;
-        this.logsFilter = new LogsFilter(filterField, filterValue);
+        this.logsPredicate = logsPredicate;
+        this.runMetrics = runMetrics;
+        if (options.isParallel() && options.readMode() == ReadMode.BUFFERED) {
+            log.info("With {} threads, several files and files over {} bytes are read as memory-mapped ranges, "
+                + "read mode buffered applies only to a single smaller file",
+                options.threads(), options.minChunkSize());
+        }
     }
 
     /**
@@ -56,7 +85,7 @@ public class LocalFileReader implements LogFileReader {
             if (checkIsDirectory(logFilePath)) {
                 processDirectory(logFilePath);
             } else {
-                processFile(logFilePath);
+                processFiles(List.of(logFilePath));
             }
         }
     }
@@ -78,29 +107,207 @@ public class LocalFileReader implements LogFileReader {
      */
     private void processDirectory(Path logFilePath) {
         try (Stream<Path> paths = Files.list(logFilePath)) {
-            paths.filter(Files::isRegularFile)
-                .forEach(this::processFile);
+            processFiles(paths.filter(Files::isRegularFile).toList());
         } catch (IOException e) {
             log.error("Error reading directory: {}", logFilePath);
         }
     }
 
+    /**
+     * Метод для обработки нескольких файлов. В режиме конвейера все файлы проходят через один конвейер,
+     * в параллельном режиме файлы и части больших файлов распределяются между потоками,
+     * иначе файлы обрабатываются по очереди
+     *
+     * @param logFilePaths Пути к файлам, которые необходимо обработать
+     */
+    private void processFiles(List<Path> logFilePaths) {
+        if (options.readMode() == ReadMode.PIPELINE) {
+            processPipeline(logFilePaths);
+        } else if (!options.isParallel() || logFilePaths.size() <= 1) {
+            logFilePaths.forEach(this::processFile);
+        } else {
+            List<FileRange> ranges = new ArrayList<>();
+            for (Path logFilePath : logFilePaths) {
+                try {
+                    ranges.addAll(MappedFileScanner.split(logFilePath, options.threads(), options.minChunkSize()));
+                } catch (IOException e) {
+                    log.error(ERROR_READING_FILE, logFilePath);
+                }
+            }
+            processRanges(ranges);
+        }
+    }
+
     /**
      * Метод для потокового чтения файла и сбора статистики
      *
      * @param logFilePath Путь к файлу, который необходимо обработать
      */
     public void processFile(Path logFilePath) {
+        try {
+            if (options.isParallel()) {
+                List<FileRange> ranges =
+                    MappedFileScanner.split(logFilePath, options.threads(), options.minChunkSize());
+                if (ranges.size() > 1) {
+                    processRanges(ranges);
+                    return;
+                }
+            }
+            LogLineParser logParser = parserSupplier.get();
+            WorkerMetrics metrics = new WorkerMetrics(runMetrics, logParser);
+            LogBatch batch = new LogBatch();
+            long start = System.nanoTime();
+            if (options.readMode() == ReadMode.MAPPED) {
+                MappedFileScanner.scan(logFilePath, line -> processLine(logParser, batch, statsHandler, metrics, line));
+            } else {
+                try (BufferedReader bufferedReader = Files.newBufferedReader(logFilePath)) {
+                    bufferedReader.lines()
+                        .forEach(line -> processLine(logParser, batch, statsHandler, metrics, line));
+                }
+            }
+            metrics.finishFile(logFilePath.toString(), start);
+            flushBatch(batch, statsHandler, metrics);
+            metrics.flush();
+            statsHandler.addRejectedLines(logParser.rejectedLines());
+        } catch (IOException e) {
+            log.error(ERROR_READING_FILE, logFilePath);
+        }
+    }
 
-        try (BufferedReader bufferedReader = Files.newBufferedReader(logFilePath)) {
-            bufferedReader.lines()
-                .map(logParser::parse)
-                .filter(l -> l != null && logsFilter.filter(l))
-                .filter(l -> logsFilter.checkFromToDate(fromDateTime, toDateTime, l.timeLocal()))
-                .forEach(statsHandler::updateStats);
+    /**
+     * Метод для обработки файлов конвейером, в котором чтение, разбор и агрегация выполняются одновременно.
+     * Количество стадий разбора равно количеству потоков
+     *
+     * @param logFilePaths Пути к файлам, которые необходимо обработать
+     */
+    private void processPipeline(List<Path> logFilePaths) {
+        new LogPipeline(parserSupplier, logsPredicate, options.threads(), runMetrics).run(logFilePaths, statsHandler);
+    }
 
-        } catch (IOException e) {
-            log.error("Error reading file: {}", logFilePath);
+    /**
+     * Метод для параллельной обработки частей файлов. Каждый поток собирает статистику в собственный экземпляр,
+     * который после завершения потока добавляется к общей статистике. Если какой-то поток завершился
+     * с ошибкой, статистика остальных потоков все равно добавляется, а ошибка пробрасывается дальше
+     *
+     * @param ranges Части файлов, границы которых совпадают с границами строк
+     * @throws IllegalStateException Если обработка была прервана или часть файлов не обработана из-за ошибки
+     */
+    private void processRanges(List<FileRange> ranges) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        Queue<FileRange> pendingRanges = new ConcurrentLinkedQueue<>(ranges);
+        int workers = Math.min(options.threads(), ranges.size());
+        IllegalStateException failure = null;
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            List<Future<StatsHandler>> partialStats = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                partialStats.add(executor.submit(() -> processPendingRanges(pendingRanges)));
+            }
+            for (Future<StatsHandler> partial : partialStats) {
+                try {
+                    statsHandler.merge(partial.get());
+                } catch (ExecutionException e) {
+                    log.error("Error processing file part: {}", e.getCause().getMessage());
+                    failure = addFailure(failure, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(INTERRUPTED_MESSAGE);
+            failure = new IllegalStateException(INTERRUPTED_MESSAGE, e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Добавляет ошибку потока к общей ошибке обработки частей файлов
+     *
+     * @param failure Общая ошибка или null, если ошибок еще не было
+     * @param cause Ошибка потока
+     * @return Общая ошибка
+     */
+    private static IllegalStateException addFailure(IllegalStateException failure, Throwable cause) {
+        if (failure == null) {
+            return new IllegalStateException("File parts were not processed completely", cause);
+        }
+        failure.addSuppressed(cause);
+        return failure;
+    }
+
+    /**
+     * Метод для обработки частей файлов из общей очереди в одном потоке
+     *
+     * @param pendingRanges Очередь необработанных частей файлов
+     * @return Статистика по обработанным частям
+     */
+    private StatsHandler processPendingRanges(Queue<FileRange> pendingRanges) {
+        StatsHandler partialStats = statsHandler.createPartial();
+        LogLineParser logParser = parserSupplier.get();
+        WorkerMetrics metrics = new WorkerMetrics(runMetrics, logParser);
+        LogBatch batch = new LogBatch();
+        FileRange range = pendingRanges.poll();
+        while (range != null) {
+            long start = System.nanoTime();
+            try {
+                MappedFileScanner.scan(range.path(), range.from(), range.to(),
+                    line -> processLine(logParser, batch, partialStats, metrics, line));
+            } catch (IOException e) {
+                log.error("Error reading file part: {}", range);
+            }
+            metrics.finishFile(range.path().toString(), start);
+            range = pendingRanges.poll();
+        }
+        flushBatch(batch, partialStats, metrics);
+        metrics.flush();
+        partialStats.addRejectedLines(logParser.rejectedLines());
+        return partialStats;
+    }
+
+    /**
+     * Метод для разбора и фильтрации одной строки лога. Подходящий лог добавляется в пакет,
+     * а заполненный пакет учитывается в статистике
+     *
+     * @param logParser Парсер строки лога
+     * @param batch Пакет логов текущего потока
+     * @param targetStats Статистика, в которой учитывается пакет
+     * @param metrics Метрики текущего потока
+     * @param line Текущая строка лога
+     */
+    private void processLine(
+        LogLineParser logParser,
+        LogBatch batch,
+        StatsHandler targetStats,
+        WorkerMetrics metrics,
+        CharSequence line
+    ) {
+        NginxLogEntity nginxLogEntity = logParser.parse(line);
+        metrics.countLine(MappedLineSequence.byteLength(line), nginxLogEntity);
+        if (nginxLogEntity != null && logsPredicate.test(nginxLogEntity)) {
+            batch.add(nginxLogEntity);
+            if (batch.isFull()) {
+                flushBatch(batch, targetStats, metrics);
+            }
+        } else if (nginxLogEntity != null) {
+            metrics.countFiltered();
+        }
+    }
+
+    /**
+     * Метод для учета накопленного пакета логов в статистике и очистки пакета
+     *
+     * @param batch Пакет логов
+     * @param targetStats Статистика, в которой учитывается пакет
+     * @param metrics Метрики текущего потока, в которых учитывается время агрегации
+     */
+    private static void flushBatch(LogBatch batch, StatsHandler targetStats, WorkerMetrics metrics) {
+        if (!batch.isEmpty()) {
+            long start = System.nanoTime();
+            targetStats.updateStats(batch);
+            batch.clear();
+            metrics.countAggregate(System.nanoTime() - start);
         }
     }
 
@@ -118,9 +325,9 @@ public class LocalFileReader implements LogFileReader {
         Path baseDir = Paths.get(baseDirPath);
 
         try (Stream<Path> paths = Files.walk(baseDir)) {
-            paths.filter(Files::isRegularFile)
+            processFiles(paths.filter(Files::isRegularFile)
                 .filter(matcher::matches)
-                .forEach(this::processFile);
+                .toList());
         } catch (IOException e) {
             log.error("Error processing wildcard path: {}", path);
         }
@@ -0,0 +1,27 @@
+package backend.academy.analyser.reader;
+
+/**
+ * Настройки чтения локальных файлов с логами
+ *
+ * @param readMode     Режим чтения файлов
+ * @param threads      Количество потоков, на которых обрабатываются части файлов
+ * @param minChunkSize Минимальный размер части файла в байтах, обрабатываемой отдельным потоком
+ */
+public record LocalReadOptions(ReadMode readMode, int threads, long minChunkSize) {
+
+    public static final long DEFAULT_MIN_CHUNK_SIZE = 16L * 1024 * 1024;
+    public static final LocalReadOptions DEFAULT = new LocalReadOptions(ReadMode.BUFFERED, 1);
+
+    public LocalReadOptions(ReadMode readMode, int threads) {
+        this(readMode, threads, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Проверяет, нужно ли обрабатывать файлы параллельно
+     *
+     * @return Результат проверки
+     */
+    public boolean isParallel() {
+        return threads > 1;
+    }
+}
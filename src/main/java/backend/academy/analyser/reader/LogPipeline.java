@@ -0,0 +1,594 @@
+package backend.academy.analyser.reader;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.metrics.WorkerMetrics;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.stats.StatsHandler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Конвейер обработки локальных файлов из стадий чтения, разбора и агрегации
+ */
+@Slf4j
+public final class LogPipeline {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    public static final int DEFAULT_MAX_LINE_LENGTH = 16 * 1024 * 1024;
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 50_000;
+    private static final String STAGE_ERROR = "Error in pipeline stage: {}";
+    private static final MemorySegment END_OF_CHUNKS = MemorySegment.ofArray(new byte[0]);
+    private static final LogBatch END_OF_BATCHES = new LogBatch(0);
+
+    private final Supplier<LogLineParser> parserSupplier;
+    private final Predicate<NginxLogEntity> logsPredicate;
+    private final int chunkSize;
+    private final int maxLineLength;
+    private final RingBuffer<MemorySegment> chunks;
+    private final RingBuffer<byte[]> freeChunks;
+    private final RingBuffer<LogBatch> batches;
+    private final RingBuffer<LogBatch> freeBatches;
+    private final PipelineStage readStage = new PipelineStage("read");
+    private final List<PipelineStage> parseStages;
+    private final PipelineStage aggregateStage = new PipelineStage("aggregate");
+    private final AtomicBoolean aborted = new AtomicBoolean();
+    private final RunMetrics runMetrics;
+
+    public LogPipeline(Supplier<LogLineParser> parserSupplier, Predicate<NginxLogEntity> logsPredicate, int parsers) {
+        this(parserSupplier, logsPredicate, parsers, new RunMetrics());
+    }
+
+    public LogPipeline(
+        Supplier<LogLineParser> parserSupplier,
+        Predicate<NginxLogEntity> logsPredicate,
+        int parsers,
+        RunMetrics runMetrics
+    ) {
+        this(parserSupplier, logsPredicate, parsers, runMetrics, DEFAULT_QUEUE_CAPACITY, DEFAULT_CHUNK_SIZE);
+    }
+
+    LogPipeline(
+        Supplier<LogLineParser> parserSupplier,
+        Predicate<NginxLogEntity> logsPredicate,
+        int parsers,
+        RunMetrics runMetrics,
+        int queueCapacity,
+        int chunkSize
+    ) {
+        this(parserSupplier, logsPredicate, parsers, runMetrics, queueCapacity, chunkSize, DEFAULT_MAX_LINE_LENGTH);
+    }
+
+    LogPipeline(
+        Supplier<LogLineParser> parserSupplier,
+        Predicate<NginxLogEntity> logsPredicate,
+        int parsers,
+        RunMetrics runMetrics,
+        int queueCapacity,
+        int chunkSize,
+        int maxLineLength
+    ) {
+        this.parserSupplier = parserSupplier;
+        this.logsPredicate = logsPredicate;
+        this.runMetrics = runMetrics;
+        this.chunkSize = chunkSize;
+        this.maxLineLength = Math.max(chunkSize, maxLineLength);
+        this.chunks = new RingBuffer<>(queueCapacity);
+        this.freeChunks = new RingBuffer<>(chunks.capacity() + parsers + 1);
+        this.batches = new RingBuffer<>(queueCapacity);
+        this.parseStages = new ArrayList<>(parsers);
+        for (int i = 0; i < parsers; i++) {
+            parseStages.add(new PipelineStage("parse-" + i));
+        }
+        int batchCount = batches.capacity() + parsers;
+        this.freeBatches = new RingBuffer<>(batchCount);
+        for (int i = 0; i < batchCount; i++) {
+            freeBatches.offer(new LogBatch());
+        }
+    }
+
+    /**
+     * Обрабатывает файлы конвейером и учитывает подходящие логи в статистике. Стадия чтения работает
+     * в вызывающем потоке, стадии разбора и агрегации — в отдельных потоках. Если конвейер был остановлен
+     * ошибкой стадии или прерыванием, после учета результатов завершившихся стадий ошибка пробрасывается дальше
+     *
+     * @param logFilePaths Пути к файлам, которые необходимо обработать
+     * @param statsHandler Статистика, в которой учитываются логи
+     * @throws IllegalStateException Если конвейер был остановлен до обработки всех файлов
+     */
+    public void run(List<Path> logFilePaths, StatsHandler statsHandler) {
+        List<Throwable> failures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parseStages.size() + 1)) {
+            List<Future<Long>> rejectedLines = new ArrayList<>(parseStages.size());
+            for (PipelineStage stage : parseStages) {
+                rejectedLines.add(executor.submit(() -> abortOnFailure(() -> parse(stage))));
+            }
+            Future<Long> aggregation = executor.submit(() -> abortOnFailure(() -> aggregate(statsHandler)));
+            try {
+                abortOnFailure(() -> read(logFilePaths));
+            } catch (RuntimeException e) {
+                log.error(STAGE_ERROR, e.getMessage());
+                failures.add(e);
+            }
+            await(aggregation, failures);
+            for (Future<Long> rejected : rejectedLines) {
+                statsHandler.addRejectedLines(await(rejected, failures));
+            }
+        } catch (InterruptedException e) {
+            aborted.set(true);
+            Thread.currentThread().interrupt();
+            log.error("Pipeline processing was interrupted");
+            failures.add(e);
+        }
+        logMetrics();
+        if (aborted.get()) {
+            IllegalStateException failure = new IllegalStateException("Pipeline processing was aborted",
+                failures.isEmpty() ? null : failures.getFirst());
+            failures.stream().skip(1).forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    /**
+     * Ожидает завершения стадии и запоминает ее ошибку
+     *
+     * @param stage Результат стадии
+     * @param failures Ошибки завершившихся стадий
+     * @return Результат стадии или 0, если стадия завершилась с ошибкой
+     * @throws InterruptedException Если ожидание было прервано
+     */
+    private static long await(Future<Long> stage, List<Throwable> failures) throws InterruptedException {
+        try {
+            return stage.get();
+        } catch (ExecutionException e) {
+            log.error(STAGE_ERROR, e.getCause().getMessage());
+            failures.add(e.getCause());
+            return 0;
+        }
+    }
+
+    /**
+     * Возвращает метрики стадии чтения
+     *
+     * @return Метрики стадии
+     */
+    public PipelineStage readStage() {
+        return readStage;
+    }
+
+    /**
+     * Возвращает метрики стадий разбора
+     *
+     * @return Метрики стадий
+     */
+    public List<PipelineStage> parseStages() {
+        return List.copyOf(parseStages);
+    }
+
+    /**
+     * Возвращает метрики стадии агрегации
+     *
+     * @return Метрики стадии
+     */
+    public PipelineStage aggregateStage() {
+        return aggregateStage;
+    }
+
+    /**
+     * Возвращает текущее количество блоков байтов, ожидающих разбора
+     *
+     * @return Глубина очереди блоков
+     */
+    public int chunkQueueDepth() {
+        return chunks.size();
+    }
+
+    /**
+     * Возвращает текущее количество пакетов логов, ожидающих агрегации
+     *
+     * @return Глубина очереди пакетов
+     */
+    public int batchQueueDepth() {
+        return batches.size();
+    }
+
+    /**
+     * Стадия чтения: читает файлы по очереди и передает их блоками стадиям разбора,
+     * после чего сообщает каждой стадии разбора о конце данных
+     *
+     * @param logFilePaths Пути к файлам
+     * @return Количество переданных блоков
+     */
+    private long read(List<Path> logFilePaths) {
+        readStage.start();
+        for (Path logFilePath : logFilePaths) {
+            if (aborted.get()) {
+                break;
+            }
+            readFile(logFilePath);
+        }
+        for (int i = 0; i < parseStages.size(); i++) {
+            put(chunks, END_OF_CHUNKS, readStage);
+        }
+        readStage.finish();
+        return readStage.items();
+    }
+
+    /**
+     * Читает файл блоками заданного размера. Неполная последняя строка блока переносится в начало
+     * следующего блока, а блок без единого перевода строки увеличивается вдвое, но не больше наибольшей
+     * длины строки. Строка, не поместившаяся в такой блок, пропускается до перевода строки и передается
+     * стадиям разбора пустой, чтобы ее учли как некорректную. Временем обработки файла считается время
+     * его чтения вместе с ожиданием места в очереди блоков
+     *
+     * @param logFilePath Путь к файлу
+     */
+    private void readFile(Path logFilePath) {
+        long start = System.nanoTime();
+        long bytes = 0;
+        try (InputStream input = Files.newInputStream(logFilePath)) {
+            byte[] buffer = freeChunk(0, chunkSize);
+            int filled = 0;
+            boolean skipping = false;
+            int read = input.read(buffer, 0, buffer.length);
+            while (read >= 0) {
+                bytes += read;
+                filled += read;
+                if (skipping) {
+                    filled = dropLineStart(buffer, filled);
+                    skipping = filled == 0;
+                }
+                if (filled == buffer.length) {
+                    int end = lastLineEnd(buffer, filled);
+                    if (end > 0) {
+                        byte[] next = freeChunk(filled - end, buffer.length);
+                        System.arraycopy(buffer, end, next, 0, filled - end);
+                        if (!putChunk(buffer, end)) {
+                            return;
+                        }
+                        buffer = next;
+                        filled -= end;
+                    } else if (buffer.length < maxLineLength) {
+                        byte[] grown = Arrays.copyOf(buffer, (int) Math.min(2L * buffer.length, maxLineLength));
+                        recycleChunk(buffer);
+                        buffer = grown;
+                    } else {
+                        log.warn("Skipping malformed line of more than {} bytes in {}", maxLineLength, logFilePath);
+                        skipping = true;
+                        filled = 0;
+                    }
+                }
+                read = input.read(buffer, filled, buffer.length - filled);
+            }
+            if (skipping) {
+                buffer[0] = '\n';
+                filled = 1;
+            }
+            if (filled > 0) {
+                putChunk(buffer, filled);
+            }
+        } catch (IOException e) {
+            log.error("Error reading file: {}", logFilePath);
+        }
+        runMetrics.addFileTiming(logFilePath.toString(), bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Передает блок байтов стадиям разбора
+     *
+     * @param buffer Массив байтов блока
+     * @param length Количество байтов блока
+     * @return Передан ли блок или конвейер остановлен
+     */
+    private boolean putChunk(byte[] buffer, int length) {
+        boolean added = put(chunks, MemorySegment.ofArray(buffer).asSlice(0, length), readStage);
+        if (added) {
+            readStage.addItem();
+        }
+        return added;
+    }
+
+    /**
+     * Отбрасывает начало пропускаемой строки до перевода строки. Сам перевод строки остается в начале блока,
+     * поэтому стадия разбора получит на месте пропущенной строки пустую
+     *
+     * @param buffer Массив байтов блока
+     * @param length Количество байтов блока
+     * @return Количество оставшихся байтов или 0, если перевода строки нет и строка еще не закончилась
+     */
+    private static int dropLineStart(byte[] buffer, int length) {
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] == '\n') {
+                System.arraycopy(buffer, i, buffer, 0, length - i);
+                return length - i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Возвращает массив для следующего блока: свободный массив размера блока, если в него помещается
+     * перенесенная строка, иначе новый массив
+     *
+     * @param carried Количество байтов, переносимых из предыдущего блока
+     * @param length Размер предыдущего блока
+     * @return Массив для следующего блока
+     */
+    private byte[] freeChunk(int carried, int length) {
+        if (carried >= chunkSize) {
+            return new byte[length];
+        }
+        byte[] buffer = freeChunks.poll();
+        return buffer == null ? new byte[chunkSize] : buffer;
+    }
+
+    /**
+     * Возвращает массив разобранного блока в свободные. Увеличенные массивы не сохраняются
+     *
+     * @param buffer Массив блока
+     */
+    private void recycleChunk(byte[] buffer) {
+        if (buffer.length == chunkSize) {
+            freeChunks.offer(buffer);
+        }
+    }
+
+    /**
+     * Ищет конец последней полной строки в блоке
+     *
+     * @param buffer Массив байтов блока
+     * @param length Количество байтов блока
+     * @return Позиция после последнего перевода строки или 0, если перевода строки нет
+     */
+    private static int lastLineEnd(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Стадия разбора: делит блоки на строки и собирает подходящие логи в пакеты до пустого блока,
+     * обозначающего конец данных
+     *
+     * @param stage Метрики стадии
+     * @return Количество строк, отброшенных парсером при проверке полей
+     */
+    private long parse(PipelineStage stage) {
+        stage.start();
+        BatchingConsumer consumer = new BatchingConsumer(parserSupplier.get(), stage);
+        MemorySegment chunk = take(chunks, stage);
+        while (chunk != null && chunk.byteSize() > 0 && consumer.hasBatch()) {
+            MappedFileScanner.scanLines(chunk, consumer);
+            if (chunk.heapBase().orElse(null) instanceof byte[] buffer) {
+                recycleChunk(buffer);
+            }
+            stage.addItem();
+            chunk = take(chunks, stage);
+        }
+        consumer.flush();
+        consumer.metrics.flush();
+        put(batches, END_OF_BATCHES, stage);
+        stage.finish();
+        return consumer.logParser.rejectedLines();
+    }
+
+    /**
+     * Стадия агрегации: учитывает пакеты в статистике, пока все стадии разбора не сообщат о конце данных
+     *
+     * @param statsHandler Статистика
+     * @return Количество учтенных пакетов
+     */
+    private long aggregate(StatsHandler statsHandler) {
+        aggregateStage.start();
+        int finishedParsers = 0;
+        while (finishedParsers < parseStages.size()) {
+            LogBatch batch = take(batches, aggregateStage);
+            if (batch == null) {
+                break;
+            }
+            if (batch == END_OF_BATCHES) {
+                finishedParsers++;
+            } else {
+                statsHandler.updateStats(batch);
+                batch.clear();
+                freeBatches.offer(batch);
+                aggregateStage.addItem();
+            }
+        }
+        aggregateStage.finish();
+        return aggregateStage.items();
+    }
+
+    /**
+     * Выполняет стадию и останавливает весь конвейер, если стадия завершилась с любой ошибкой,
+     * включая {@link Error}, чтобы остальные стадии не ждали ее на очередях
+     *
+     * @param stage Стадия
+     * @return Результат стадии
+     */
+    private long abortOnFailure(Supplier<Long> stage) {
+        boolean completed = false;
+        try {
+            long result = stage.get();
+            completed = true;
+            return result;
+        } finally {
+            if (!completed) {
+                aborted.set(true);
+            }
+        }
+    }
+
+    /**
+     * Добавляет элемент в очередь, ожидая места в заполненной очереди
+     *
+     * @param queue Очередь
+     * @param element Элемент
+     * @param stage Метрики стадии, которая ждет очередь
+     * @param <T> Тип элементов очереди
+     * @return Добавлен ли элемент или конвейер остановлен
+     */
+    private <T> boolean put(RingBuffer<T> queue, T element, PipelineStage stage) {
+        boolean added;
+        long waitStart = 0;
+        int spins = 0;
+        do {
+            added = queue.offer(element);
+            if (!added) {
+                waitStart = spins == 0 ? System.nanoTime() : waitStart;
+                backOff(spins++);
+            }
+        } while (!added && !aborted.get());
+        if (spins > 0) {
+            stage.addWait(System.nanoTime() - waitStart);
+        }
+        return added;
+    }
+
+    /**
+     * Забирает элемент из очереди, ожидая его появления в пустой очереди
+     *
+     * @param queue Очередь
+     * @param stage Метрики стадии, которая ждет очередь
+     * @param <T> Тип элементов очереди
+     * @return Элемент или null, если конвейер остановлен
+     */
+    private <T> T take(RingBuffer<T> queue, PipelineStage stage) {
+        T element;
+        long waitStart = 0;
+        int spins = 0;
+        do {
+            element = queue.poll();
+            if (element == null) {
+                waitStart = spins == 0 ? System.nanoTime() : waitStart;
+                backOff(spins++);
+            }
+        } while (element == null && !aborted.get());
+        if (spins > 0) {
+            stage.addWait(System.nanoTime() - waitStart);
+        }
+        return element;
+    }
+
+    /**
+     * Ожидает перед повторной попыткой: сначала активно, затем с короткой приостановкой потока.
+     * Прерывание потока останавливает конвейер
+     *
+     * @param spins Количество уже сделанных попыток
+     */
+    private void backOff(int spins) {
+        if (spins < SPINS_BEFORE_PARK) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            if (Thread.currentThread().isInterrupted()) {
+                aborted.set(true);
+            }
+        }
+    }
+
+    /**
+     * Возвращает метрики всех стадий в порядке прохождения данных
+     *
+     * @return Метрики стадий
+     */
+    private List<PipelineStage> stages() {
+        List<PipelineStage> stages = new ArrayList<>(parseStages.size() + 2);
+        stages.add(readStage);
+        stages.addAll(parseStages);
+        stages.add(aggregateStage);
+        return stages;
+    }
+
+    /**
+     * Записывает в лог загрузку стадий и наибольшую глубину очередей и добавляет время работы стадий
+     * без ожидания к метрикам запуска
+     */
+    private void logMetrics() {
+        for (PipelineStage stage : stages()) {
+            log.info("Pipeline stage {}: items={}, utilisation={}%",
+                stage.name(), stage.items(), Math.round(stage.utilisation()));
+            runMetrics.addStageNanos(stage.name(), stage.busyNanos());
+        }
+        log.info("Pipeline queue chunks: capacity={}, max depth={}", chunks.capacity(), chunks.highWaterMark());
+        log.info("Pipeline queue batches: capacity={}, max depth={}", batches.capacity(), batches.highWaterMark());
+    }
+
+    /**
+     * Обработчик строк стадии разбора: разбирает и фильтрует строку и добавляет подходящий лог в пакет,
+     * а заполненный пакет передает стадии агрегации и берет вместо него свободный
+     */
+    private final class BatchingConsumer implements Consumer<CharSequence> {
+
+        private final LogLineParser logParser;
+        private final WorkerMetrics metrics;
+        private final PipelineStage stage;
+        private LogBatch batch;
+
+        BatchingConsumer(LogLineParser logParser, PipelineStage stage) {
+            this.logParser = logParser;
+            this.metrics = new WorkerMetrics(runMetrics, logParser);
+            this.stage = stage;
+            this.batch = take(freeBatches, stage);
+        }
+
+        @Override
+        public void accept(CharSequence line) {
+            if (batch == null) {
+                return;
+            }
+            NginxLogEntity nginxLogEntity = logParser.parse(line);
+            metrics.countLine(MappedLineSequence.byteLength(line), nginxLogEntity);
+            if (nginxLogEntity != null && logsPredicate.test(nginxLogEntity)) {
+                batch.add(nginxLogEntity);
+                if (batch.isFull()) {
+                    put(batches, batch, stage);
+                    batch = take(freeBatches, stage);
+                }
+            } else if (nginxLogEntity != null) {
+                metrics.countFiltered();
+            }
+        }
+
+        /**
+         * Проверяет, есть ли у обработчика пакет, то есть не остановлен ли конвейер
+         *
+         * @return Результат проверки
+         */
+        boolean hasBatch() {
+            return batch != null;
+        }
+
+        /**
+         * Передает стадии агрегации последний неполный пакет
+         */
+        void flush() {
+            if (batch != null && !batch.isEmpty()) {
+                put(batches, batch, stage);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package backend.academy.analyser.reader;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Читает файл с логами, отображая его в память
+ */
+@Slf4j
+@UtilityClass
+public class MappedFileScanner {
+
+    private static final long NOT_FOUND = -1;
+    private static final ValueLayout.OfLong LITTLE_ENDIAN_LONG =
+        ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final long NEWLINE_BYTES = 0x0A0A0A0A0A0A0A0AL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final int BITS_IN_BYTE_SHIFT = 3;
+    private static final int BOUNDARY_SEARCH_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Отображает диапазон файла в память и передает каждую строку диапазона обработчику.
+     * Обработчик получает одно и то же изменяемое представление строки, поэтому не должен его сохранять
+     *
+     * @param logFilePath Путь к файлу
+     * @param from Начало диапазона в байтах, совпадающее с началом строки
+     * @param to Конец диапазона в байтах, совпадающий с концом строки или файла
+     * @param lineConsumer Обработчик строк
+     * @throws IOException Ошибка чтения файла
+     */
+    public static void scan(Path logFilePath, long from, long to, Consumer<CharSequence> lineConsumer)
+        throws IOException {
+        if (to <= from) {
+            return;
+        }
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(logFilePath, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from, arena);
+            scanLines(segment, lineConsumer);
+        }
+    }
+
+    /**
+     * Отображает весь файл в память и передает каждую его строку обработчику
+     *
+     * @param logFilePath Путь к файлу
+     * @param lineConsumer Обработчик строк
+     * @throws IOException Ошибка чтения файла
+     */
+    public static void scan(Path logFilePath, Consumer<CharSequence> lineConsumer) throws IOException {
+        long size;
+        try (FileChannel channel = FileChannel.open(logFilePath, StandardOpenOption.READ)) {
+            size = channel.size();
+        }
+        scan(logFilePath, 0, size, lineConsumer);
+    }
+
+    /**
+     * Делит файл на диапазоны примерно равного размера, границы которых совпадают с границами строк
+     *
+     * @param logFilePath Путь к файлу
+     * @param maxParts Максимальное количество диапазонов
+     * @param minPartSize Минимальный размер диапазона в байтах
+     * @return Диапазоны, покрывающие весь файл
+     * @throws IOException Ошибка чтения файла
+     */
+    public static List<FileRange> split(Path logFilePath, int maxParts, long minPartSize) throws IOException {
+        List<FileRange> ranges = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(logFilePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long parts = Math.max(1, Math.min(maxParts, size / minPartSize));
+            long start = 0;
+            for (long part = 1; part < parts; part++) {
+                long boundary = nextLineStart(channel, Math.max(start, size * part / parts), size);
+                if (boundary > start && boundary < size) {
+                    ranges.add(new FileRange(logFilePath, start, boundary));
+                    start = boundary;
+                }
+            }
+            ranges.add(new FileRange(logFilePath, start, size));
+        }
+        return ranges;
+    }
+
+    /**
+     * Ищет начало строки, ближайшей к заданной позиции, не считывая файл целиком
+     *
+     * @param channel Канал файла
+     * @param position Позиция, с которой начинается поиск
+     * @param size Размер файла
+     * @return Позиция начала строки или размер файла, если после позиции нет перевода строки
+     * @throws IOException Ошибка чтения файла
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SEARCH_BUFFER_SIZE);
+        long bufferStart = position == 0 ? 0 : position - 1;
+        while (bufferStart < size) {
+            buffer.clear();
+            int read = channel.read(buffer, bufferStart);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return bufferStart + i + 1;
+                }
+            }
+            bufferStart += read;
+        }
+        return size;
+    }
+
+    /**
+     * Делит отображенный диапазон или прочитанный в память блок на строки по символу перевода строки,
+     * отбрасывая завершающий \r. Строка длиннее 2 ГБ передается пустой и учитывается как некорректная
+     *
+     * @param segment Отображенный диапазон файла или блок байтов
+     * @param lineConsumer Обработчик строк
+     */
+    static void scanLines(MemorySegment segment, Consumer<CharSequence> lineConsumer) {
+        MappedLineSequence line = new MappedLineSequence(segment);
+        long size = segment.byteSize();
+        long lineStart = 0;
+        while (lineStart < size) {
+            long newline = indexOfNewline(segment, lineStart, size);
+            long lineEnd = newline == NOT_FOUND ? size : newline;
+            long contentEnd = lineEnd;
+            if (contentEnd > lineStart && segment.get(ValueLayout.JAVA_BYTE, contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            long lineLength = contentEnd - lineStart;
+            if (lineLength > Integer.MAX_VALUE) {
+                log.warn("Skipping malformed line of {} bytes at offset {}", lineLength, lineStart);
+                line.reset(lineStart, 0);
+            } else {
+                line.reset(lineStart, (int) lineLength);
+            }
+            lineConsumer.accept(line);
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Ищет символ перевода строки, проверяя по восемь байтов за одно сравнение
+     *
+     * @param segment Отображенный диапазон файла
+     * @param from Начало поиска включительно
+     * @param to Конец поиска не включительно
+     * @return Позиция символа перевода строки или -1, если он не найден
+     */
+    static long indexOfNewline(MemorySegment segment, long from, long to) {
+        long index = from;
+        for (; index + Long.BYTES <= to; index += Long.BYTES) {
+            long word = segment.get(LITTLE_ENDIAN_LONG, index) ^ NEWLINE_BYTES;
+            long found = (word - LOW_BITS) & ~word & HIGH_BITS;
+            if (found != 0) {
+                return index + (Long.numberOfTrailingZeros(found) >>> BITS_IN_BYTE_SHIFT);
+            }
+        }
+        for (; index < to; index++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, index) == '\n') {
+                return index;
+            }
+        }
+        return NOT_FOUND;
+    }
+}
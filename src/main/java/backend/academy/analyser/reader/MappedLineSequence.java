@@ -0,0 +1,130 @@
+package backend.academy.analyser.reader;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Строка лога из отображенного в память файла в виде изменяемого CharSequence
+ */
+final class MappedLineSequence implements CharSequence {
+
+    private static final ValueLayout.OfLong LONG_LAYOUT =
+        ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final long NON_ASCII_BITS = 0x8080808080808080L;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private final MemorySegment segment;
+    private long offset;
+    private int length;
+    private int byteLength;
+    private String decodedLine;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    MappedLineSequence(MemorySegment segment) {
+        this.segment = segment;
+    }
+
+    /**
+     * Переводит представление на следующую строку файла
+     *
+     * @param lineOffset Смещение начала строки в отображенном файле
+     * @param lineLength Длина строки в байтах
+     */
+    void reset(long lineOffset, int lineLength) {
+        offset = lineOffset;
+        byteLength = lineLength;
+        if (isAscii(lineOffset, lineLength)) {
+            length = lineLength;
+            decodedLine = null;
+        } else {
+            decodedLine = new String(copyBytes(0, lineLength), 0, lineLength, StandardCharsets.UTF_8);
+            length = decodedLine.length();
+        }
+    }
+
+    /**
+     * Возвращает размер строки в байтах: для представления строки файла — количество байтов UTF-8,
+     * для остальных строк — количество символов
+     *
+     * @param line Строка лога
+     * @return Размер строки
+     */
+    static int byteLength(CharSequence line) {
+        return line instanceof MappedLineSequence mappedLine ? mappedLine.byteLength : line.length();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (decodedLine != null) {
+            return decodedLine.charAt(index);
+        }
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (char) segment.get(ValueLayout.JAVA_BYTE, offset + index);
+    }
+
+    @Override
+    @SuppressFBWarnings("STT_STRING_PARSING_A_FIELD")
+    public CharSequence subSequence(int start, int end) {
+        if (decodedLine != null) {
+            return decodedLine.substring(start, end);
+        }
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") of length " + length);
+        }
+        int byteCount = end - start;
+        return new String(copyBytes(start, byteCount), 0, byteCount, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+
+    /**
+     * Проверяет, что все байты строки меньше 0x80, по восемь байтов за одно сравнение
+     *
+     * @param lineOffset Смещение начала строки
+     * @param lineLength Длина строки в байтах
+     * @return Результат проверки
+     */
+    private boolean isAscii(long lineOffset, int lineLength) {
+        long end = lineOffset + lineLength;
+        long index = lineOffset;
+        for (; index + Long.BYTES <= end; index += Long.BYTES) {
+            if ((segment.get(LONG_LAYOUT, index) & NON_ASCII_BITS) != 0) {
+                return false;
+            }
+        }
+        for (; index < end; index++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, index) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Копирует байты строки в переиспользуемый буфер
+     *
+     * @param start Начало диапазона в байтах от начала строки
+     * @param byteCount Количество байтов
+     * @return Буфер, в начале которого лежат скопированные байты
+     */
+    private byte[] copyBytes(int start, int byteCount) {
+        if (buffer.length < byteCount) {
+            buffer = new byte[byteCount];
+        }
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset + start, buffer, 0, byteCount);
+        return buffer;
+    }
+}
@@ -0,0 +1,104 @@
+package backend.academy.analyser.reader;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+
+/**
+ * Метрики одной стадии конвейера обработки логов
+ */
+public final class PipelineStage {
+
+    private static final double PERCENT = 100.0;
+
+    @Getter
+    private final String name;
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong startNanos = new AtomicLong();
+    private final AtomicLong endNanos = new AtomicLong();
+
+    PipelineStage(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Отмечает начало работы стадии
+     */
+    void start() {
+        startNanos.set(System.nanoTime());
+    }
+
+    /**
+     * Отмечает завершение работы стадии
+     */
+    void finish() {
+        endNanos.set(System.nanoTime());
+    }
+
+    /**
+     * Учитывает обработанный стадией элемент
+     */
+    void addItem() {
+        items.incrementAndGet();
+    }
+
+    /**
+     * Учитывает время ожидания стадии на очереди
+     *
+     * @param nanos Время ожидания в наносекундах
+     */
+    void addWait(long nanos) {
+        waitNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Возвращает количество обработанных стадией элементов
+     *
+     * @return Количество элементов
+     */
+    public long items() {
+        return items.get();
+    }
+
+    /**
+     * Возвращает время работы стадии с начала и до завершения или до текущего момента
+     *
+     * @return Время работы в наносекундах
+     */
+    public long elapsedNanos() {
+        long start = startNanos.get();
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos.get();
+        return (end == 0 ? System.nanoTime() : end) - start;
+    }
+
+    /**
+     * Возвращает время ожидания стадии на очередях
+     *
+     * @return Время ожидания в наносекундах
+     */
+    public long waitNanos() {
+        return waitNanos.get();
+    }
+
+    /**
+     * Возвращает долю времени работы, в течение которой стадия была занята, а не ждала очередь
+     *
+     * @return Загрузка стадии в процентах
+     */
+    public double utilisation() {
+        long elapsed = elapsedNanos();
+        return elapsed == 0 ? 0 : PERCENT * busyNanos() / elapsed;
+    }
+
+    /**
+     * Возвращает время, в течение которого стадия была занята, а не ждала очередь
+     *
+     * @return Время работы без ожидания в наносекундах
+     */
+    public long busyNanos() {
+        return Math.max(0, elapsedNanos() - waitNanos());
+    }
+}
@@ -0,0 +1,34 @@
+package backend.academy.analyser.reader;
+
+import lombok.Getter;
+
+/**
+ * Enum режимов чтения локальных файлов с логами
+ */
+@Getter
+public enum ReadMode {
+    BUFFERED("buffered"),
+    MAPPED("mmap"),
+    PIPELINE("pipeline");
+
+    private final String optionName;
+
+    ReadMode(String optionName) {
+        this.optionName = optionName;
+    }
+
+    /**
+     * Ищет режим чтения по его имени
+     *
+     * @param optionName Имя режима, переданное пользователем
+     * @return Режим чтения или null, если режим с таким именем не найден
+     */
+    public static ReadMode fromOptionName(String optionName) {
+        for (ReadMode readMode : values()) {
+            if (readMode.optionName.equals(optionName)) {
+                return readMode;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package backend.academy.analyser.reader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ограниченная очередь без блокировок для нескольких производителей и потребителей
+ *
+ * @param <T> Тип элементов очереди
+ */
+final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Добавляет элемент в конец очереди, если в ней есть место
+     *
+     * @param element Элемент
+     * @return Добавлен ли элемент
+     */
+    boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0 && tail.compareAndSet(position, position + 1)) {
+                elements.set(index, element);
+                sequences.set(index, position + 1);
+                highWaterMark.accumulateAndGet(size(), Math::max);
+                return true;
+            }
+            if (difference < 0) {
+                return false;
+            }
+            position = tail.get();
+        }
+    }
+
+    /**
+     * Забирает элемент из начала очереди
+     *
+     * @return Элемент или null, если очередь пуста
+     */
+    T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0 && head.compareAndSet(position, position + 1)) {
+                T element = elements.get(index);
+                elements.set(index, null);
+                sequences.set(index, position + mask + 1);
+                return element;
+            }
+            if (difference < 0) {
+                return null;
+            }
+            position = head.get();
+        }
+    }
+
+    /**
+     * Возвращает текущее количество элементов в очереди
+     *
+     * @return Количество элементов
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * Возвращает наибольшее количество элементов, которое было в очереди
+     *
+     * @return Наибольшее количество элементов
+     */
+    int highWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Возвращает емкость очереди, округленную вверх до степени двойки, но не меньше двух
+     *
+     * @return Емкость очереди
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
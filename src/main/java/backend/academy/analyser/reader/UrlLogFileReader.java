@@ -1,7 +1,10 @@
 package backend.academy.analyser.reader;
 
-import backend.academy.analyser.LogsFilter;
-import backend.academy.analyser.parser.LogParser;
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.metrics.WorkerMetrics;
+import backend.academy.analyser.parser.LogLineParser;
 import backend.academy.analyser.stats.StatsHandler;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.BufferedReader;
@@ -10,7 +13,8 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -20,26 +24,31 @@ import lombok.extern.slf4j.Slf4j;
 @SuppressFBWarnings("URLCONNECTION_SSRF_FD")
 public class UrlLogFileReader implements LogFileReader {
 
-    private final LogParser logParser;
+    private final Supplier<LogLineParser> parserSupplier;
     private final StatsHandler statsHandler;
-    private final LocalDateTime fromDateTime;
-    private final LocalDateTime toDateTime;
-    private final LogsFilter logsFilter;
+    private final Predicate<NginxLogEntity> logsPredicate;
+    private final RunMetrics runMetrics;
 
     private final static String INVALID_URI_STRING = "Invalid URI";
 
     public UrlLogFileReader(
         StatsHandler statsHandler,
-        LocalDateTime fromDateTime,
-        LocalDateTime toDateTime,
-        String filterField,
-        String filterValue
+        Predicate<NginxLogEntity> logsPredicate,
+        Supplier<LogLineParser> parserSupplier
     ) {
-        this.logParser = new LogParser();
+        this(statsHandler, logsPredicate, parserSupplier, new RunMetrics());
+    }
+
+    public UrlLogFileReader(
+        StatsHandler statsHandler,
+        Predicate<NginxLogEntity> logsPredicate,
+        Supplier<LogLineParser> parserSupplier,
+        RunMetrics runMetrics
+    ) {
+        this.parserSupplier = parserSupplier;
         this.statsHandler = statsHandler;
-        this.fromDateTime = fromDateTime;
-        this.toDateTime = toDateTime;
-        this.logsFilter = new LogsFilter(filterField, filterValue);
+        this.logsPredicate = logsPredicate;
+        this.runMetrics = runMetrics;
     }
 
     /**
@@ -77,18 +86,60 @@ public class UrlLogFileReader implements LogFileReader {
     public void processUrl(String uriString) {
         try {
             URI uri = new URI(uriString);
+            LogLineParser logParser = parserSupplier.get();
+            WorkerMetrics metrics = new WorkerMetrics(runMetrics, logParser);
+            LogBatch batch = new LogBatch();
+            long start = System.nanoTime();
             try (BufferedReader bufferedReader = createBufferedReader(uri)) {
                 bufferedReader.lines()
-                    .map(logParser::parse)
-                    .filter(l -> l != null && logsFilter.filter(l))
-                    .filter(l -> logsFilter.checkFromToDate(fromDateTime, toDateTime, l.timeLocal()))
-                    .forEach(statsHandler::updateStats);
+                    .forEach(line -> processLine(logParser, batch, metrics, line));
             }
+            metrics.finishFile(uriString, start);
+            flushBatch(batch, metrics);
+            metrics.flush();
+            statsHandler.addRejectedLines(logParser.rejectedLines());
         } catch (URISyntaxException | IOException e) {
             log.error(INVALID_URI_STRING + "{}", uriString);
         }
     }
 
+    /**
+     * Метод для разбора и фильтрации одной строки лога. Подходящий лог добавляется в пакет,
+     * а заполненный пакет учитывается в статистике и очищается
+     *
+     * @param logParser Парсер строки лога
+     * @param batch Пакет логов
+     * @param metrics Метрики потока чтения
+     * @param line Текущая строка лога
+     */
+    private void processLine(LogLineParser logParser, LogBatch batch, WorkerMetrics metrics, String line) {
+        NginxLogEntity nginxLogEntity = logParser.parse(line);
+        metrics.countLine(line, nginxLogEntity);
+        if (nginxLogEntity != null && logsPredicate.test(nginxLogEntity)) {
+            batch.add(nginxLogEntity);
+            if (batch.isFull()) {
+                flushBatch(batch, metrics);
+            }
+        } else if (nginxLogEntity != null) {
+            metrics.countFiltered();
+        }
+    }
+
+    /**
+     * Метод для учета накопленного пакета логов в статистике и очистки пакета
+     *
+     * @param batch Пакет логов
+     * @param metrics Метрики потока чтения, в которых учитывается время агрегации
+     */
+    private void flushBatch(LogBatch batch, WorkerMetrics metrics) {
+        if (!batch.isEmpty()) {
+            long start = System.nanoTime();
+            statsHandler.updateStats(batch);
+            batch.clear();
+            metrics.countAggregate(System.nanoTime() - start);
+        }
+    }
+
     protected BufferedReader createBufferedReader(URI uri) throws IOException {
         return new BufferedReader(new InputStreamReader(uri.toURL().openStream(), StandardCharsets.UTF_8));
     }
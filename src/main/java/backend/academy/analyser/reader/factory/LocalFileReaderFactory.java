@@ -1,21 +1,32 @@
 package backend.academy.analyser.reader.factory;
 
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.parser.LogLineParser;
 import backend.academy.analyser.reader.LocalFileReader;
+import backend.academy.analyser.reader.LocalReadOptions;
 import backend.academy.analyser.reader.LogFileReader;
 import backend.academy.analyser.stats.StatsHandler;
-import java.time.LocalDateTime;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Фабрика для создания экземпляра LocalFileReader
  */
+@RequiredArgsConstructor
 public class LocalFileReaderFactory implements LogFileReaderFactory {
 
+    private final LocalReadOptions options;
+
     @Override
     public LogFileReader createLogFileReader(
-        StatsHandler statsHandler, LocalDateTime fromTime, LocalDateTime toTime,
-        String filterField, String filterValue
+        StatsHandler statsHandler,
+        Predicate<NginxLogEntity> logsPredicate,
+        Supplier<LogLineParser> parserSupplier,
+        RunMetrics runMetrics
     ) {
-        return new LocalFileReader(statsHandler, fromTime, toTime, filterField, filterValue);
+        return new LocalFileReader(statsHandler, logsPredicate, parserSupplier, options, runMetrics);
     }
 
 }
@@ -1,13 +1,17 @@
 package backend.academy.analyser.reader.factory;
 
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.parser.LogLineParser;
 import backend.academy.analyser.reader.LogFileReader;
 import backend.academy.analyser.stats.StatsHandler;
-import java.time.LocalDateTime;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Фабрика для создания экземпляра LogFileReader
  */
 public interface LogFileReaderFactory {
-    LogFileReader createLogFileReader(StatsHandler statsHandler, LocalDateTime fromTime, LocalDateTime toTime,
-        String filterField, String filterValue);
+    LogFileReader createLogFileReader(StatsHandler statsHandler, Predicate<NginxLogEntity> logsPredicate,
+        Supplier<LogLineParser> parserSupplier, RunMetrics runMetrics);
 }
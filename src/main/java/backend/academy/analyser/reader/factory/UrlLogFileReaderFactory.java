@@ -1,9 +1,13 @@
 package backend.academy.analyser.reader.factory;
 
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.parser.LogLineParser;
 import backend.academy.analyser.reader.LogFileReader;
 import backend.academy.analyser.reader.UrlLogFileReader;
 import backend.academy.analyser.stats.StatsHandler;
-import java.time.LocalDateTime;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Фабрика для создания экземпляра UrlLogFileReader
@@ -12,10 +16,12 @@ public class UrlLogFileReaderFactory implements LogFileReaderFactory {
 
     @Override
     public LogFileReader createLogFileReader(
-        StatsHandler statsHandler, LocalDateTime fromTime, LocalDateTime toTime,
-        String filterField, String filterValue
+        StatsHandler statsHandler,
+        Predicate<NginxLogEntity> logsPredicate,
+        Supplier<LogLineParser> parserSupplier,
+        RunMetrics runMetrics
     ) {
-        return new UrlLogFileReader(statsHandler, fromTime, toTime, filterField, filterValue);
+        return new UrlLogFileReader(statsHandler, logsPredicate, parserSupplier, runMetrics);
     }
 
 }
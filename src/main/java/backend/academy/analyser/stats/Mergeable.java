@@ -0,0 +1,17 @@
+package backend.academy.analyser.stats;
+
+/**
+ * Статистика, которую можно объединить с другой статистикой того же типа
+ *
+ * @param <T> Тип объединяемой статистики
+ */
+public interface Mergeable<T extends Mergeable<T>> {
+
+    /**
+     * Добавляет к текущей статистике статистику, собранную в другом экземпляре.
+     * Переданный экземпляр не изменяется
+     *
+     * @param other Статистика, собранная по другой части логов
+     */
+    void merge(T other);
+}
@@ -0,0 +1,48 @@
+package backend.academy.analyser.stats;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import java.util.Set;
+
+/**
+ * Подключаемая статистика по логам
+ *
+ * @param <T> Тип статистики
+ */
+public interface StatsCollector<T extends StatsCollector<T>> extends Mergeable<T> {
+
+    /**
+     * Возвращает поля лога, которые нужны статистике
+     *
+     * @return Поля лога
+     */
+    Set<LogField> requiredFields();
+
+    /**
+     * Учитывает текущий лог
+     *
+     * @param nginxLogEntity Текущий лог
+     */
+    void update(NginxLogEntity nginxLogEntity);
+
+    /**
+     * Учитывает все логи пакета
+     *
+     * @param batch Пакет логов
+     */
+    void update(LogBatch batch);
+
+    /**
+     * Считает итоговые значения статистики после обработки всех логов
+     */
+    default void finish() {
+    }
+
+    /**
+     * Передает статистику в формирователь отчета
+     *
+     * @param renderer Формирователь отчета
+     */
+    void render(StatsRenderer renderer);
+}
@@ -0,0 +1,22 @@
+package backend.academy.analyser.stats;
+
+/**
+ * Поставщик подключаемой статистики, который находится через {@link java.util.ServiceLoader}
+ */
+public interface StatsCollectorProvider {
+
+    /**
+     * Возвращает имя статистики, по которому ее выбирают в параметре {@code --metrics}
+     *
+     * @return Имя статистики
+     */
+    String name();
+
+    /**
+     * Создает пустой экземпляр статистики
+     *
+     * @param options Настройки сбора статистики
+     * @return Пустой экземпляр статистики
+     */
+    StatsCollector<?> create(StatsOptions options);
+}
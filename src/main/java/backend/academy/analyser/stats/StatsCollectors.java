@@ -0,0 +1,57 @@
+package backend.academy.analyser.stats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Реестр статистик, найденных через {@link ServiceLoader}
+ */
+@UtilityClass
+public class StatsCollectors {
+
+    private static final Map<String, StatsCollectorProvider> PROVIDERS = loadProviders();
+
+    /**
+     * Возвращает имена всех найденных статистик в порядке регистрации
+     *
+     * @return Имена статистик
+     */
+    public static List<String> names() {
+        return List.copyOf(PROVIDERS.keySet());
+    }
+
+    /**
+     * Создает пустые экземпляры выбранных статистик
+     *
+     * @param options Настройки сбора статистики с именами выбранных статистик
+     * @return Выбранные статистики в порядке регистрации
+     */
+    public static List<StatsCollector<?>> create(StatsOptions options) {
+        Collection<String> metrics = options.metrics();
+        List<StatsCollector<?>> collectors = new ArrayList<>(metrics.size());
+        for (StatsCollectorProvider provider : PROVIDERS.values()) {
+            if (metrics.contains(provider.name())) {
+                collectors.add(provider.create(options));
+            }
+        }
+        return collectors;
+    }
+
+    /**
+     * Находит поставщиков статистик. Из поставщиков с одинаковым именем используется первый
+     *
+     * @return Поставщики по именам в порядке регистрации
+     */
+    private static Map<String, StatsCollectorProvider> loadProviders() {
+        Map<String, StatsCollectorProvider> providers = new LinkedHashMap<>();
+        for (StatsCollectorProvider provider : ServiceLoader.load(StatsCollectorProvider.class)) {
+            providers.putIfAbsent(provider.name(), provider);
+        }
+        return providers;
+    }
+}
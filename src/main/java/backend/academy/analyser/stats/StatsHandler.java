@@ -1,36 +1,45 @@
 package backend.academy.analyser.stats;
 
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
 import backend.academy.analyser.NginxLogEntity;
 import backend.academy.analyser.stats.date.DateStats;
+import backend.academy.analyser.stats.distinct.DistinctStats;
+import backend.academy.analyser.stats.quantile.PercentileMode;
 import backend.academy.analyser.stats.request.RequestStats;
 import backend.academy.analyser.stats.response.ResponseCodeStats;
-import com.google.common.math.Quantiles;
+import backend.academy.analyser.stats.size.ResponseSizeStats;
+import backend.academy.analyser.stats.topk.TopN;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.Getter;
 
 /**
  * Основной класс по сбору статистики
  */
-public class StatsHandler {
+public class StatsHandler implements Mergeable<StatsHandler> {
 
+    @Getter
+    private final List<StatsCollector<?>> collectors;
     @Getter
     private final RequestStats requestStats;
     @Getter
     private final ResponseCodeStats responseCodeStats;
     @Getter
     private final DateStats dateStats;
+    @Getter
+    private final DistinctStats distinctStats;
+    @Getter
+    private final ResponseSizeStats responseSizeStats;
 
     @Getter
-    private int requestCount;
+    private long requestCount;
     @Getter
-    private long sumResponseSize;
+    private long rejectedLineCount;
     @Getter
     private String files;
     @Getter
@@ -38,13 +47,7 @@ public class StatsHandler {
     @Getter
     private LocalDateTime toTime;
     @Getter
-    private int avgResponseSize;
-    @Getter
-    private int percentile;
-
-    private final List<Integer> responseSizes;
-
-    private static final int PERCENTILE = 95;
+    private final StatsOptions options;
 
     /**
      * Считает количество обработанных логов
@@ -53,16 +56,31 @@ public class StatsHandler {
         requestCount++;
     }
 
-    public StatsHandler(String files, LocalDateTime fromTime, LocalDateTime toTime) {
+    public StatsHandler(String files, LocalDateTime fromTime, LocalDateTime toTime, StatsOptions options) {
         this.fromTime = fromTime;
         this.toTime = toTime;
         this.files = files;
-        requestStats = new RequestStats();
-        responseCodeStats = new ResponseCodeStats();
-        responseSizes = new ArrayList<>();
-        dateStats = new DateStats();
+        this.options = options;
+        collectors = List.copyOf(StatsCollectors.create(options));
+        requestStats = findCollector(RequestStats.class);
+        responseCodeStats = findCollector(ResponseCodeStats.class);
+        dateStats = findCollector(DateStats.class);
+        distinctStats = findCollector(DistinctStats.class);
+        responseSizeStats = findCollector(ResponseSizeStats.class);
         requestCount = 0;
-        sumResponseSize = 0;
+    }
+
+    /**
+     * Возвращает поля лога, которые нужны выбранным статистикам
+     *
+     * @return Поля лога
+     */
+    public Set<LogField> requiredFields() {
+        Set<LogField> requiredFields = EnumSet.noneOf(LogField.class);
+        for (StatsCollector<?> collector : collectors) {
+            requiredFields.addAll(collector.requiredFields());
+        }
+        return requiredFields;
     }
 
     /**
@@ -72,15 +90,104 @@ public class StatsHandler {
      */
     public void updateStats(NginxLogEntity nginxLogEntity) {
         addRequestCount();
-        sumResponseSize += nginxLogEntity.bodyBytesSent();
-        responseCodeStats.changeResponseCodeStats(nginxLogEntity.status());
-        requestStats.changeRequestStats(nginxLogEntity);
-        dateStats.changeDateStats(nginxLogEntity);
-        responseSizes.add(nginxLogEntity.bodyBytesSent());
+        for (StatsCollector<?> collector : collectors) {
+            collector.update(nginxLogEntity);
+        }
+    }
+
+    /**
+     * Обновляет статистику по всем логам пакета. Каждая статистика обходит массивы пакета в собственном цикле
+     *
+     * @param batch Пакет логов
+     */
+    public void updateStats(LogBatch batch) {
+        requestCount += batch.size();
+        for (StatsCollector<?> collector : collectors) {
+            collector.update(batch);
+        }
+    }
+
+    /**
+     * Учитывает строки, которые парсер отбросил по проверкам полей до создания сущности лога
+     *
+     * @param rejectedLines Количество отброшенных строк
+     */
+    public void addRejectedLines(long rejectedLines) {
+        rejectedLineCount += rejectedLines;
+    }
+
+    /**
+     * Создает пустой экземпляр статистики с теми же источником и временным диапазоном
+     * для сбора статистики по части логов в отдельном потоке
+     *
+     * @return Пустой экземпляр статистики
+     */
+    public StatsHandler createPartial() {
+        return new StatsHandler(files, fromTime, toTime, options);
+    }
+
+    /**
+     * Добавляет к текущей статистике статистику, собранную по другой части логов.
+     * Обе статистики должны быть созданы с одними настройками
+     *
+     * @param other Статистика, собранная по другой части логов
+     */
+    @Override
+    public void merge(StatsHandler other) {
+        requestCount += other.requestCount;
+        rejectedLineCount += other.rejectedLineCount;
+        for (int i = 0; i < collectors.size(); i++) {
+            mergeCollector(collectors.get(i), other.collectors.get(i));
+        }
+    }
+
+    /**
+     * Возвращает уровни перцентилей размера ответа
+     *
+     * @return Уровни перцентилей
+     */
+    public List<Double> percentileLevels() {
+        return options.percentileLevels();
+    }
+
+    /**
+     * Возвращает способ подсчета перцентилей размера ответа
+     *
+     * @return Способ подсчета перцентилей
+     */
+    public PercentileMode percentileMode() {
+        return options.percentileMode();
+    }
+
+    /**
+     * Возвращает суммарный размер ответов
+     *
+     * @return Суммарный размер или 0, если статистика по размеру ответа не выбрана
+     */
+    public long sumResponseSize() {
+        return responseSizeStats == null ? 0 : responseSizeStats.sumResponseSize();
+    }
+
+    /**
+     * Возвращает средний размер ответа
+     *
+     * @return Средний размер или 0, если статистика по размеру ответа не выбрана
+     */
+    public int avgResponseSize() {
+        return responseSizeStats == null ? 0 : responseSizeStats.avgResponseSize();
+    }
+
+    /**
+     * Возвращает перцентили размера ответа
+     *
+     * @return Мапа из уровня в значение перцентиля или пустая мапа, если статистика по размеру ответа не выбрана
+     */
+    public Map<String, Integer> percentiles() {
+        return responseSizeStats == null ? Map.of() : responseSizeStats.percentiles();
     }
 
     /**
-     * Считает средний размер ответа и перцентиль размера ответа сервера
+     * Считает итоговые значения выбранных статистик
      */
     public void countStats() {
         if (fromTime == LocalDateTime.MIN) {
@@ -89,50 +196,56 @@ public class StatsHandler {
         if (toTime == LocalDateTime.MAX) {
             toTime = null;
         }
-        countResponseAvgSize();
-        calculatePercentile();
+        for (StatsCollector<?> collector : collectors) {
+            collector.finish();
+        }
     }
 
     /**
-     * Логика подсчета среднего размера ответа сервера
+     * Возвращает количество строк в таблицах самых частых значений
+     *
+     * @return Количество строк
      */
-    private void countResponseAvgSize() {
-        if (requestCount == 0) {
-            avgResponseSize = 0;
-        } else {
-            avgResponseSize = (int) (sumResponseSize / requestCount);
-        }
+    public int top() {
+        return options.top();
     }
 
     /**
-     * Логика подсчета перцентиля размера ответа сервера
+     * Выбирает из мапы выбранное количество записей с наибольшими значениями
+     *
+     * @param map Текущая мапа
+     * @return Выбранные записи по убыванию значения, при равных значениях — по возрастанию ключа
      */
-    private void calculatePercentile() {
-        if (responseSizes.isEmpty()) {
-            percentile = 0;
-            return;
-        }
-
-        Collections.sort(responseSizes);
-        percentile = (int) Quantiles.percentiles().index(PERCENTILE).compute(responseSizes);
+    public LinkedHashMap<String, Long> topRequestMap(Map<String, Long> map) {
+        return TopN.select(map, options.top());
     }
 
     /**
-     * Сортирует мапу из строки и числа по убыванию
+     * Находит выбранную статистику по ее типу
      *
-     * @param map Текущая мапа
-     * @return Отсортированная по убыванию мапа
+     * @param type Тип статистики
+     * @param <T> Тип статистики
+     * @return Статистика или null, если она не выбрана
      */
-    public LinkedHashMap<String, Integer> sortRequestMap(Map<String, Integer> map) {
-        List<Map.Entry<String, Integer>> list = new LinkedList<>(map.entrySet());
-
-        list.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
-
-        LinkedHashMap<String, Integer> sortedMap = new LinkedHashMap<>();
-
-        for (Map.Entry<String, Integer> entry : list) {
-            sortedMap.put(entry.getKey(), entry.getValue());
+    private <T> T findCollector(Class<T> type) {
+        for (StatsCollector<?> collector : collectors) {
+            if (type.isInstance(collector)) {
+                return type.cast(collector);
+            }
         }
-        return sortedMap;
+        return null;
+    }
+
+    /**
+     * Добавляет к статистике статистику того же типа, собранную по другой части логов
+     *
+     * @param target Статистика, к которой добавляется другая
+     * @param source Добавляемая статистика
+     * @param <T> Тип статистики
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends StatsCollector<T>> void mergeCollector(StatsCollector<T> target,
+        StatsCollector<?> source) {
+        target.merge((T) source);
     }
 }
@@ -0,0 +1,38 @@
+package backend.academy.analyser.stats;
+
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.HyperLogLog;
+import backend.academy.analyser.stats.quantile.PercentileMode;
+import java.util.List;
+
+/**
+ * Настройки сбора статистики
+ *
+ * @param percentileLevels Уровни перцентилей размера ответа
+ * @param percentileMode   Способ подсчета перцентилей
+ * @param heavyHitters     Количество счетчиков Space-Saving для запрошенных ресурсов или 0 для точного подсчета
+ * @param top              Количество строк в таблицах самых частых значений
+ * @param distinctPrecision Точность HyperLogLog для оценки количества различных значений
+ * @param resolution       Размер интервала временного ряда
+ * @param metrics          Имена выбранных статистик
+ */
+public record StatsOptions(
+    List<Double> percentileLevels,
+    PercentileMode percentileMode,
+    int heavyHitters,
+    int top,
+    int distinctPrecision,
+    TimeResolution resolution,
+    List<String> metrics
+) {
+
+    public static final List<Double> DEFAULT_PERCENTILE_LEVELS = List.of(95.0);
+    public static final int DEFAULT_TOP = 3;
+    public static final StatsOptions DEFAULT = new StatsOptions(DEFAULT_PERCENTILE_LEVELS, PercentileMode.SKETCH, 0,
+        DEFAULT_TOP, HyperLogLog.DEFAULT_PRECISION, TimeResolution.MINUTE, StatsCollectors.names());
+
+    public StatsOptions {
+        percentileLevels = List.copyOf(percentileLevels);
+        metrics = List.copyOf(metrics);
+    }
+}
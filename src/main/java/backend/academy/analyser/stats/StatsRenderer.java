@@ -0,0 +1,58 @@
+package backend.academy.analyser.stats;
+
+import backend.academy.analyser.stats.date.DateStats;
+import backend.academy.analyser.stats.distinct.DistinctStats;
+import backend.academy.analyser.stats.request.RequestStats;
+import backend.academy.analyser.stats.response.ResponseCodeStats;
+import backend.academy.analyser.stats.size.ResponseSizeStats;
+import java.util.List;
+
+/**
+ * Формирователь отчета, в который статистики передают себя методом {@link StatsCollector#render}
+ */
+public interface StatsRenderer {
+
+    /**
+     * Выводит статистику по запросам
+     *
+     * @param requestStats Статистика по запросам
+     */
+    void requestStats(RequestStats requestStats);
+
+    /**
+     * Выводит статистику по кодам ответа
+     *
+     * @param responseCodeStats Статистика по кодам ответа
+     */
+    void responseCodeStats(ResponseCodeStats responseCodeStats);
+
+    /**
+     * Выводит статистику по датам
+     *
+     * @param dateStats Статистика по датам
+     */
+    void dateStats(DateStats dateStats);
+
+    /**
+     * Выводит оценки количества различных значений
+     *
+     * @param distinctStats Оценки количества различных значений
+     */
+    void distinctStats(DistinctStats distinctStats);
+
+    /**
+     * Выводит статистику по размеру ответа
+     *
+     * @param responseSizeStats Статистика по размеру ответа
+     */
+    void responseSizeStats(ResponseSizeStats responseSizeStats);
+
+    /**
+     * Выводит таблицу сторонней статистики
+     *
+     * @param title Заголовок раздела
+     * @param columns Названия столбцов
+     * @param rows Строки таблицы
+     */
+    void table(String title, List<String> columns, List<List<String>> rows);
+}
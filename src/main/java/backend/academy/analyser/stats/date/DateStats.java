@@ -1,29 +1,162 @@
-    package backend.academy.analyser.stats.date;
+package backend.academy.analyser.stats.date;
 
-    import backend.academy.analyser.NginxLogEntity;
-    import java.util.HashMap;
-    import java.util.Map;
-    import lombok.Getter;
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.LogTime;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.stats.StatsCollector;
+import backend.academy.analyser.stats.StatsCollectorProvider;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.StatsRenderer;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Собирает статистику по датам логов
+ */
+public class DateStats implements StatsCollector<DateStats> {
+
+    public static final String NAME = "dates";
+    private static final int HOURS_IN_DAY = 24;
+
+    private final long[] hourCounts;
+    @Getter
+    private final TimeSeries timeSeries;
+
+    public DateStats() {
+        this(TimeResolution.MINUTE);
+    }
+
+    public DateStats(TimeResolution resolution) {
+        hourCounts = new long[HOURS_IN_DAY];
+        timeSeries = new TimeSeries(resolution.seconds());
+    }
 
     /**
-     * Собирает статистику по датам логов
+     * Добавляет единицу к счетчику часа, в который был записан текущий лог, и учитывает лог во временном ряду.
+     * Лог с некорректным временем не учитывается, как и в пакете
+     *
+     * @param nginxLogEntity Текущий лог
      */
-    @Getter
-    public class DateStats {
+    public void changeDateStats(NginxLogEntity nginxLogEntity) {
+        LogTime time = nginxLogEntity.time();
+        if (time == null) {
+            return;
+        }
+        hourCounts[time.hourOfDay()]++;
+        timeSeries.add(time.localEpochSecond(), nginxLogEntity.status(), nginxLogEntity.bodyBytesSent());
+    }
+
+    /**
+     * Добавляет к счетчикам часов и временному ряду все логи пакета. Логи с некорректным временем не учитываются
+     *
+     * @param batch Пакет логов
+     */
+    public void changeDateStats(LogBatch batch) {
+        long[] localEpochSeconds = batch.localEpochSeconds();
+        for (int i = 0; i < batch.size(); i++) {
+            if (localEpochSeconds[i] != LogBatch.NO_TIME) {
+                hourCounts[LogTime.localHour(localEpochSeconds[i])]++;
+            }
+        }
+        timeSeries.add(batch);
+    }
+
+    /**
+     * Возвращает количество логов по часам, в которые был записан хотя бы один лог
+     *
+     * @return Мапа из часа в количество логов
+     */
+    public Map<String, Long> hoursRequestCounts() {
+        Map<String, Long> hoursRequestCounts = new HashMap<>();
+        for (int hour = 0; hour < HOURS_IN_DAY; hour++) {
+            if (hourCounts[hour] > 0) {
+                hoursRequestCounts.put(String.valueOf(hour), hourCounts[hour]);
+            }
+        }
+        return hoursRequestCounts;
+    }
+
+    /**
+     * Выбирает интервалы временного ряда, в которые пришло больше всего запросов
+     *
+     * @param limit Наибольшее количество интервалов
+     * @return Интервалы по убыванию количества запросов
+     */
+    public List<TimeBucket> peakIntervals(int limit) {
+        return timeSeries.peakBuckets(limit);
+    }
+
+    /**
+     * Выбирает часы, в которые пришло больше всего запросов, по ряду, укрупненному до часа из уже собранных
+     * счетчиков без повторного чтения логов
+     *
+     * @param limit Наибольшее количество часов
+     * @return Часовые интервалы по убыванию количества запросов
+     */
+    public List<TimeBucket> peakHours(int limit) {
+        return timeSeries.rollup(TimeResolution.HOUR.seconds()).peakBuckets(limit);
+    }
+
+    /**
+     * Возвращает размер интервала временного ряда
+     *
+     * @return Размер интервала в секундах
+     */
+    public int resolutionSeconds() {
+        return timeSeries.bucketSeconds();
+    }
+
+    /**
+     * Добавляет к текущей статистике статистику по часам и временной ряд, собранные в другом экземпляре
+     *
+     * @param other Статистика, собранная по другой части логов
+     */
+    @Override
+    public void merge(DateStats other) {
+        for (int hour = 0; hour < HOURS_IN_DAY; hour++) {
+            hourCounts[hour] += other.hourCounts[hour];
+        }
+        timeSeries.merge(other.timeSeries);
+    }
+
+    @Override
+    public Set<LogField> requiredFields() {
+        return EnumSet.of(LogField.TIME, LogField.STATUS, LogField.BYTES);
+    }
+
+    @Override
+    public void update(NginxLogEntity nginxLogEntity) {
+        changeDateStats(nginxLogEntity);
+    }
 
-        private final Map<String, Integer> hoursRequestCounts;
+    @Override
+    public void update(LogBatch batch) {
+        changeDateStats(batch);
+    }
+
+    @Override
+    public void render(StatsRenderer renderer) {
+        renderer.dateStats(this);
+    }
+
+    /**
+     * Поставщик статистики по датам
+     */
+    public static final class Provider implements StatsCollectorProvider {
 
-        public DateStats() {
-            hoursRequestCounts = new HashMap<>();
+        @Override
+        public String name() {
+            return NAME;
         }
 
-        /**
-         * Добавляет в мапу с часами логов единицу в зависимости от времени в логе
-         *
-         * @param nginxLogEntity Текущий лог
-         */
-        public void changeDateStats(NginxLogEntity nginxLogEntity) {
-            String hour = String.valueOf(nginxLogEntity.timeLocal().getHour());
-            hoursRequestCounts.put(hour, hoursRequestCounts.getOrDefault(hour, 0) + 1);
+        @Override
+        public StatsCollector<?> create(StatsOptions options) {
+            return new DateStats(options.resolution());
         }
     }
+}
@@ -0,0 +1,12 @@
+package backend.academy.analyser.stats.date;
+
+/**
+ * Один интервал временного ряда
+ *
+ * @param startEpochSecond Начало интервала в местном времени в секундах эпохи
+ * @param requests         Количество запросов
+ * @param errors           Количество ответов с кодом 5xx
+ * @param bytes            Сумма размеров ответов в байтах
+ */
+public record TimeBucket(long startEpochSecond, long requests, long errors, long bytes) {
+}
@@ -0,0 +1,37 @@
+package backend.academy.analyser.stats.date;
+
+import lombok.Getter;
+
+/**
+ * Enum доступных размеров интервала временного ряда
+ */
+@Getter
+public enum TimeResolution {
+    SECOND("1s", 1),
+    MINUTE("1m", 60),
+    FIVE_MINUTES("5m", 300),
+    HOUR("1h", 3600);
+
+    private final String optionName;
+    private final int seconds;
+
+    TimeResolution(String optionName, int seconds) {
+        this.optionName = optionName;
+        this.seconds = seconds;
+    }
+
+    /**
+     * Ищет размер интервала по его имени
+     *
+     * @param optionName Имя размера, переданное пользователем
+     * @return Размер интервала или null, если размер с таким именем не найден
+     */
+    public static TimeResolution fromOptionName(String optionName) {
+        for (TimeResolution resolution : values()) {
+            if (resolution.optionName.equals(optionName)) {
+                return resolution;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,192 @@
+package backend.academy.analyser.stats.date;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.stats.Mergeable;
+import backend.academy.analyser.stats.topk.TopN;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Временной ряд с количеством запросов, ошибок и размером ответов в интервалах фиксированного размера
+ */
+public final class TimeSeries implements Mergeable<TimeSeries> {
+
+    public static final int PAGE_SIZE = 1024;
+
+    private static final int SERVER_ERROR_STATUS = 500;
+    private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final Comparator<TimeBucket> BY_REQUESTS_DESCENDING =
+        Comparator.comparingLong(TimeBucket::requests).reversed().thenComparingLong(TimeBucket::startEpochSecond);
+
+    private final int bucketSeconds;
+    private final Long2ObjectOpenHashMap<Page> pages = new Long2ObjectOpenHashMap<>();
+    private long lastPageIndex = Long.MIN_VALUE;
+    private Page lastPage;
+
+    public TimeSeries(int bucketSeconds) {
+        if (bucketSeconds < 1) {
+            throw new IllegalArgumentException("Bucket size must be positive: " + bucketSeconds);
+        }
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    /**
+     * Учитывает один запрос
+     *
+     * @param localEpochSecond Местное время запроса в секундах эпохи
+     * @param status Код ответа
+     * @param bytes Размер ответа
+     */
+    public void add(long localEpochSecond, int status, int bytes) {
+        addToBucket(Math.floorDiv(localEpochSecond, bucketSeconds), 1, status >= SERVER_ERROR_STATUS ? 1 : 0, bytes);
+    }
+
+    /**
+     * Учитывает все логи пакета. Логи с некорректным временем не учитываются
+     *
+     * @param batch Пакет логов
+     */
+    public void add(LogBatch batch) {
+        long[] localEpochSeconds = batch.localEpochSeconds();
+        int[] statuses = batch.statuses();
+        int[] bodyBytesSent = batch.bodyBytesSent();
+        for (int i = 0; i < batch.size(); i++) {
+            if (localEpochSeconds[i] != LogBatch.NO_TIME) {
+                add(localEpochSeconds[i], statuses[i], bodyBytesSent[i]);
+            }
+        }
+    }
+
+    /**
+     * Возвращает размер интервала
+     *
+     * @return Размер интервала в секундах
+     */
+    public int bucketSeconds() {
+        return bucketSeconds;
+    }
+
+    /**
+     * Возвращает интервалы, в которые попал хотя бы один запрос, в порядке времени
+     *
+     * @return Интервалы ряда
+     */
+    public List<TimeBucket> buckets() {
+        long[] pageIndexes = pages.keySet().toLongArray();
+        Arrays.sort(pageIndexes);
+        List<TimeBucket> buckets = new ArrayList<>();
+        for (long pageIndex : pageIndexes) {
+            Page page = pages.get(pageIndex);
+            for (int offset = 0; offset < PAGE_SIZE; offset++) {
+                if (page.requests[offset] > 0) {
+                    long bucket = (pageIndex << PAGE_SHIFT) + offset;
+                    buckets.add(new TimeBucket(bucket * bucketSeconds, page.requests[offset], page.errors[offset],
+                        page.bytes[offset]));
+                }
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Выбирает интервалы с наибольшим количеством запросов
+     *
+     * @param limit Наибольшее количество выбираемых интервалов
+     * @return Интервалы по убыванию количества запросов, при равных количествах — по времени
+     */
+    public List<TimeBucket> peakBuckets(int limit) {
+        return TopN.select(buckets(), limit, BY_REQUESTS_DESCENDING);
+    }
+
+    /**
+     * Строит ряд с более крупными интервалами из счетчиков текущего ряда
+     *
+     * @param coarserBucketSeconds Размер интервала нового ряда, кратный текущему
+     * @return Новый ряд
+     */
+    public TimeSeries rollup(int coarserBucketSeconds) {
+        if (coarserBucketSeconds % bucketSeconds != 0) {
+            throw new IllegalArgumentException("Bucket size " + coarserBucketSeconds
+                + " is not a multiple of " + bucketSeconds);
+        }
+        TimeSeries rollup = new TimeSeries(coarserBucketSeconds);
+        int factor = coarserBucketSeconds / bucketSeconds;
+        for (Long2ObjectMap.Entry<Page> entry : pages.long2ObjectEntrySet()) {
+            Page page = entry.getValue();
+            long firstBucket = entry.getLongKey() << PAGE_SHIFT;
+            for (int offset = 0; offset < PAGE_SIZE; offset++) {
+                if (page.requests[offset] > 0) {
+                    rollup.addToBucket(Math.floorDiv(firstBucket + offset, factor), page.requests[offset],
+                        page.errors[offset], page.bytes[offset]);
+                }
+            }
+        }
+        return rollup;
+    }
+
+    /**
+     * Добавляет к текущему ряду счетчики другого ряда с тем же размером интервала
+     *
+     * @param other Ряд, собранный по другой части логов
+     */
+    @Override
+    public void merge(TimeSeries other) {
+        if (other.bucketSeconds != bucketSeconds) {
+            throw new IllegalArgumentException("Only time series with the same bucket size can be merged");
+        }
+        for (Long2ObjectMap.Entry<Page> entry : other.pages.long2ObjectEntrySet()) {
+            Page otherPage = entry.getValue();
+            Page page = page(entry.getLongKey());
+            for (int offset = 0; offset < PAGE_SIZE; offset++) {
+                page.requests[offset] += otherPage.requests[offset];
+                page.errors[offset] += otherPage.errors[offset];
+                page.bytes[offset] += otherPage.bytes[offset];
+            }
+        }
+    }
+
+    /**
+     * Прибавляет значения к счетчикам интервала
+     *
+     * @param bucket Номер интервала от начала эпохи
+     * @param requests Количество запросов
+     * @param errors Количество ошибок
+     * @param bytes Сумма размеров ответов
+     */
+    private void addToBucket(long bucket, long requests, long errors, long bytes) {
+        Page page = page(bucket >> PAGE_SHIFT);
+        int offset = (int) (bucket & PAGE_MASK);
+        page.requests[offset] += requests;
+        page.errors[offset] += errors;
+        page.bytes[offset] += bytes;
+    }
+
+    /**
+     * Возвращает страницу по номеру, создавая ее при первом обращении. Последняя страница запоминается,
+     * поэтому логи, идущие по порядку времени, не ищутся в мапе страниц
+     *
+     * @param pageIndex Номер страницы
+     * @return Страница счетчиков
+     */
+    private Page page(long pageIndex) {
+        if (pageIndex != lastPageIndex || lastPage == null) {
+            lastPage = pages.computeIfAbsent(pageIndex, index -> new Page());
+            lastPageIndex = pageIndex;
+        }
+        return lastPage;
+    }
+
+    /**
+     * Счетчики {@value #PAGE_SIZE} соседних интервалов
+     */
+    private static final class Page {
+        private final long[] requests = new long[PAGE_SIZE];
+        private final long[] errors = new long[PAGE_SIZE];
+        private final long[] bytes = new long[PAGE_SIZE];
+    }
+}
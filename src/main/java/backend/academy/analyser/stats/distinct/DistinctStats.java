@@ -0,0 +1,152 @@
+package backend.academy.analyser.stats.distinct;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.stats.StatsCollector;
+import backend.academy.analyser.stats.StatsCollectorProvider;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.StatsRenderer;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Собирает оценки количества различных адресов клиентов, ресурсов и user-agent
+ */
+@Getter
+public class DistinctStats implements StatsCollector<DistinctStats> {
+
+    public static final String NAME = "distinct";
+    private final HyperLogLog remoteAddrs;
+    private final HyperLogLog resources;
+    private final HyperLogLog userAgents;
+
+    public DistinctStats() {
+        this(HyperLogLog.DEFAULT_PRECISION);
+    }
+
+    public DistinctStats(int precision) {
+        remoteAddrs = new HyperLogLog(precision);
+        resources = new HyperLogLog(precision);
+        userAgents = new HyperLogLog(precision);
+    }
+
+    /**
+     * Учитывает адрес клиента, ресурс и user-agent текущего лога. Поля, которые парсер не декодировал,
+     * и ресурсы неразобранных запросов не учитываются
+     *
+     * @param nginxLogEntity Текущий лог
+     */
+    public void changeDistinctStats(NginxLogEntity nginxLogEntity) {
+        addIfPresent(remoteAddrs, nginxLogEntity.remoteAddr());
+        addIfPresent(userAgents, nginxLogEntity.httpUserAgent());
+        HttpRequest request = nginxLogEntity.request();
+        if (request != null && !request.isMalformed()) {
+            resources.add(request.path());
+        }
+    }
+
+    /**
+     * Учитывает все логи пакета. Ресурсы хешируются один раз на каждый различный ресурс пакета
+     *
+     * @param batch Пакет логов
+     */
+    public void changeDistinctStats(LogBatch batch) {
+        String[] batchRemoteAddrs = batch.remoteAddrs();
+        String[] batchUserAgents = batch.userAgents();
+        for (int i = 0; i < batch.size(); i++) {
+            addIfPresent(remoteAddrs, batchRemoteAddrs[i]);
+            addIfPresent(userAgents, batchUserAgents[i]);
+        }
+        batch.paths().addCounts(batch.pathIds(), batch.size(), (path, count) -> resources.add(path));
+    }
+
+    /**
+     * Оценивает количество различных адресов клиентов
+     *
+     * @return Оценка количества
+     */
+    public long uniqueRemoteAddrs() {
+        return remoteAddrs.estimate();
+    }
+
+    /**
+     * Оценивает количество различных запрошенных ресурсов
+     *
+     * @return Оценка количества
+     */
+    public long uniqueResources() {
+        return resources.estimate();
+    }
+
+    /**
+     * Оценивает количество различных user-agent
+     *
+     * @return Оценка количества
+     */
+    public long uniqueUserAgents() {
+        return userAgents.estimate();
+    }
+
+    /**
+     * Добавляет к текущим оценкам оценки, собранные в другом экземпляре
+     *
+     * @param other Статистика, собранная по другой части логов
+     */
+    @Override
+    public void merge(DistinctStats other) {
+        remoteAddrs.merge(other.remoteAddrs);
+        resources.merge(other.resources);
+        userAgents.merge(other.userAgents);
+    }
+
+    /**
+     * Учитывает значение поля, если парсер его декодировал
+     *
+     * @param hyperLogLog Оценка количества различных значений поля
+     * @param value Значение поля или null
+     */
+    private static void addIfPresent(HyperLogLog hyperLogLog, String value) {
+        if (value != null) {
+            hyperLogLog.add(value);
+        }
+    }
+
+    @Override
+    public Set<LogField> requiredFields() {
+        return EnumSet.of(LogField.REMOTE_ADDR, LogField.REQUEST, LogField.USER_AGENT);
+    }
+
+    @Override
+    public void update(NginxLogEntity nginxLogEntity) {
+        changeDistinctStats(nginxLogEntity);
+    }
+
+    @Override
+    public void update(LogBatch batch) {
+        changeDistinctStats(batch);
+    }
+
+    @Override
+    public void render(StatsRenderer renderer) {
+        renderer.distinctStats(this);
+    }
+
+    /**
+     * Поставщик оценок количества различных значений
+     */
+    public static final class Provider implements StatsCollectorProvider {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public StatsCollector<?> create(StatsOptions options) {
+            return new DistinctStats(options.distinctPrecision());
+        }
+    }
+}
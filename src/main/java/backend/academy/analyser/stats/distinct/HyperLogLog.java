@@ -0,0 +1,214 @@
+package backend.academy.analyser.stats.distinct;
+
+import backend.academy.analyser.stats.Mergeable;
+import java.util.Arrays;
+
+/**
+ * Оценка количества различных значений по алгоритму HyperLogLog
+ */
+public final class HyperLogLog implements Mergeable<HyperLogLog> {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+    public static final int DEFAULT_PRECISION = 14;
+
+    private static final int HASH_BITS = Long.SIZE;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long MIX_MULTIPLIER_1 = 0xff51afd7ed558ccdL;
+    private static final long MIX_MULTIPLIER_2 = 0xc4ceb9fe1a85ec53L;
+    private static final int MIX_SHIFT = 33;
+    private static final double ALPHA_INFINITY = 1 / (2 * Math.log(2));
+    private static final double THIRD = 1.0 / 3;
+    private static final double HALF = 0.5;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and "
+                + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Восстанавливает оценку из массива, полученного {@link #toBytes()}
+     *
+     * @param bytes Точность в первом байте и значения регистров в остальных
+     * @return Оценка количества различных значений
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty HyperLogLog bytes");
+        }
+        HyperLogLog hyperLogLog = new HyperLogLog(bytes[0]);
+        if (bytes.length != hyperLogLog.registers.length + 1) {
+            throw new IllegalArgumentException("Invalid HyperLogLog bytes length: " + bytes.length);
+        }
+        System.arraycopy(bytes, 1, hyperLogLog.registers, 0, hyperLogLog.registers.length);
+        return hyperLogLog;
+    }
+
+    /**
+     * Учитывает строковое значение
+     *
+     * @param value Значение
+     */
+    public void add(CharSequence value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Учитывает значение по его 64-битному хешу с равномерно распределенными битами
+     *
+     * @param hash Хеш значения
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (HASH_BITS - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Оценивает количество различных учтенных значений
+     *
+     * @return Оценка количества
+     */
+    public long estimate() {
+        int registerCount = registers.length;
+        int maxRank = HASH_BITS - precision + 1;
+        int[] histogram = new int[maxRank + 1];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        if (histogram[0] == registerCount) {
+            return 0;
+        }
+        double z = registerCount * tau(1 - (double) histogram[maxRank] / registerCount);
+        for (int rank = maxRank - 1; rank >= 1; rank--) {
+            z = HALF * (z + histogram[rank]);
+        }
+        z += registerCount * sigma((double) histogram[0] / registerCount);
+        return Math.round(ALPHA_INFINITY * registerCount * registerCount / z);
+    }
+
+    /**
+     * Возвращает точность оценки
+     *
+     * @return Количество бит хеша, выбирающих регистр
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Добавляет к текущей оценке регистры другой оценки той же точности
+     *
+     * @param other Оценка, собранная по другой части логов или сохраненная в другом запуске
+     */
+    @Override
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Only HyperLogLog with the same precision can be merged");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Сохраняет оценку в массив, из которого ее можно восстановить {@link #fromBytes(byte[])}
+     *
+     * @return Точность в первом байте и значения регистров в остальных
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 1];
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HyperLogLog hyperLogLog && Arrays.equals(registers, hyperLogLog.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+
+    /**
+     * Хеширует строку в 64 бита: FNV-1a по символам с перемешиванием результата финализатором MurmurHash3,
+     * чтобы старшие биты, выбирающие регистр, зависели от всех символов
+     *
+     * @param value Строка
+     * @return Хеш строки
+     */
+    public static long hash(CharSequence value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_MULTIPLIER_1;
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_MULTIPLIER_2;
+        hash ^= hash >>> MIX_SHIFT;
+        return hash;
+    }
+
+    /**
+     * Поправка оценки на пустые регистры
+     *
+     * @param x Доля пустых регистров
+     * @return Значение функции σ(x)
+     */
+    private static double sigma(double x) {
+        double power = x;
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            power *= power;
+            previous = z;
+            z += power * y;
+            y += y;
+        } while (Double.compare(previous, z) != 0);
+        return z;
+    }
+
+    /**
+     * Поправка оценки на регистры с наибольшим возможным значением
+     *
+     * @param x Доля регистров с наибольшим значением, вычтенная из единицы
+     * @return Значение функции τ(x)
+     */
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double root = x;
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            root = Math.sqrt(root);
+            previous = z;
+            y *= HALF;
+            z -= (1 - root) * (1 - root) * y;
+        } while (Double.compare(previous, z) != 0);
+        return z * THIRD;
+    }
+}
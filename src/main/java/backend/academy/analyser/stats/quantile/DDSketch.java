@@ -0,0 +1,108 @@
+package backend.academy.analyser.stats.quantile;
+
+/**
+ * Скетч перцентилей с ограниченной относительной ошибкой по алгоритму DDSketch
+ */
+public final class DDSketch implements QuantileEstimator {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private static final double PERCENT = 100.0;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double inverseLogGamma;
+    private final long[] bins;
+    private long zeroCount;
+    private long count;
+
+    public DDSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public DDSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.inverseLogGamma = 1 / Math.log(gamma);
+        this.bins = new long[binIndex(Integer.MAX_VALUE) + 1];
+    }
+
+    @Override
+    public void add(int value) {
+        if (value <= 0) {
+            zeroCount++;
+        } else {
+            bins[binIndex(value)]++;
+        }
+        count++;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public int percentile(double level) {
+        if (count == 0) {
+            return 0;
+        }
+        double rank = level / PERCENT * (count - 1);
+        long lowerRank = (long) Math.floor(rank);
+        double lowerValue = valueAtRank(lowerRank);
+        double upperValue = valueAtRank((long) Math.ceil(rank));
+        double value = lowerValue + (upperValue - lowerValue) * (rank - lowerRank);
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(value));
+    }
+
+    /**
+     * Добавляет к текущему скетчу счетчики другого скетча с той же точностью
+     *
+     * @param other Скетч, собранный по другой части логов
+     */
+    @Override
+    public void merge(QuantileEstimator other) {
+        if (!(other instanceof DDSketch otherSketch)
+            || Double.compare(otherSketch.relativeAccuracy, relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Only sketches with the same accuracy can be merged");
+        }
+        for (int i = 0; i < bins.length; i++) {
+            bins[i] += otherSketch.bins[i];
+        }
+        zeroCount += otherSketch.zeroCount;
+        count += otherSketch.count;
+    }
+
+    /**
+     * Вычисляет номер корзины для положительного значения
+     *
+     * @param value Положительное значение
+     * @return Номер корзины
+     */
+    private int binIndex(int value) {
+        return (int) Math.ceil(Math.log(value) * inverseLogGamma);
+    }
+
+    /**
+     * Находит оценку значения с заданным рангом в порядке возрастания
+     *
+     * @param rank Ранг значения от 0 до count - 1
+     * @return Середина корзины, в которую попадает значение, с относительной ошибкой не больше α
+     */
+    private double valueAtRank(long rank) {
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (rank < seen) {
+                return 2 * Math.pow(gamma, i) / (gamma + 1);
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,82 @@
+package backend.academy.analyser.stats.quantile;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import java.util.Arrays;
+
+/**
+ * Точный подсчет перцентилей по гистограмме частот различных значений
+ */
+public final class ExactHistogram implements QuantileEstimator {
+
+    private static final double PERCENT = 100.0;
+
+    private final Int2LongOpenHashMap valueCounts = new Int2LongOpenHashMap();
+    private long count;
+
+    @Override
+    public void add(int value) {
+        valueCounts.addTo(value, 1);
+        count++;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Вычисляет точный перцентиль с линейной интерполяцией между соседними рангами.
+     * Дробная часть результата отбрасывается
+     *
+     * @param level Уровень перцентиля от 0 до 100
+     * @return Значение перцентиля или 0, если значений нет
+     */
+    @Override
+    public int percentile(double level) {
+        if (count == 0) {
+            return 0;
+        }
+        int[] values = valueCounts.keySet().toIntArray();
+        Arrays.sort(values);
+        double rank = level / PERCENT * (count - 1);
+        long lowerRank = (long) Math.floor(rank);
+        int lowerValue = valueAtRank(values, lowerRank);
+        int upperValue = valueAtRank(values, (long) Math.ceil(rank));
+        return (int) (lowerValue + ((double) upperValue - lowerValue) * (rank - lowerRank));
+    }
+
+    /**
+     * Добавляет к текущей гистограмме частоты значений другой гистограммы
+     *
+     * @param other Гистограмма, собранная по другой части логов
+     */
+    @Override
+    public void merge(QuantileEstimator other) {
+        if (!(other instanceof ExactHistogram otherHistogram)) {
+            throw new IllegalArgumentException("Only exact histograms can be merged");
+        }
+        for (Int2LongMap.Entry entry : otherHistogram.valueCounts.int2LongEntrySet()) {
+            valueCounts.addTo(entry.getIntKey(), entry.getLongValue());
+        }
+        count += otherHistogram.count;
+    }
+
+    /**
+     * Находит значение с заданным рангом в порядке возрастания
+     *
+     * @param values Различные значения, отсортированные по возрастанию
+     * @param rank Ранг значения от 0 до count - 1
+     * @return Значение с заданным рангом
+     */
+    private int valueAtRank(int[] values, long rank) {
+        long seen = 0;
+        for (int value : values) {
+            seen += valueCounts.get(value);
+            if (rank < seen) {
+                return value;
+            }
+        }
+        return values[values.length - 1];
+    }
+}
@@ -0,0 +1,45 @@
+package backend.academy.analyser.stats.quantile;
+
+import java.util.function.Supplier;
+import lombok.Getter;
+
+/**
+ * Enum доступных способов подсчета перцентилей размера ответа
+ */
+public enum PercentileMode {
+    SKETCH("sketch", DDSketch::new),
+    EXACT("exact", ExactHistogram::new);
+
+    @Getter
+    private final String optionName;
+    private final Supplier<QuantileEstimator> estimatorSupplier;
+
+    PercentileMode(String optionName, Supplier<QuantileEstimator> estimatorSupplier) {
+        this.optionName = optionName;
+        this.estimatorSupplier = estimatorSupplier;
+    }
+
+    /**
+     * Создает новый пустой экземпляр оценки перцентилей выбранного типа
+     *
+     * @return Оценка перцентилей
+     */
+    public QuantileEstimator create() {
+        return estimatorSupplier.get();
+    }
+
+    /**
+     * Ищет способ подсчета перцентилей по его имени
+     *
+     * @param optionName Имя способа, переданное пользователем
+     * @return Способ подсчета или null, если способ с таким именем не найден
+     */
+    public static PercentileMode fromOptionName(String optionName) {
+        for (PercentileMode percentileMode : values()) {
+            if (percentileMode.optionName.equals(optionName)) {
+                return percentileMode;
+            }
+        }
+        return null;
+    }
+}
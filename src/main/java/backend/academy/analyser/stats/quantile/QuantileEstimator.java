@@ -0,0 +1,43 @@
+package backend.academy.analyser.stats.quantile;
+
+import backend.academy.analyser.stats.Mergeable;
+
+/**
+ * Потоковая оценка перцентилей размера ответа сервера
+ */
+public interface QuantileEstimator extends Mergeable<QuantileEstimator> {
+
+    /**
+     * Учитывает очередное значение
+     *
+     * @param value Неотрицательное значение
+     */
+    void add(int value);
+
+    /**
+     * Учитывает значения из массива
+     *
+     * @param values Неотрицательные значения
+     * @param size Количество учитываемых элементов массива
+     */
+    default void add(int[] values, int size) {
+        for (int i = 0; i < size; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Возвращает количество учтенных значений
+     *
+     * @return Количество значений
+     */
+    long count();
+
+    /**
+     * Вычисляет перцентиль учтенных значений с линейной интерполяцией между соседними рангами
+     *
+     * @param level Уровень перцентиля от 0 до 100
+     * @return Значение перцентиля или 0, если значений нет
+     */
+    int percentile(double level);
+}
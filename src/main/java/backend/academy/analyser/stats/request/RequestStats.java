@@ -1,37 +1,145 @@
 package backend.academy.analyser.stats.request;
 
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
 import backend.academy.analyser.NginxLogEntity;
-import java.util.HashMap;
-import java.util.Map;
+import backend.academy.analyser.stats.StatsCollector;
+import backend.academy.analyser.stats.StatsCollectorProvider;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.StatsRenderer;
+import backend.academy.analyser.stats.topk.SpaceSaving;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import java.util.EnumSet;
+import java.util.Set;
 import lombok.Getter;
-import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
 
 /**
  * Собирает статистику по запросам в логах
  */
 @Getter
-public class RequestStats {
+public class RequestStats implements StatsCollector<RequestStats> {
 
-    private final Map<String, Integer> requestResourceCounts;
-    private final Map<String, Integer> requestMethodsCounts;
+    public static final String NAME = "requests";
+    private final Object2LongOpenHashMap<String> requestResourceCounts;
+    private final Object2LongOpenHashMap<String> requestMethodsCounts;
+    private final SpaceSaving resourceHeavyHitters;
 
     public RequestStats() {
-        requestResourceCounts = new HashMap<>();
-        requestMethodsCounts = new HashMap<>();
+        this(0);
+    }
+
+    public RequestStats(int heavyHitters) {
+        requestResourceCounts = new Object2LongOpenHashMap<>();
+        requestMethodsCounts = new Object2LongOpenHashMap<>();
+        resourceHeavyHitters = heavyHitters > 0 ? new SpaceSaving(heavyHitters) : null;
     }
 
     /**
-     * Добавляет по единице в мапы для запрошенных ресурсов и выполненных методов в зависимости от текущего лога
+     * Проверяет, считаются ли запрошенные ресурсы приближенно
+     *
+     * @return Результат проверки
+     */
+    public boolean isApproximate() {
+        return resourceHeavyHitters != null;
+    }
+
+    /**
+     * Добавляет по единице в счетчики запрошенных ресурсов и выполненных методов в зависимости от текущего лога.
+     * Логи с неразобранным запросом не учитываются
      *
      * @param nginxLogEntity Текущий лог
      */
     public void changeRequestStats(NginxLogEntity nginxLogEntity) {
-        String[] parsedHttpRequest = parseHttpRequest(nginxLogEntity.request());
-        int methodPositionInHttpRequest = 0;
-        int resourcePositionInHttpRequest = 1;
-        requestResourceCounts.put(parsedHttpRequest[resourcePositionInHttpRequest],
-            requestResourceCounts.getOrDefault(parsedHttpRequest[resourcePositionInHttpRequest], 0) + 1);
-        requestMethodsCounts.put(parsedHttpRequest[methodPositionInHttpRequest],
-            requestMethodsCounts.getOrDefault(parsedHttpRequest[methodPositionInHttpRequest], 0) + 1);
+        HttpRequest request = nginxLogEntity.request();
+        if (request == null || request.isMalformed()) {
+            return;
+        }
+        if (resourceHeavyHitters != null) {
+            resourceHeavyHitters.add(request.path());
+        } else {
+            requestResourceCounts.addTo(request.path(), 1);
+        }
+        requestMethodsCounts.addTo(request.method(), 1);
+    }
+
+    /**
+     * Добавляет к мапам запрошенных ресурсов и методов все логи пакета. Номера считаются в массивах словарей пакета,
+     * и мапы обновляются по строке один раз на каждый различный ресурс и метод пакета. Словари очищаются вместе
+     * с пакетом, поэтому строки хешируются в мапы при учете каждого пакета, а не только при выводе отчета
+     *
+     * @param batch Пакет логов
+     */
+    public void changeRequestStats(LogBatch batch) {
+        if (resourceHeavyHitters != null) {
+            batch.paths().addCounts(batch.pathIds(), batch.size(), resourceHeavyHitters::add);
+        } else {
+            batch.paths().addCounts(batch.pathIds(), batch.size(), requestResourceCounts);
+        }
+        batch.methods().addCounts(batch.methodIds(), batch.size(), requestMethodsCounts);
+    }
+
+    /**
+     * Добавляет к текущей статистике статистику по запросам, собранную в другом экземпляре
+     *
+     * @param other Статистика, собранная по другой части логов
+     */
+    @Override
+    public void merge(RequestStats other) {
+        if (resourceHeavyHitters != null) {
+            resourceHeavyHitters.merge(other.resourceHeavyHitters);
+        } else {
+            addCounts(requestResourceCounts, other.requestResourceCounts);
+        }
+        addCounts(requestMethodsCounts, other.requestMethodsCounts);
+    }
+
+    /**
+     * Прибавляет счетчики одной мапы к счетчикам другой без упаковки значений
+     *
+     * @param target Мапа, к которой прибавляются счетчики
+     * @param source Мапа с прибавляемыми счетчиками
+     */
+    private static void addCounts(Object2LongOpenHashMap<String> target, Object2LongOpenHashMap<String> source) {
+        for (Object2LongMap.Entry<String> entry : source.object2LongEntrySet()) {
+            target.addTo(entry.getKey(), entry.getLongValue());
+        }
+    }
+
+    @Override
+    public Set<LogField> requiredFields() {
+        return EnumSet.of(LogField.REQUEST);
+    }
+
+    @Override
+    public void update(NginxLogEntity nginxLogEntity) {
+        changeRequestStats(nginxLogEntity);
+    }
+
+    @Override
+    public void update(LogBatch batch) {
+        changeRequestStats(batch);
+    }
+
+    @Override
+    public void render(StatsRenderer renderer) {
+        renderer.requestStats(this);
+    }
+
+    /**
+     * Поставщик статистики по запросам
+     */
+    public static final class Provider implements StatsCollectorProvider {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public StatsCollector<?> create(StatsOptions options) {
+            return new RequestStats(options.heavyHitters());
+        }
     }
 }
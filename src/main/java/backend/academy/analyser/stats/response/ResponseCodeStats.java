@@ -1,61 +1,147 @@
 package backend.academy.analyser.stats.response;
 
-import java.util.Comparator;
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.stats.StatsCollector;
+import backend.academy.analyser.stats.StatsCollectorProvider;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.StatsRenderer;
+import backend.academy.analyser.stats.topk.TopN;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
-import lombok.Getter;
-import lombok.Setter;
+import java.util.Set;
 
 /**
  * Класс для сбора статистики по ответам сервера
  */
-public class ResponseCodeStats {
+public class ResponseCodeStats implements StatsCollector<ResponseCodeStats> {
 
-    @Getter
-    @Setter
-    private HashMap<Integer, Integer> responseCodesMap;
+    public static final String NAME = "codes";
+    private static final int MIN_STATUS_CODE = 100;
+    private static final int MAX_STATUS_CODE = 599;
+
+    private final long[] statusCounts;
+    @SuppressFBWarnings("DMC_DUBIOUS_MAP_COLLECTION")
+    private final Int2LongOpenHashMap nonStandardStatusCounts;
 
     public ResponseCodeStats() {
-        responseCodesMap = new HashMap<>();
-        initResponseCodeStats();
+        statusCounts = new long[MAX_STATUS_CODE - MIN_STATUS_CODE + 1];
+        nonStandardStatusCounts = new Int2LongOpenHashMap();
+    }
+
+    /**
+     * Прибавляет единицу к счетчику встреченного кода ответа. Коды от 100 до 599 считаются в массиве по индексу,
+     * остальные в отдельной мапе
+     *
+     * @param code Текущий код ответа
+     */
+    public void changeResponseCodeStats(int code) {
+        if (code >= MIN_STATUS_CODE && code <= MAX_STATUS_CODE) {
+            statusCounts[code - MIN_STATUS_CODE]++;
+        } else {
+            nonStandardStatusCounts.addTo(code, 1);
+        }
     }
 
     /**
-     * Инициализация мапы ответов сервера
+     * Прибавляет к счетчикам коды ответа из массива
+     *
+     * @param codes Коды ответа
+     * @param size Количество учитываемых элементов массива
      */
-    private void initResponseCodeStats() {
+    public void changeResponseCodeStats(int[] codes, int size) {
+        for (int i = 0; i < size; i++) {
+            changeResponseCodeStats(codes[i]);
+        }
+    }
+
+    /**
+     * Возвращает количество ответов по кодам: все известные коды из {@link Code}, в том числе не встреченные,
+     * и все встреченные коды
+     *
+     * @return Мапа из кода ответа в количество ответов
+     */
+    public HashMap<Integer, Long> responseCodesMap() {
+        HashMap<Integer, Long> responseCodesMap = new HashMap<>();
         for (Code code : Code.values()) {
-            responseCodesMap.put(code.code(), 0);
+            responseCodesMap.put(code.code(), 0L);
+        }
+        for (int i = 0; i < statusCounts.length; i++) {
+            if (statusCounts[i] > 0) {
+                responseCodesMap.put(i + MIN_STATUS_CODE, statusCounts[i]);
+            }
+        }
+        for (Int2LongMap.Entry entry : nonStandardStatusCounts.int2LongEntrySet()) {
+            responseCodesMap.put(entry.getIntKey(), entry.getLongValue());
         }
+        return responseCodesMap;
     }
 
     /**
-     * Прибавляет единицу в мапе к встреченному коду ответа
+     * Добавляет к текущей статистике статистику по кодам ответа, собранную в другом экземпляре
      *
-     * @param code Текущий код ответа
+     * @param other Статистика, собранная по другой части логов
      */
-    public void changeResponseCodeStats(int code) {
-        responseCodesMap.put(code, responseCodesMap.getOrDefault(code, 0) + 1);
+    @Override
+    public void merge(ResponseCodeStats other) {
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] += other.statusCounts[i];
+        }
+        for (Int2LongMap.Entry entry : other.nonStandardStatusCounts.int2LongEntrySet()) {
+            nonStandardStatusCounts.addTo(entry.getIntKey(), entry.getLongValue());
+        }
     }
 
     /**
-     * Сортирует мапу с кодами ответа по убыванию
+     * Выбирает коды ответа с наибольшим количеством ответов
      *
      * @param map Мапа встреченных кодов ответа
-     * @return Отсортированная мапа встреченных кодов ответа
+     * @param limit Наибольшее количество выбираемых кодов
+     * @return Выбранные коды по убыванию количества, при равных количествах — по возрастанию кода
      */
-    public LinkedHashMap<Integer, Integer> sortCodeMap(HashMap<Integer, Integer> map) {
-        List<Map.Entry<Integer, Integer>> list = new LinkedList<>(map.entrySet());
+    public LinkedHashMap<Integer, Long> topCodeMap(Map<Integer, Long> map, int limit) {
+        return TopN.select(map, limit);
+    }
+
+    @Override
+    public Set<LogField> requiredFields() {
+        return EnumSet.of(LogField.STATUS);
+    }
+
+    @Override
+    public void update(NginxLogEntity nginxLogEntity) {
+        changeResponseCodeStats(nginxLogEntity.status());
+    }
 
-        list.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
+    @Override
+    public void update(LogBatch batch) {
+        changeResponseCodeStats(batch.statuses(), batch.size());
+    }
+
+    @Override
+    public void render(StatsRenderer renderer) {
+        renderer.responseCodeStats(this);
+    }
+
+    /**
+     * Поставщик статистики по кодам ответа
+     */
+    public static final class Provider implements StatsCollectorProvider {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
 
-        LinkedHashMap<Integer, Integer> sortedMap = new LinkedHashMap<>();
-        for (Map.Entry<Integer, Integer> entry : list) {
-            sortedMap.put(entry.getKey(), entry.getValue());
+        @Override
+        public StatsCollector<?> create(StatsOptions options) {
+            return new ResponseCodeStats();
         }
-        return sortedMap;
     }
 }
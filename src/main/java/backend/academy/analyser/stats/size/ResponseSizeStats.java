@@ -0,0 +1,121 @@
+package backend.academy.analyser.stats.size;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.stats.StatsCollector;
+import backend.academy.analyser.stats.StatsCollectorProvider;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.StatsRenderer;
+import backend.academy.analyser.stats.quantile.PercentileMode;
+import backend.academy.analyser.stats.quantile.QuantileEstimator;
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Собирает статистику по размеру ответа сервера
+ */
+public class ResponseSizeStats implements StatsCollector<ResponseSizeStats> {
+
+    public static final String NAME = "sizes";
+
+    private final List<Double> percentileLevels;
+    private final QuantileEstimator responseSizes;
+
+    @Getter
+    private long sumResponseSize;
+    @Getter
+    private int avgResponseSize;
+    @Getter
+    private Map<String, Integer> percentiles;
+
+    public ResponseSizeStats(List<Double> percentileLevels, PercentileMode percentileMode) {
+        this.percentileLevels = List.copyOf(percentileLevels);
+        responseSizes = percentileMode.create();
+        percentiles = new LinkedHashMap<>();
+    }
+
+    @Override
+    public Set<LogField> requiredFields() {
+        return EnumSet.of(LogField.BYTES);
+    }
+
+    /**
+     * Учитывает размер ответа текущего лога
+     *
+     * @param nginxLogEntity Текущий лог
+     */
+    @Override
+    public void update(NginxLogEntity nginxLogEntity) {
+        sumResponseSize += nginxLogEntity.bodyBytesSent();
+        responseSizes.add(nginxLogEntity.bodyBytesSent());
+    }
+
+    /**
+     * Учитывает размеры ответа всех логов пакета
+     *
+     * @param batch Пакет логов
+     */
+    @Override
+    public void update(LogBatch batch) {
+        int size = batch.size();
+        int[] bodyBytesSent = batch.bodyBytesSent();
+        long batchResponseSize = 0;
+        for (int i = 0; i < size; i++) {
+            batchResponseSize += bodyBytesSent[i];
+        }
+        sumResponseSize += batchResponseSize;
+        responseSizes.add(bodyBytesSent, size);
+    }
+
+    /**
+     * Добавляет к текущей статистике статистику по размеру ответа, собранную в другом экземпляре
+     *
+     * @param other Статистика, собранная по другой части логов
+     */
+    @Override
+    public void merge(ResponseSizeStats other) {
+        sumResponseSize += other.sumResponseSize;
+        responseSizes.merge(other.responseSizes);
+    }
+
+    /**
+     * Считает средний размер ответа и перцентили размера ответа
+     */
+    @Override
+    public void finish() {
+        long count = responseSizes.count();
+        avgResponseSize = count == 0 ? 0 : (int) (sumResponseSize / count);
+        percentiles = LinkedHashMap.newLinkedHashMap(percentileLevels.size());
+        for (double level : percentileLevels) {
+            percentiles.put(BigDecimal.valueOf(level).stripTrailingZeros().toPlainString(),
+                responseSizes.percentile(level));
+        }
+    }
+
+    @Override
+    public void render(StatsRenderer renderer) {
+        renderer.responseSizeStats(this);
+    }
+
+    /**
+     * Поставщик статистики по размеру ответа
+     */
+    public static final class Provider implements StatsCollectorProvider {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public StatsCollector<?> create(StatsOptions options) {
+            return new ResponseSizeStats(options.percentileLevels(), options.percentileMode());
+        }
+    }
+}
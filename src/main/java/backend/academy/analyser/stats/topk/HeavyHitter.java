@@ -0,0 +1,20 @@
+package backend.academy.analyser.stats.topk;
+
+/**
+ * Оценка количества одного частого значения
+ *
+ * @param item  Значение
+ * @param count Оценка количества сверху
+ * @param error Наибольшая возможная переоценка количества
+ */
+public record HeavyHitter(String item, long count, long error) {
+
+    /**
+     * Возвращает количество, которое значение гарантированно набрало
+     *
+     * @return Оценка количества снизу
+     */
+    public long guaranteedCount() {
+        return count - error;
+    }
+}
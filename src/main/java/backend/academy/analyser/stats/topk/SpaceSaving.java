@@ -0,0 +1,236 @@
+package backend.academy.analyser.stats.topk;
+
+import backend.academy.analyser.stats.Mergeable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Поиск самых частых значений потока по алгоритму Space-Saving с фиксированным числом счетчиков
+ */
+@SuppressFBWarnings("PL_PARALLEL_LISTS")
+public final class SpaceSaving implements Mergeable<SpaceSaving> {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final Comparator<HeavyHitter> BY_COUNT_DESCENDING =
+        Comparator.comparingLong(HeavyHitter::count).reversed().thenComparing(HeavyHitter::item);
+
+    private final int capacity;
+    private final String[] items;
+    private final long[] counts;
+    private final long[] errors;
+    private final Object2IntOpenHashMap<String> positions;
+    private int size;
+    private long total;
+
+    public SpaceSaving() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new Object2IntOpenHashMap<>(capacity);
+        this.positions.defaultReturnValue(-1);
+    }
+
+    /**
+     * Учитывает одно появление значения
+     *
+     * @param item Значение
+     */
+    public void add(String item) {
+        add(item, 1);
+    }
+
+    /**
+     * Учитывает несколько появлений значения
+     *
+     * @param item Значение
+     * @param count Количество появлений
+     */
+    public void add(String item, long count) {
+        total += count;
+        int position = positions.getInt(item);
+        if (position >= 0) {
+            counts[position] += count;
+            siftDown(position);
+        } else if (size < capacity) {
+            set(size, item, count, 0);
+            siftUp(size++);
+        } else {
+            positions.removeInt(items[0]);
+            long minCount = counts[0];
+            set(0, item, minCount + count, minCount);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Возвращает самые частые значения по убыванию оценки количества, при равных оценках — по значению
+     *
+     * @param limit Наибольшее количество значений
+     * @return Оценки самых частых значений
+     */
+    public List<HeavyHitter> top(int limit) {
+        List<HeavyHitter> heavyHitters = heavyHitters();
+        heavyHitters.sort(BY_COUNT_DESCENDING);
+        return List.copyOf(heavyHitters.subList(0, Math.min(limit, heavyHitters.size())));
+    }
+
+    /**
+     * Возвращает количество учтенных появлений всех значений
+     *
+     * @return Количество появлений
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Возвращает количество счетчиков
+     *
+     * @return Количество счетчиков
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Возвращает наибольшую возможную переоценку для значения, которого нет в структуре: пока счетчиков
+     * хватает, это 0, иначе — наименьшее количество среди счетчиков, не превышающее N / k
+     *
+     * @return Наибольшая переоценка отсутствующего значения
+     */
+    public long maxError() {
+        return size < capacity ? 0 : counts[0];
+    }
+
+    /**
+     * Добавляет к текущей структуре другую. Значение, которого нет в одной из структур, получает из нее
+     * ее наибольшую переоценку отсутствующего значения, после чего остаются k значений с наибольшими оценками
+     *
+     * @param other Структура, собранная по другой части логов
+     */
+    @Override
+    public void merge(SpaceSaving other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Cannot merge Space-Saving with different capacity");
+        }
+        long thisMaxError = maxError();
+        long otherMaxError = other.maxError();
+        List<HeavyHitter> merged = new ArrayList<>(size + other.size);
+        for (int i = 0; i < size; i++) {
+            int otherPosition = other.positions.getInt(items[i]);
+            merged.add(otherPosition >= 0
+                ? new HeavyHitter(items[i], counts[i] + other.counts[otherPosition],
+                errors[i] + other.errors[otherPosition])
+                : new HeavyHitter(items[i], counts[i] + otherMaxError, errors[i] + otherMaxError));
+        }
+        for (int i = 0; i < other.size; i++) {
+            if (!positions.containsKey(other.items[i])) {
+                merged.add(new HeavyHitter(other.items[i], other.counts[i] + thisMaxError,
+                    other.errors[i] + thisMaxError));
+            }
+        }
+        merged.sort(BY_COUNT_DESCENDING);
+        positions.clear();
+        size = Math.min(capacity, merged.size());
+        for (int i = 0; i < size; i++) {
+            HeavyHitter heavyHitter = merged.get(i);
+            set(i, heavyHitter.item(), heavyHitter.count(), heavyHitter.error());
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        total += other.total;
+    }
+
+    /**
+     * Возвращает оценки всех значений структуры без сортировки
+     *
+     * @return Оценки значений
+     */
+    private List<HeavyHitter> heavyHitters() {
+        List<HeavyHitter> heavyHitters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            heavyHitters.add(new HeavyHitter(items[i], counts[i], errors[i]));
+        }
+        return heavyHitters;
+    }
+
+    /**
+     * Записывает счетчик в позицию кучи
+     *
+     * @param position Позиция в куче
+     * @param item Значение
+     * @param count Оценка количества
+     * @param error Переоценка количества
+     */
+    private void set(int position, String item, long count, long error) {
+        items[position] = item;
+        counts[position] = count;
+        errors[position] = error;
+        positions.put(item, position);
+    }
+
+    /**
+     * Поднимает счетчик к корню кучи, пока его количество меньше количества родителя
+     *
+     * @param position Позиция счетчика
+     */
+    private void siftUp(int position) {
+        int current = position;
+        while (current > 0) {
+            int parent = (current - 1) / 2;
+            if (counts[parent] <= counts[current]) {
+                break;
+            }
+            swap(current, parent);
+            current = parent;
+        }
+    }
+
+    /**
+     * Опускает счетчик от корня кучи, пока его количество больше количества меньшего из потомков
+     *
+     * @param position Позиция счетчика
+     */
+    private void siftDown(int position) {
+        int current = position;
+        int child = 2 * current + 1;
+        while (child < size) {
+            if (child + 1 < size && counts[child + 1] < counts[child]) {
+                child++;
+            }
+            if (counts[current] <= counts[child]) {
+                break;
+            }
+            swap(current, child);
+            current = child;
+            child = 2 * current + 1;
+        }
+    }
+
+    /**
+     * Меняет местами два счетчика кучи
+     *
+     * @param first Позиция первого счетчика
+     * @param second Позиция второго счетчика
+     */
+    private void swap(int first, int second) {
+        String item = items[first];
+        long count = counts[first];
+        long error = errors[first];
+        set(first, items[second], counts[second], errors[second]);
+        set(second, item, count, error);
+    }
+}
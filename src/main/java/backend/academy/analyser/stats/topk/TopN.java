@@ -0,0 +1,65 @@
+package backend.academy.analyser.stats.topk;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Выбор N лучших элементов с помощью кучи размера N без сортировки всех элементов
+ */
+@UtilityClass
+public class TopN {
+
+    private static final int MAX_INITIAL_CAPACITY = 64;
+
+    /**
+     * Выбирает записи с наибольшими количествами
+     *
+     * @param counts Количества по ключам
+     * @param limit Наибольшее количество выбираемых записей
+     * @param <K> Тип ключей
+     * @return Выбранные записи по убыванию количества, при равных количествах — по возрастанию ключа
+     */
+    public static <K extends Comparable<? super K>> LinkedHashMap<K, Long> select(Map<K, Long> counts, int limit) {
+        List<Map.Entry<K, Long>> winners = select(counts.entrySet(), limit,
+            Map.Entry.<K, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        LinkedHashMap<K, Long> top = LinkedHashMap.newLinkedHashMap(winners.size());
+        for (Map.Entry<K, Long> entry : winners) {
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+
+    /**
+     * Выбирает первые элементы в заданном порядке
+     *
+     * @param items Элементы
+     * @param limit Наибольшее количество выбираемых элементов
+     * @param order Порядок, в котором лучшие элементы идут первыми
+     * @param <T> Тип элементов
+     * @return Выбранные элементы в заданном порядке
+     */
+    public static <T> List<T> select(Iterable<T> items, int limit, Comparator<? super T> order) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY), order.reversed());
+        for (T item : items) {
+            if (heap.size() < limit) {
+                heap.add(item);
+            } else if (order.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<T> winners = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            winners.add(heap.poll());
+        }
+        return winners.reversed();
+    }
+}
@@ -0,0 +1,31 @@
+package backend.academy.analyser;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для пакета разобранных логов")
+public class LogBatchTest {
+
+    @DisplayName("Тест ограничения словарей переиспользуемого пакета размером пакета")
+    @Test
+    void testClearResetsDictionaries() {
+        LogBatch batch = new LogBatch(16);
+        int maxPaths = 0;
+        for (int i = 0; i < 10_000; i++) {
+            batch.add(new NginxLogEntity("-", "-", LogTime.of(LocalDateTime.MIN, ZoneOffset.UTC),
+                new HttpRequest("GET", "/path/" + i, "HTTP/1.1"), 200, 0, "-", "-"));
+            maxPaths = Math.max(maxPaths, batch.paths().size());
+            if (batch.isFull()) {
+                assertEquals("/path/" + i, batch.paths().value(batch.pathIds()[batch.size() - 1]));
+                batch.clear();
+            }
+        }
+
+        assertTrue(maxPaths <= 16);
+        assertEquals(0, batch.methods().size());
+    }
+}
@@ -1,15 +1,30 @@
 package backend.academy.analyser;
 
-import backend.academy.analyser.parser.HttpRequestParser;
+import backend.academy.analyser.filter.FieldPredicates;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.parser.ParserType;
+import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.HyperLogLog;
+import backend.academy.analyser.stats.quantile.PercentileMode;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Predicate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.MockedStatic;
+import org.junit.jupiter.params.provider.EnumSource;
+import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Тесты для класса фильтрации логов по дате и полям")
@@ -45,19 +60,11 @@ public class LogsFilterTest {
     })
     void testFilterByRequestPath(String logRequest, String filterPath, boolean expectedResult) {
         LogsFilter logsFilter = new LogsFilter("requestPath", filterPath);
-        when(nginxLogEntity.request()).thenReturn(logRequest);
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest(logRequest));
 
-        try (MockedStatic<HttpRequestParser> parserMock = mockStatic(HttpRequestParser.class)) {
-            parserMock.when(() -> HttpRequestParser.parseHttpRequest(logRequest))
-                .thenAnswer(_ -> {
-                    String[] parts = logRequest.split(" ");
-                    return new String[] {parts[0], parts[1], parts[2]};
-                });
-
-            boolean result = logsFilter.filter(nginxLogEntity);
+        boolean result = logsFilter.filter(nginxLogEntity);
 
-            assertEquals(expectedResult, result);
-        }
+        assertEquals(expectedResult, result);
     }
 
     @DisplayName("Тест фильтрации по версии протокола")
@@ -68,16 +75,11 @@ public class LogsFilterTest {
     })
     void testFilterByRequestProtocol(String logRequest, String filterProtocol, boolean expectedResult) {
         LogsFilter logsFilter = new LogsFilter("requestProtocol", filterProtocol);
-        when(nginxLogEntity.request()).thenReturn(logRequest);
-
-        try (MockedStatic<HttpRequestParser> parserMock = mockStatic(HttpRequestParser.class)) {
-            parserMock.when(() -> HttpRequestParser.parseHttpRequest(logRequest))
-                .thenReturn(new String[] {"GET", "/downloads/product_1", "HTTP/1.1"});
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest(logRequest));
 
-            boolean result = logsFilter.filter(nginxLogEntity);
+        boolean result = logsFilter.filter(nginxLogEntity);
 
-            assertEquals(expectedResult, result);
-        }
+        assertEquals(expectedResult, result);
     }
 
     @DisplayName("Тест фильтрации по статусу ответа")
@@ -149,7 +151,7 @@ public class LogsFilterTest {
     void testFilterByDate(String logDate, String filterDate, boolean expectedResult) {
         LogsFilter logsFilter = new LogsFilter("date", filterDate);
         LocalDateTime logDateTime = LocalDateTime.parse(logDate);
-        when(nginxLogEntity.timeLocal()).thenReturn(logDateTime);
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(logDateTime, ZoneOffset.UTC));
 
         boolean result = logsFilter.filter(nginxLogEntity);
 
@@ -179,19 +181,11 @@ public class LogsFilterTest {
     })
     void testFilterByRequestMethod(String logRequest, String filterMethod, boolean expectedResult) {
         LogsFilter logsFilter = new LogsFilter("requestMethod", filterMethod);
-        when(nginxLogEntity.request()).thenReturn(logRequest);
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest(logRequest));
 
-        try (MockedStatic<HttpRequestParser> parserMock = mockStatic(HttpRequestParser.class)) {
-            parserMock.when(() -> HttpRequestParser.parseHttpRequest(logRequest))
-                .thenAnswer(_ -> {
-                    String[] parts = logRequest.split(" ");
-                    return new String[] {parts[0], parts[1], parts[2]};
-                });
-
-            boolean result = logsFilter.filter(nginxLogEntity);
+        boolean result = logsFilter.filter(nginxLogEntity);
 
-            assertEquals(expectedResult, result);
-        }
+        assertEquals(expectedResult, result);
     }
 
     @DisplayName("Тест фильтрации по диапазону дат")
@@ -200,15 +194,89 @@ public class LogsFilterTest {
         "2022-10-01T00:00:00, 2024-12-31T23:59:59, 2023-11-15T12:00:00, true",
         "2024-10-01T00:00:00, 2024-12-31T23:59:59, 2025-11-15T12:00:00, false"
     })
-    void testCheckFromToDate(String from, String to, String actual, boolean expectedResult) {
+    void testFilterByDateRange(String from, String to, String actual, boolean expectedResult) {
         LocalDateTime fromDateTime = LocalDateTime.parse(from);
         LocalDateTime toDateTime = LocalDateTime.parse(to);
-        LocalDateTime actualDateTime = LocalDateTime.parse(actual);
-        LogsFilter logsFilter = new LogsFilter("field", "value");
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.parse(actual), ZoneOffset.UTC));
 
-        boolean result = logsFilter.checkFromToDate(fromDateTime, toDateTime, actualDateTime);
+        boolean result = LogsFilter.compile("field", "value", fromDateTime, toDateTime).test(nginxLogEntity);
 
         assertEquals(expectedResult, result);
     }
 
+    @DisplayName("Тест фильтрации по числовым полям с нечисловым значением фильтра")
+    @ParameterizedTest
+    @CsvSource({
+        "status, 0404",
+        "status, 4o4",
+        "bytes, ''"
+    })
+    void testFilterByNumericFieldWithInvalidValue(String filterField, String filterValue) {
+        LogsFilter logsFilter = new LogsFilter(filterField, filterValue);
+        when(nginxLogEntity.status()).thenReturn(404);
+        when(nginxLogEntity.bodyBytesSent()).thenReturn(0);
+
+        assertFalse(logsFilter.filter(nginxLogEntity));
+    }
+
+    @DisplayName("Тест фильтра по неизвестному полю")
+    @Test
+    void testFilterByUnknownField() {
+        LogsFilter logsFilter = new LogsFilter("field", "value");
+
+        assertTrue(logsFilter.filter(nginxLogEntity));
+    }
+
+    @DisplayName("Тест скомпилированного фильтра по полю и диапазону дат")
+    @ParameterizedTest
+    @CsvSource({
+        "404, 2023-11-15T12:00:00, true",
+        "500, 2023-11-15T12:00:00, false",
+        "404, 2025-11-15T12:00:00, false"
+    })
+    void testCompileWithDateRange(int logStatus, String logDate, boolean expectedResult) {
+        Predicate<NginxLogEntity> predicate = LogsFilter.compile("status", "404",
+            LocalDateTime.parse("2022-10-01T00:00:00"), LocalDateTime.parse("2024-12-31T23:59:59"));
+        when(nginxLogEntity.status()).thenReturn(logStatus);
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.parse(logDate), ZoneOffset.UTC));
+
+        assertEquals(expectedResult, predicate.test(nginxLogEntity));
+    }
+
+
+    @DisplayName("Тест проверок полей, в которые компилируется фильтр")
+    @Test
+    void testFieldPredicates() {
+        FieldPredicates predicates = LogsFilter.fieldPredicates("status", "404",
+            LocalDateTime.parse("2022-10-01T00:00:00"), LocalDateTime.parse("2024-12-31T23:59:59"));
+
+        assertEquals(EnumSet.of(LogField.TIME, LogField.STATUS), predicates.fields());
+        assertTrue(predicates.testInt(LogField.STATUS, 404));
+        assertFalse(predicates.testInt(LogField.STATUS, 500));
+        assertTrue(predicates.testInt(LogField.BYTES, 0));
+        assertFalse(predicates.testTime(null));
+        assertFalse(predicates.testTime(LogTime.of(LocalDateTime.parse("2025-01-01T00:00:00"), ZoneOffset.UTC)));
+        assertEquals(EnumSet.of(LogField.REFERER),
+            LogsFilter.fieldPredicates("referer", "google", LocalDateTime.MIN, LocalDateTime.MAX).fields());
+        assertEquals(EnumSet.of(LogField.TIME, LogField.REFERER),
+            LogsFilter.fieldPredicates("referer", "google", LocalDateTime.MIN, LocalDateTime.of(2024, 12, 31, 0, 0)).fields());
+    }
+
+    @DisplayName("Проверка, что без фильтров время не декодируется для статистики кодов ответа")
+    @ParameterizedTest
+    @EnumSource(ParserType.class)
+    void testFieldPredicatesWithoutTimeRange(ParserType parserType) {
+        StatsOptions options = new StatsOptions(StatsOptions.DEFAULT_PERCENTILE_LEVELS, PercentileMode.EXACT, 0,
+            StatsOptions.DEFAULT_TOP, HyperLogLog.DEFAULT_PRECISION, TimeResolution.MINUTE, List.of("codes"));
+        StatsHandler stats = new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX, options);
+        FieldPredicates predicates = LogsFilter.fieldPredicates("", "", LocalDateTime.MIN, LocalDateTime.MAX);
+        LogLineParser parser = parserType.create(stats.requiredFields(), predicates);
+
+        NginxLogEntity entity = parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] "
+            + "\"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3\"");
+
+        assertEquals(EnumSet.noneOf(LogField.class), predicates.fields());
+        assertEquals(304, entity.status());
+        assertNull(entity.time());
+    }
 }
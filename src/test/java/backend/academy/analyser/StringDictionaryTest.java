@@ -0,0 +1,92 @@
+package backend.academy.analyser;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Тесты для словаря повторяющихся строк")
+public class StringDictionaryTest {
+
+    @DisplayName("Тест присвоения номеров в порядке первого появления")
+    @Test
+    void testId() {
+        StringDictionary dictionary = new StringDictionary();
+
+        assertEquals(0, dictionary.id("GET"));
+        assertEquals(1, dictionary.id("POST"));
+        assertEquals(0, dictionary.id(new String("GET")));
+        assertEquals(2, dictionary.size());
+        assertEquals("POST", dictionary.value(1));
+    }
+
+    @DisplayName("Тест подсчета номеров с пропуском отсутствующих значений")
+    @Test
+    void testAddCounts() {
+        StringDictionary dictionary = new StringDictionary();
+        int[] ids = new int[200];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i % 3 == 0 ? StringDictionary.NO_ID : dictionary.id("/path/" + i % 100);
+        }
+        Object2LongOpenHashMap<String> counts = new Object2LongOpenHashMap<>();
+        counts.put("/path/1", 10);
+
+        dictionary.addCounts(ids, ids.length, counts);
+        dictionary.addCounts(ids, 2, counts);
+
+        assertEquals(100, dictionary.size());
+        assertEquals(13, counts.getLong("/path/1"));
+        assertEquals(1, counts.getLong("/path/2"));
+        assertEquals(1, counts.getLong("/path/0"));
+        assertEquals(100, counts.size());
+    }
+
+    @DisplayName("Тест поиска значения по диапазону строки без создания новой строки")
+    @Test
+    void testIdByRange() {
+        StringDictionary dictionary = new StringDictionary();
+        String line = "- - \"Mozilla/5.0\" \"Mozilla/5.0\"";
+
+        int firstId = dictionary.id(line, 5, 16);
+        String firstValue = dictionary.value(firstId);
+        int secondId = dictionary.id(new StringBuilder(line), 19, 30);
+
+        assertEquals("Mozilla/5.0", firstValue);
+        assertEquals(firstId, secondId);
+        assertSame(firstValue, dictionary.value(secondId));
+        assertEquals(firstId, dictionary.id("Mozilla/5.0"));
+        assertEquals(1, dictionary.size());
+    }
+
+    @DisplayName("Тест увеличения таблицы и ограничения размера словаря")
+    @Test
+    void testGrowthAndMaxSize() {
+        StringDictionary dictionary = new StringDictionary(1000);
+        for (int i = 0; i < 1500; i++) {
+            int id = dictionary.id("agent-" + i);
+            assertEquals(i < 1000 ? i : StringDictionary.NO_ID, id);
+        }
+
+        assertEquals(1000, dictionary.size());
+        assertEquals(999, dictionary.id("agent-999"));
+        assertEquals("agent-0", dictionary.value(dictionary.id("agent-0")));
+    }
+
+    @DisplayName("Тест повторного заполнения словаря после очистки")
+    @Test
+    void testClear() {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 100; i++) {
+            dictionary.id("/path/" + i);
+        }
+
+        dictionary.clear();
+
+        assertEquals(0, dictionary.size());
+        assertEquals(0, dictionary.id("/path/50"));
+        assertEquals(1, dictionary.id("/path/1"));
+        assertEquals(0, dictionary.id("/path/50"));
+        assertEquals("/path/1", dictionary.value(1));
+    }
+}
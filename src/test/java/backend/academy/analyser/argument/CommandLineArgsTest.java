@@ -1,10 +1,14 @@
 package backend.academy.analyser.argument;
 
+import backend.academy.analyser.parser.ParserType;
+import backend.academy.analyser.reader.ReadMode;
+import backend.academy.analyser.stats.quantile.PercentileMode;
 import com.beust.jcommander.ParameterException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -70,6 +74,76 @@ public class CommandLineArgsTest {
         assertThrows(DateTimeParseException.class, () -> dateConverter.convert("2024-11-10T12:30:00"));
     }
 
+    @DisplayName("Проверка конвертации аргумента с именем парсера")
+    @Test
+    void testParserTypeConverter() {
+        CommandLineArgs.ParserTypeConverter parserTypeConverter = new CommandLineArgs.ParserTypeConverter();
+
+        assertEquals(ParserType.SINGLE_PASS, parserTypeConverter.convert("single-pass"));
+        assertEquals(ParserType.REGEX, parserTypeConverter.convert("regex"));
+        assertThrows(ParameterException.class, () -> parserTypeConverter.convert("antlr"));
+    }
+
+    @DisplayName("Проверка конвертации аргумента с режимом чтения файлов")
+    @Test
+    void testReadModeConverter() {
+        CommandLineArgs.ReadModeConverter readModeConverter = new CommandLineArgs.ReadModeConverter();
+
+        assertEquals(ReadMode.BUFFERED, readModeConverter.convert("buffered"));
+        assertEquals(ReadMode.MAPPED, readModeConverter.convert("mmap"));
+        assertThrows(ParameterException.class, () -> readModeConverter.convert("direct"));
+    }
+
+    @DisplayName("Проверка валидации количества потоков обработки")
+    @Test
+    void testValidatorThreads() {
+        CommandLineArgs.ValidatorThreads validatorThreads = new CommandLineArgs.ValidatorThreads();
+
+        assertDoesNotThrow(() -> validatorThreads.validate("--threads", "4"));
+        assertThrows(ParameterException.class, () -> validatorThreads.validate("--threads", "0"));
+        assertThrows(ParameterException.class, () -> validatorThreads.validate("--threads", "many"));
+    }
+
+    @DisplayName("Проверка конвертации уровня перцентиля")
+    @Test
+    void testPercentileConverter() {
+        CommandLineArgs.PercentileConverter percentileConverter = new CommandLineArgs.PercentileConverter();
+
+        assertEquals(99.9, percentileConverter.convert("99.9"));
+        assertThrows(ParameterException.class, () -> percentileConverter.convert("101"));
+        assertThrows(ParameterException.class, () -> percentileConverter.convert("p95"));
+    }
+
+    @DisplayName("Проверка конвертации способа подсчета перцентилей")
+    @Test
+    void testPercentileModeConverter() {
+        CommandLineArgs.PercentileModeConverter percentileModeConverter = new CommandLineArgs.PercentileModeConverter();
+
+        assertEquals(PercentileMode.SKETCH, percentileModeConverter.convert("sketch"));
+        assertEquals(PercentileMode.EXACT, percentileModeConverter.convert("exact"));
+        assertThrows(ParameterException.class, () -> percentileModeConverter.convert("t-digest"));
+    }
+
+    @DisplayName("Проверка конвертации выражения фильтрации")
+    @Test
+    void testFilterExpressionConverter() {
+        CommandLineArgs.FilterExpressionConverter filterExpressionConverter =
+            new CommandLineArgs.FilterExpressionConverter();
+
+        assertNotNull(filterExpressionConverter.convert("status>=500 AND agent~'Mozilla'"));
+        assertThrows(ParameterException.class, () -> filterExpressionConverter.convert("status>=500 AND"));
+        assertThrows(ParameterException.class, () -> filterExpressionConverter.convert("unknown=1"));
+    }
+
+    @DisplayName("Проверка конвертации имени статистики")
+    @Test
+    void testMetricConverter() {
+        CommandLineArgs.MetricConverter metricConverter = new CommandLineArgs.MetricConverter();
+
+        assertEquals("codes", metricConverter.convert("codes"));
+        assertThrows(ParameterException.class, () -> metricConverter.convert("latency"));
+    }
+
     @DisplayName("Проверка валидации аргументов в целом с корректными аргументами")
     @Test
     void testCommandLineArgsValidArgs() {
@@ -79,7 +153,8 @@ public class CommandLineArgsTest {
             "--to", "2024-11-11T12:30:00+00:00",
             "--format", "markdown",
             "--filter-field", "userAgent",
-            "--filter-value", "Mozilla"
+            "--filter-value", "Mozilla",
+            "--percentiles", "50,99.9"
         };
 
         CommandLineArgs commandLineArgs = new CommandLineArgs();
@@ -94,6 +169,7 @@ public class CommandLineArgsTest {
         assertEquals("markdown", commandLineArgs.outFormat());
         assertEquals("userAgent", commandLineArgs.filterField());
         assertEquals("Mozilla", commandLineArgs.filterValue());
+        assertEquals(List.of(50.0, 99.9), commandLineArgs.percentiles());
     }
 
     @DisplayName("Проверка валидации аргументов в целом с некорректными аргументами")
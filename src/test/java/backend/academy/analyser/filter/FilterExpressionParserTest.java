@@ -0,0 +1,195 @@
+package backend.academy.analyser.filter;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.LogTime;
+import backend.academy.analyser.NginxLogEntity;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для парсера выражений фильтрации")
+public class FilterExpressionParserTest {
+
+    private static final NginxLogEntity SERVER_ERROR = new NginxLogEntity("93.180.71.3", "-",
+        LogTime.of(LocalDateTime.of(2015, 5, 17, 8, 5, 32), ZoneOffset.UTC), new HttpRequest("GET", "/api/products", "HTTP/1.1"), 503, 1024, "-",
+        "Mozilla/5.0 (X11; Linux x86_64) Chrome/120.0");
+    private static final NginxLogEntity NOT_FOUND = new NginxLogEntity("80.91.33.133", "-",
+        LogTime.of(LocalDateTime.of(2015, 5, 17, 9, 0, 0), ZoneOffset.UTC), new HttpRequest("POST", "/downloads/product_1", "HTTP/1.1"), 404, 0, "-",
+        "Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)");
+
+    @DisplayName("Тест сравнения числовых полей")
+    @ParameterizedTest
+    @CsvSource({
+        "status=503, true, false",
+        "status!=503, false, true",
+        "status>=500, true, false",
+        "status<500, false, true",
+        "bytes>0, true, false",
+        "bytes<=0, false, true"
+    })
+    void testNumberComparison(String expression, boolean serverErrorResult, boolean notFoundResult) {
+        FilterNode node = FilterExpressionParser.parse(expression);
+
+        assertEquals(serverErrorResult, node.test(SERVER_ERROR));
+        assertEquals(notFoundResult, node.test(NOT_FOUND));
+    }
+
+    @DisplayName("Тест логических операторов и скобок")
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "status>=500 AND agent~Chrome; true; false",
+        "status>=500 and agent~APT; false; false",
+        "status=404 OR status=503; true; true",
+        "NOT status=404; true; false",
+        "not (status=404 or status=503); false; false",
+        "(status=404 OR bytes>100) AND requestMethod=POST; false; true"
+    })
+    void testLogicalOperators(String expression, boolean serverErrorResult, boolean notFoundResult) {
+        FilterNode node = FilterExpressionParser.parse(expression);
+
+        assertEquals(serverErrorResult, node.test(SERVER_ERROR));
+        assertEquals(notFoundResult, node.test(NOT_FOUND));
+    }
+
+    @DisplayName("Тест диапазона дат")
+    @Test
+    void testDateRange() {
+        FilterNode node = FilterExpressionParser.parse("date>=2015-05-17T08:00:00 AND date<2015-05-17T09:00:00");
+
+        assertTrue(node.test(SERVER_ERROR));
+        assertFalse(node.test(NOT_FOUND));
+    }
+
+    @DisplayName("Тест сравнения с набором значений")
+    @Test
+    void testInOperator() {
+        FilterNode statusNode = FilterExpressionParser.parse("status IN (500, 503, 504)");
+        FilterNode methodNode = FilterExpressionParser.parse("requestMethod in (POST,PUT)");
+        FilterNode dateNode = FilterExpressionParser.parse("date IN (2015-05-17T08:05:32, 2015-05-17T10:00:00)");
+
+        assertTrue(statusNode.test(SERVER_ERROR));
+        assertFalse(statusNode.test(NOT_FOUND));
+        assertFalse(methodNode.test(SERVER_ERROR));
+        assertTrue(methodNode.test(NOT_FOUND));
+        assertTrue(dateNode.test(SERVER_ERROR));
+        assertFalse(dateNode.test(NOT_FOUND));
+    }
+
+    @DisplayName("Тест сравнения метода запроса без учета регистра значения фильтра")
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "requestMethod=post; false; true",
+        "requestMethod!=get; false; true",
+        "requestMethod in (get, Put); true; false"
+    })
+    void testRequestMethodCase(String expression, boolean serverErrorResult, boolean notFoundResult) {
+        FilterNode node = FilterExpressionParser.parse(expression);
+
+        assertEquals(serverErrorResult, node.test(SERVER_ERROR));
+        assertEquals(notFoundResult, node.test(NOT_FOUND));
+    }
+
+    @DisplayName("Тест значений в кавычках")
+    @Test
+    void testQuotedValues() {
+        FilterNode node = FilterExpressionParser.parse("agent~'X11; Linux' OR agent=\"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"");
+        FilterNode pathNode = FilterExpressionParser.parse("requestPath~/api");
+
+        assertTrue(node.test(SERVER_ERROR));
+        assertTrue(node.test(NOT_FOUND));
+        assertTrue(pathNode.test(SERVER_ERROR));
+        assertFalse(pathNode.test(NOT_FOUND));
+    }
+
+    @DisplayName("Тест ошибок в выражении")
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "status",
+        "status=",
+        "status=500 AND",
+        "(status=500",
+        "status=500)",
+        "unknown=1",
+        "status=abc",
+        "status~5",
+        "agent>Chrome",
+        "agent='Chrome",
+        "status==500",
+        "status IN 500",
+        "date IN (2015-05-17T08:05:32, 2015-05-17T08:05:32.5)"
+    })
+    void testInvalidExpression(String expression) {
+        assertThrows(IllegalArgumentException.class, () -> FilterExpressionParser.parse(expression));
+    }
+
+    @DisplayName("Тест проверки дочерних узлов от самого дешевого к самому дорогому")
+    @Test
+    void testCheapestChildFirst() {
+        AtomicInteger expensiveCalls = new AtomicInteger();
+        FilterNode expensive = new FieldFilterNode(
+            FilterField.AGENT.stringPredicate(agent -> expensiveCalls.incrementAndGet() > 0), 10);
+        FilterNode cheap = FilterExpressionParser.parse("status=200");
+
+        FilterNode andNode = new AndFilterNode(List.of(expensive, cheap));
+        FilterNode orNode = new OrFilterNode(List.of(expensive, new NotFilterNode(cheap)));
+
+        assertFalse(andNode.test(SERVER_ERROR));
+        assertTrue(orNode.test(SERVER_ERROR));
+        assertEquals(0, expensiveCalls.get());
+        assertEquals(11, andNode.cost());
+    }
+
+    @DisplayName("Тест сбора полей лога, которые читает выражение")
+    @Test
+    void testFields() {
+        FilterNode node = FilterExpressionParser.parse("status>=500 AND (agent~Chrome OR NOT requestPath~/api)");
+
+        assertEquals(EnumSet.of(LogField.STATUS, LogField.USER_AGENT, LogField.REQUEST), node.fields());
+    }
+
+    @DisplayName("Тест переноса проверок отдельных полей из конъюнкции в парсер")
+    @Test
+    void testPushDown() {
+        FilterNode node = FilterExpressionParser.parse("status>=500 AND bytes>0 AND (agent~Chrome OR requestPath~/api)");
+        FieldPredicates fieldPredicates = new FieldPredicates();
+
+        FilterNode remaining = node.pushDown(fieldPredicates);
+
+        assertEquals(EnumSet.of(LogField.STATUS, LogField.BYTES), fieldPredicates.fields());
+        assertEquals(EnumSet.of(LogField.USER_AGENT, LogField.REQUEST), remaining.fields());
+        assertTrue(fieldPredicates.testInt(LogField.STATUS, 503));
+        assertFalse(fieldPredicates.testInt(LogField.STATUS, 404));
+        assertTrue(fieldPredicates.test(SERVER_ERROR) && remaining.test(SERVER_ERROR));
+        assertFalse(fieldPredicates.test(NOT_FOUND) && remaining.test(NOT_FOUND));
+    }
+
+    @DisplayName("Тест выражения, которое целиком переносится в парсер или остается в ридере")
+    @Test
+    void testPushDownWholeExpression() {
+        FieldPredicates fieldPredicates = new FieldPredicates();
+        FilterNode disjunction = FilterExpressionParser.parse("status=404 OR agent~Chrome");
+
+        assertNull(FilterExpressionParser.parse("requestMethod=POST AND date<2015-05-17T08:30:00")
+            .pushDown(fieldPredicates));
+        assertSame(disjunction, disjunction.pushDown(fieldPredicates));
+        assertEquals(EnumSet.of(LogField.REQUEST, LogField.TIME), fieldPredicates.fields());
+        assertFalse(fieldPredicates.test(SERVER_ERROR));
+        assertFalse(fieldPredicates.test(NOT_FOUND));
+        assertTrue(fieldPredicates.testRequest(NOT_FOUND.request()));
+    }
+}
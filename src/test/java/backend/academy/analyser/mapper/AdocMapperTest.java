@@ -2,10 +2,14 @@ package backend.academy.analyser.mapper;
 
 import backend.academy.analyser.stats.StatsHandler;
 import backend.academy.analyser.stats.date.DateStats;
+import backend.academy.analyser.stats.date.TimeBucket;
+import backend.academy.analyser.stats.distinct.DistinctStats;
 import backend.academy.analyser.stats.request.RequestStats;
 import backend.academy.analyser.stats.response.ResponseCodeStats;
-import java.util.HashMap;
+import backend.academy.analyser.stats.size.ResponseSizeStats;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,7 +19,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static backend.academy.analyser.mapper.AdocMapper.mapStatsToAdocString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Тест класса, преобразующего статистику в строку для adoc файла")
@@ -30,6 +36,12 @@ public class AdocMapperTest {
     @Mock
     private DateStats dateStats;
 
+    @Mock
+    private DistinctStats distinctStats;
+
+    @Mock
+    private ResponseSizeStats responseSizeStats;
+
     private String expectedAdocString = "==== Общая информация\n" +
         "\n" +
         "|===\n" +
@@ -38,6 +50,9 @@ public class AdocMapperTest {
         "| Начальная дата | -\n" +
         "| Конечная дата | -\n" +
         "| Количество запросов | 11\n" +
+        "| Уникальных клиентов | ~4\n" +
+        "| Уникальных ресурсов | ~2\n" +
+        "| Уникальных user-agent | ~3\n" +
         "| Средний размер ответа | 451b\n" +
         "| 95p размера ответа | 1903b\n" +
         "|===\n" +
@@ -71,6 +86,21 @@ public class AdocMapperTest {
         "|===\n" +
         "| Час | Количество\n" +
         "| `8` | 11\n" +
+        "|===\n" +
+        "\n" +
+        "==== Самые нагруженные интервалы\n" +
+        "\n" +
+        "|===\n" +
+        "| Начало интервала | Запросы | Ошибки 5xx | Байты\n" +
+        "| 17.05.2015 08:05:00 | 7 | 1 | 400\n" +
+        "| 17.05.2015 08:06:00 | 4 | 0 | 961\n" +
+        "|===\n" +
+        "\n" +
+        "==== Самые нагруженные часы\n" +
+        "\n" +
+        "|===\n" +
+        "| Начало интервала | Запросы | Ошибки 5xx | Байты\n" +
+        "| 17.05.2015 08:00:00 | 11 | 1 | 361\n" +
         "|===\n";
 
     @BeforeEach
@@ -80,35 +110,47 @@ public class AdocMapperTest {
             "C:\\Users\\Maxim\\Desktop\\backend_academy\\backend_academy_2024_project_3-java-basketcase7\\src\\main\\resources\\logs\\*short.txt");
         when(statsHandler.fromTime()).thenReturn(null);
         when(statsHandler.toTime()).thenReturn(null);
-        when(statsHandler.requestCount()).thenReturn(11);
-        when(statsHandler.percentile()).thenReturn(1903);
-        when(statsHandler.avgResponseSize()).thenReturn(451);
+        when(statsHandler.requestCount()).thenReturn(11L);
+        when(dateStats.peakIntervals(3)).thenReturn(List.of(
+            new TimeBucket(1_431_849_900L, 7, 1, 400), new TimeBucket(1_431_849_960L, 4, 0, 961)));
+        when(dateStats.resolutionSeconds()).thenReturn(60);
+        when(dateStats.peakHours(3)).thenReturn(List.of(new TimeBucket(1_431_849_600L, 11, 1, 361)));
+        when(distinctStats.uniqueRemoteAddrs()).thenReturn(4L);
+        when(distinctStats.uniqueResources()).thenReturn(2L);
+        when(distinctStats.uniqueUserAgents()).thenReturn(3L);
+        when(responseSizeStats.percentiles()).thenReturn(Map.of("95", 1903));
+        when(responseSizeStats.avgResponseSize()).thenReturn(451);
 
-        when(statsHandler.requestStats()).thenReturn(requestStats);
-        LinkedHashMap<String, Integer> resourceCounts = new LinkedHashMap<>();
-        resourceCounts.put("/downloads/product_1", 8);
-        resourceCounts.put("/downloads/product_2", 3);
-        when(requestStats.requestResourceCounts()).thenReturn(resourceCounts);
+        LinkedHashMap<String, Long> resourceCounts = new LinkedHashMap<>();
+        resourceCounts.put("/downloads/product_1", 8L);
+        resourceCounts.put("/downloads/product_2", 3L);
+        when(requestStats.requestResourceCounts()).thenReturn(new Object2LongOpenHashMap<>(resourceCounts));
 
-        LinkedHashMap<String, Integer> methodCounts = new LinkedHashMap<>();
-        methodCounts.put("GET", 11);
-        when(requestStats.requestMethodsCounts()).thenReturn(methodCounts);
+        LinkedHashMap<String, Long> methodCounts = new LinkedHashMap<>();
+        methodCounts.put("GET", 11L);
+        when(requestStats.requestMethodsCounts()).thenReturn(new Object2LongOpenHashMap<>(methodCounts));
 
         ResponseCodeStats responseCodeStats = new ResponseCodeStats();
-        HashMap<Integer, Integer> codeCount = new HashMap<>();
-        codeCount.put(109, 5);
-        codeCount.put(304, 3);
-        codeCount.put(404, 2);
-        responseCodeStats.responseCodesMap(codeCount);
-        when(statsHandler.responseCodeStats()).thenReturn(responseCodeStats);
-
-        when(statsHandler.dateStats()).thenReturn(dateStats);
-        LinkedHashMap<String, Integer> hourRequestCount = new LinkedHashMap<>();
-        hourRequestCount.put("8", 11);
+        Map<Integer, Integer> codeCount = Map.of(109, 5, 304, 3, 404, 2);
+        codeCount.forEach((code, count) -> {
+            for (int i = 0; i < count; i++) {
+                responseCodeStats.changeResponseCodeStats(code);
+            }
+        });
+        when(statsHandler.collectors()).thenReturn(
+            List.of(requestStats, responseCodeStats, dateStats, distinctStats, responseSizeStats));
+        doCallRealMethod().when(requestStats).render(any());
+        doCallRealMethod().when(dateStats).render(any());
+        doCallRealMethod().when(distinctStats).render(any());
+        doCallRealMethod().when(responseSizeStats).render(any());
+
+        LinkedHashMap<String, Long> hourRequestCount = new LinkedHashMap<>();
+        hourRequestCount.put("8", 11L);
         when(dateStats.hoursRequestCounts()).thenReturn(hourRequestCount);
 
-        when(statsHandler.sortRequestMap(anyMap())).thenAnswer(invocation -> {
-            Map<String, Integer> argument = invocation.getArgument(0);
+        when(statsHandler.top()).thenReturn(3);
+        when(statsHandler.topRequestMap(anyMap())).thenAnswer(invocation -> {
+            Map<String, Long> argument = invocation.getArgument(0);
             if (argument.containsKey("/downloads/product_1")) {
                 return resourceCounts;
             } else if (argument.containsKey("GET")) {
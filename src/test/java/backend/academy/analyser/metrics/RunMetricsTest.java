@@ -0,0 +1,91 @@
+package backend.academy.analyser.metrics;
+
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.parser.LogLineParser;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тесты для метрик запуска")
+public class RunMetricsTest {
+
+    private static final String LINE = "0123456789";
+
+    @DisplayName("Тест учета прочитанных, разобранных, отброшенных и некорректных строк")
+    @Test
+    void testCountLines() {
+        RunMetrics runMetrics = new RunMetrics();
+        LogLineParser logParser = mock(LogLineParser.class);
+        when(logParser.rejectedLines()).thenReturn(2L);
+        WorkerMetrics metrics = new WorkerMetrics(runMetrics, logParser);
+        NginxLogEntity entity = mock(NginxLogEntity.class);
+
+        metrics.countLine(LINE, entity);
+        metrics.countLine(LINE, entity);
+        metrics.countFiltered();
+        for (int i = 0; i < 3; i++) {
+            metrics.countLine(LINE, null);
+        }
+        assertEquals(0, runMetrics.getLinesRead());
+        metrics.flush();
+
+        assertEquals(5, runMetrics.getLinesRead());
+        assertEquals(2, runMetrics.getLinesParsed());
+        assertEquals(3, runMetrics.getLinesRejected());
+        assertEquals(1, runMetrics.getLinesMalformed());
+        assertEquals(55, runMetrics.getBytesRead());
+    }
+
+    @DisplayName("Тест учета времени стадий и файлов по частям")
+    @Test
+    void testFileTimings() {
+        RunMetrics runMetrics = new RunMetrics();
+        WorkerMetrics metrics = new WorkerMetrics(runMetrics, mock(LogLineParser.class));
+
+        metrics.countLine(LINE, null);
+        metrics.countAggregate(1_000_000);
+        metrics.finishFile("first.log", System.nanoTime());
+        metrics.countLine(LINE, null);
+        metrics.countLine(LINE, null);
+        metrics.finishFile("second.log", System.nanoTime());
+        metrics.countLine(LINE, null);
+        metrics.finishFile("first.log", System.nanoTime());
+        metrics.flush();
+
+        assertEquals(List.of("first.log", "second.log"),
+            runMetrics.fileTimings().stream().map(FileTiming::file).toList());
+        assertEquals(List.of(22L, 22L), runMetrics.fileTimings().stream().map(FileTiming::bytes).toList());
+        assertEquals(List.of(RunMetrics.PARSE_STAGE, RunMetrics.AGGREGATE_STAGE),
+            List.copyOf(runMetrics.getStageMillis().keySet()));
+        assertEquals(1, runMetrics.getStageMillis().get(RunMetrics.AGGREGATE_STAGE));
+    }
+
+    @DisplayName("Тест чтения метрик через JMX и итоговой сводки")
+    @Test
+    void testRegisterAndSummary() throws JMException {
+        RunMetrics runMetrics = new RunMetrics();
+        WorkerMetrics metrics = new WorkerMetrics(runMetrics, mock(LogLineParser.class));
+        metrics.countLine(LINE, mock(NginxLogEntity.class));
+        metrics.finishFile("access.log", System.nanoTime());
+        metrics.flush();
+        runMetrics.finish();
+
+        runMetrics.register();
+        new RunMetrics().register();
+        runMetrics.register();
+
+        Object linesRead = ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(new ObjectName(RunMetrics.OBJECT_NAME), "LinesRead");
+        assertEquals(1L, linesRead);
+        List<String> summary = runMetrics.summary();
+        assertEquals("Lines: read=1, parsed=1, rejected=0, malformed=0", summary.getFirst());
+        assertTrue(summary.contains("File access.log: 11 bytes, 0 ms"));
+    }
+}
@@ -0,0 +1,72 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.filter.FieldPredicates;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для словарей повторяющихся полей парсера")
+public class FieldDictionariesTest {
+
+    @DisplayName("Тест повторного использования строк для полей со словарем")
+    @Test
+    void testDecode() {
+        FieldDictionaries dictionaries = new FieldDictionaries(
+            EnumSet.of(LogField.REMOTE_ADDR, LogField.USER_AGENT), new FieldPredicates());
+        String first = "93.180.71.3 \"Debian APT\"";
+        String second = "80.91.33.133 \"Debian APT\"";
+
+        String firstAgent = dictionaries.decode(LogField.USER_AGENT, first, 13, 23);
+        String secondAgent = dictionaries.decode(LogField.USER_AGENT, second, 14, 24);
+        String firstAddress = dictionaries.decode(LogField.REMOTE_ADDR, first, 0, 11);
+
+        assertEquals("Debian APT", firstAgent);
+        assertSame(firstAgent, secondAgent);
+        assertEquals("93.180.71.3", firstAddress);
+        assertNotSame(firstAddress, dictionaries.decode(LogField.REMOTE_ADDR, first, 0, 11));
+        assertNull(dictionaries.decode(LogField.REFERER, first, 13, 23));
+    }
+
+    @DisplayName("Тест однократной проверки каждого различного значения поля")
+    @Test
+    void testCachedPredicate() {
+        AtomicInteger checks = new AtomicInteger();
+        FieldPredicates fieldPredicates = new FieldPredicates()
+            .andString(LogField.USER_AGENT, agent -> checks.incrementAndGet() > 0 && agent.contains("Chrome"));
+        FieldDictionaries dictionaries = new FieldDictionaries(EnumSet.of(LogField.USER_AGENT), fieldPredicates);
+
+        for (int i = 0; i < 10; i++) {
+            String agent = i % 2 == 0 ? "Chrome/120.0" : "Debian APT";
+            String value = dictionaries.decode(LogField.USER_AGENT, agent, 0, agent.length());
+            assertEquals(i % 2 == 0, dictionaries.test(LogField.USER_AGENT, value));
+        }
+
+        assertEquals(2, checks.get());
+        assertTrue(dictionaries.test(LogField.REFERER, "-"));
+    }
+
+    @DisplayName("Тест словарей метода и протокола запроса")
+    @Test
+    void testParseRequest() {
+        FieldDictionaries dictionaries = new FieldDictionaries(EnumSet.of(LogField.REQUEST), new FieldPredicates());
+        String line = "PROPFIND /a HTTP/1.1 PROPFIND /b HTTP/3.0 PROPFIND /c HTTP/3.0";
+
+        HttpRequest first = dictionaries.parseRequest(line, 0, 20);
+        HttpRequest second = dictionaries.parseRequest(line, 21, 41);
+        HttpRequest third = dictionaries.parseRequest(line, 42, 62);
+
+        assertEquals(new HttpRequest("PROPFIND", "/b", "HTTP/3.0"), second);
+        assertSame(first.method(), second.method());
+        assertSame(second.protocol(), third.protocol());
+        assertFalse(third.isMalformed());
+    }
+}
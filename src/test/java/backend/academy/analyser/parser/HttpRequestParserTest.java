@@ -1,9 +1,15 @@
 package backend.academy.analyser.parser;
 
+import backend.academy.analyser.HttpRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Тесты парсера Http-запроса")
 public class HttpRequestParserTest {
@@ -13,12 +19,12 @@ public class HttpRequestParserTest {
     void testParseValidHttpRequest() {
         String httpRequest = "GET /downloads/product_1 HTTP/1.1";
 
-        String[] parsedRequest = HttpRequestParser.parseHttpRequest(httpRequest);
+        HttpRequest parsedRequest = HttpRequestParser.parseHttpRequest(httpRequest);
 
-        assertEquals(3, parsedRequest.length);
-        assertEquals(parsedRequest[0], "GET");
-        assertEquals(parsedRequest[1], "/downloads/product_1");
-        assertEquals(parsedRequest[2], "HTTP/1.1");
+        assertFalse(parsedRequest.isMalformed());
+        assertEquals("GET", parsedRequest.method());
+        assertEquals("/downloads/product_1", parsedRequest.path());
+        assertEquals("HTTP/1.1", parsedRequest.protocol());
     }
 
     @DisplayName("Проверка корректности данных после парсинга")
@@ -26,31 +32,43 @@ public class HttpRequestParserTest {
     void testParseInvalidHttpRequest() {
         String httpRequest = "HEAD /downloads/product_2 HTTP/2.0";
 
-        String[] parsedRequest = HttpRequestParser.parseHttpRequest(httpRequest);
+        HttpRequest parsedRequest = HttpRequestParser.parseHttpRequest(httpRequest);
 
-        assertNotEquals(0, parsedRequest.length);
-        assertNotEquals(parsedRequest[0], "GET");
-        assertNotEquals(parsedRequest[1], "/downloads/product_1");
-        assertNotEquals(parsedRequest[2], "HTTP/1.1");
+        assertFalse(parsedRequest.isMalformed());
+        assertNotEquals("GET", parsedRequest.method());
+        assertNotEquals("/downloads/product_1", parsedRequest.path());
+        assertNotEquals("HTTP/1.1", parsedRequest.protocol());
     }
 
-    @DisplayName("Проверка парсинга строки с пропущенным полем")
+    @DisplayName("Проверка парсинга запроса внутри строки лога")
     @Test
-    void testParseSkippedFieldHttpRequest() {
-        String httpRequest = "/downloads/product_1 HTTP/1.1";
+    void testParseHttpRequestRange() {
+        String logLine = "[17/May/2015:08:05:32 +0000] \"PROPFIND /downloads/product_1 HTTP/1.0\" 304";
+        int from = logLine.indexOf('"') + 1;
+        int to = logLine.lastIndexOf('"');
 
-        String[] parsedRequest = HttpRequestParser.parseHttpRequest(httpRequest);
+        HttpRequest parsedRequest = HttpRequestParser.parseHttpRequest(logLine, from, to);
 
-        assertEquals(0, parsedRequest.length);
+        assertEquals(new HttpRequest("PROPFIND", "/downloads/product_1", "HTTP/1.0"), parsedRequest);
     }
 
-    @DisplayName("Проверка парсинга пустой строки")
-    @Test
-    void testParseEmptyHttpRequest() {
-        String httpRequest = "";
-
-        String[] parsedRequest = HttpRequestParser.parseHttpRequest(httpRequest);
+    @DisplayName("Проверка парсинга строк, не соответствующих формату запроса")
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "/downloads/product_1 HTTP/1.1",
+        "GET /downloads/product_1",
+        "GET  /downloads/product_1 HTTP/1.1",
+        "GET /downloads/product_1 HTTP/1.1 ",
+        "GET /downloads/product_1 HTTP/1",
+        "GET /downloads/product_1 HTTP/a.b",
+        "GET /downloads/product_1 FTP/1.1",
+        "\\x16\\x03\\x01\\x00\\xCA"
+    })
+    void testParseMalformedHttpRequest(String httpRequest) {
+        HttpRequest parsedRequest = HttpRequestParser.parseHttpRequest(httpRequest);
 
-        assertEquals(0, parsedRequest.length);
+        assertSame(HttpRequest.MALFORMED, parsedRequest);
+        assertTrue(parsedRequest.isMalformed());
     }
 }
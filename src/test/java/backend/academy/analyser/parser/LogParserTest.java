@@ -1,5 +1,6 @@
 package backend.academy.analyser.parser;
 
+import backend.academy.analyser.HttpRequest;
 import backend.academy.analyser.NginxLogEntity;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -34,7 +35,7 @@ public class LogParserTest {
         assertEquals("93.180.71.3", nginxLogEntity.remoteAddr());
         assertEquals("-", nginxLogEntity.remoteUser());
         assertEquals(LocalDateTime.parse("17/May/2015:08:05:32 +0000", dateTimeFormatter), nginxLogEntity.timeLocal());
-        assertEquals("GET /downloads/product_1 HTTP/1.1", nginxLogEntity.request());
+        assertEquals(new HttpRequest("GET", "/downloads/product_1", "HTTP/1.1"), nginxLogEntity.request());
         assertEquals(Integer.parseInt("304"), nginxLogEntity.status());
         assertEquals(0, nginxLogEntity.bodyBytesSent());
         assertEquals("-", nginxLogEntity.httpReferer());
@@ -51,14 +52,13 @@ public class LogParserTest {
         assertNull(nginxLogEntity);
     }
 
-    @DisplayName("Тест перевода строки с некорректной датой в лог")
+    @DisplayName("Тест отклонения строки с некорректной датой")
     @Test
     void testParseLogLineInvalidDate() {
         String logLine = "93.180.71.3 - - [asdasd] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"";
 
-        NginxLogEntity nginxLogEntity = logParser.parse(logLine);
-
-        assertNull(nginxLogEntity.timeLocal());
+        assertNull(logParser.parse(logLine));
+        assertEquals(0, logParser.rejectedLines());
     }
 
 }
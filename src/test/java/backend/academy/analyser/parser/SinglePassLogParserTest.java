@@ -0,0 +1,151 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.HttpRequest;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.filter.FieldPredicates;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Тесты для однопроходного парсера строки в лог")
+public class SinglePassLogParserTest {
+
+    private SinglePassLogParser singlePassLogParser;
+    private LogParser logParser;
+    private DateTimeFormatter dateTimeFormatter;
+
+    @BeforeEach
+    void setUp() {
+        singlePassLogParser = new SinglePassLogParser();
+        logParser = new LogParser();
+        dateTimeFormatter = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.US);
+    }
+
+    @DisplayName("Тест перевода корректной строки в лог")
+    @Test
+    void testParseValidLogLine() {
+        String logLine = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"";
+
+        NginxLogEntity nginxLogEntity = singlePassLogParser.parse(logLine);
+
+        assertNotNull(nginxLogEntity);
+        assertEquals("93.180.71.3", nginxLogEntity.remoteAddr());
+        assertEquals("-", nginxLogEntity.remoteUser());
+        assertEquals(LocalDateTime.parse("17/May/2015:08:05:32 +0000", dateTimeFormatter), nginxLogEntity.timeLocal());
+        assertEquals(new HttpRequest("GET", "/downloads/product_1", "HTTP/1.1"), nginxLogEntity.request());
+        assertEquals(304, nginxLogEntity.status());
+        assertEquals(0, nginxLogEntity.bodyBytesSent());
+        assertEquals("-", nginxLogEntity.httpReferer());
+        assertEquals("Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)", nginxLogEntity.httpUserAgent());
+    }
+
+    @DisplayName("Тест отклонения строки с некорректной датой")
+    @Test
+    void testParseLogLineInvalidDate() {
+        String logLine = "93.180.71.3 - - [asdasd] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"";
+
+        assertNull(singlePassLogParser.parse(logLine));
+        assertEquals(0, singlePassLogParser.rejectedLines());
+    }
+
+    @DisplayName("Тест учета строки с некорректной датой как некорректной, а не отброшенной фильтром")
+    @ParameterizedTest
+    @EnumSource(ParserType.class)
+    void testParseInvalidDateWithFieldPredicates(ParserType parserType) {
+        FieldPredicates fieldPredicates = new FieldPredicates()
+            .andInt(LogField.STATUS, status -> status == 404)
+            .andTime(time -> true);
+        LogLineParser parser = parserType.create(EnumSet.of(LogField.STATUS), fieldPredicates);
+
+        assertNull(parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +9900] \"GET / HTTP/1.1\" 404 0 \"-\" \"-\""));
+        assertNull(parser.parse("93.180.71.3 - - [asdasd] \"GET / HTTP/1.1\" 304 0 \"-\" \"-\""));
+        assertEquals(0, parser.rejectedLines());
+        assertNull(parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 304 0 \"-\" \"-\""));
+        assertEquals(1, parser.rejectedLines());
+    }
+
+    @DisplayName("Тест совпадения результата с парсером на регулярном выражении")
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"",
+        "217.168.17.5 - admin [17/May/2015:08:05:02 +0000] \"GET /downloads/product_2 HTTP/1.1\" 200 3316 \"http://example.com/a b\" \"-\"",
+        "80.91.33.133 - - [17/May/2015:08:05:24 +0000] \"GET /downloads/product_1 HTTP/1.1\" 404 336 \"-\" \"Agent \"quoted\" name\"",
+        "log line",
+        "",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 3040 0 \"-\" \"agent\"",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 304 abc \"-\" \"agent\"",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 200 99999999999 \"-\" \"agent\"",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 200 2147483648 \"-\" \"agent\"",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 200 2147483647 \"-\" \"agent\"",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"\" 304 0 \"-\" \"agent\"",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 304 0 \"-\" \"agent",
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 304 0 \"-\" \"\""
+    })
+    void testParseSameAsRegexParser(String logLine) {
+        assertEquals(logParser.parse(logLine), singlePassLogParser.parse(logLine));
+    }
+
+    @DisplayName("Тест разбора строки с проекцией полей")
+    @ParameterizedTest
+    @EnumSource(ParserType.class)
+    void testParseWithProjection(ParserType parserType) {
+        String logLine = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" \"Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)\"";
+        LogLineParser parser = parserType.create(EnumSet.of(LogField.REQUEST, LogField.STATUS, LogField.USER_AGENT));
+
+        NginxLogEntity nginxLogEntity = parser.parse(logLine);
+
+        assertNotNull(nginxLogEntity);
+        assertNull(nginxLogEntity.remoteAddr());
+        assertNull(nginxLogEntity.remoteUser());
+        assertNull(nginxLogEntity.time());
+        assertNull(nginxLogEntity.httpReferer());
+        assertEquals(new HttpRequest("GET", "/downloads/product_1", "HTTP/1.1"), nginxLogEntity.request());
+        assertEquals(304, nginxLogEntity.status());
+        assertEquals(0, nginxLogEntity.bodyBytesSent());
+        assertEquals("Debian APT-HTTP/1.3 (0.8.16~exp12ubuntu10.21)", nginxLogEntity.httpUserAgent());
+    }
+
+    @DisplayName("Тест отклонения некорректной строки при пустой проекции")
+    @ParameterizedTest
+    @EnumSource(ParserType.class)
+    void testParseInvalidWithEmptyProjection(ParserType parserType) {
+        LogLineParser parser = parserType.create(EnumSet.noneOf(LogField.class));
+
+        assertNull(parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 304 abc \"-\" \"agent\""));
+        assertNotNull(parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 304 0 \"-\" \"agent\""));
+    }
+
+    @DisplayName("Тест отбрасывания строк по проверкам полей во время разбора")
+    @ParameterizedTest
+    @EnumSource(ParserType.class)
+    void testParseWithFieldPredicates(ParserType parserType) {
+        FieldPredicates fieldPredicates = new FieldPredicates()
+            .andInt(LogField.STATUS, status -> status == 404)
+            .andString(LogField.USER_AGENT, agent -> agent.startsWith("Debian"));
+        LogLineParser parser = parserType.create(EnumSet.of(LogField.STATUS), fieldPredicates);
+
+        NginxLogEntity accepted = parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 404 0 \"-\" \"Debian APT\"");
+        NginxLogEntity wrongStatus = parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 304 0 \"-\" \"Debian APT\"");
+        NginxLogEntity wrongAgent = parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 404 0 \"-\" \"Mozilla/5.0\"");
+        NginxLogEntity invalid = parser.parse("93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 404 abc \"-\" \"Debian APT\"");
+
+        assertNotNull(accepted);
+        assertEquals("Debian APT", accepted.httpUserAgent());
+        assertNull(accepted.remoteAddr());
+        assertNull(wrongStatus);
+        assertNull(wrongAgent);
+        assertNull(invalid);
+        assertEquals(2, parser.rejectedLines());
+    }
+}
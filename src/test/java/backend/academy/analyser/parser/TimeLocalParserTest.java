@@ -0,0 +1,103 @@
+package backend.academy.analyser.parser;
+
+import backend.academy.analyser.LogTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Тесты парсера времени лога")
+public class TimeLocalParserTest {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+        DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.US);
+
+    private TimeLocalParser timeLocalParser;
+
+    @BeforeEach
+    void setUp() {
+        timeLocalParser = new TimeLocalParser();
+    }
+
+    @DisplayName("Проверка совпадения с DateTimeFormatter для разных дат и смещений")
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "17/May/2015:08:05:32 +0000",
+        "01/Jan/1970:00:00:00 +0000",
+        "29/Feb/2024:23:59:59 +0300",
+        "31/Dec/2023:00:00:01 -0930",
+        "15/Aug/2015:14:30:00 +0545",
+        "15/Aug/2015:14:30:00 -1800"
+    })
+    void testParseMatchesFormatter(String logTime) {
+        OffsetDateTime expected = OffsetDateTime.parse(logTime, DATE_TIME_FORMATTER);
+
+        LogTime time = timeLocalParser.parse(logTime);
+
+        assertEquals(expected.toEpochSecond(), time.epochSecond());
+        assertEquals(expected.getOffset().getTotalSeconds(), time.offsetSeconds());
+        assertEquals(expected.toLocalDateTime(), time.toLocalDateTime());
+        assertEquals(expected.getHour(), time.hourOfDay());
+    }
+
+    @DisplayName("Проверка разбора времени из той же минуты и после смены минуты или смещения")
+    @Test
+    void testParseCachedMinute() {
+        LogTime first = timeLocalParser.parse("17/May/2015:08:05:32 +0000");
+        LogTime sameMinute = timeLocalParser.parse("17/May/2015:08:05:59 +0000");
+        LogTime nextMinute = timeLocalParser.parse("17/May/2015:08:06:00 +0000");
+        LogTime otherOffset = timeLocalParser.parse("17/May/2015:08:06:00 +0100");
+
+        assertEquals(27, sameMinute.epochSecond() - first.epochSecond());
+        assertEquals(1, nextMinute.epochSecond() - sameMinute.epochSecond());
+        assertEquals(-3600, otherOffset.epochSecond() - nextMinute.epochSecond());
+        assertEquals(3600, otherOffset.offsetSeconds());
+    }
+
+    @DisplayName("Проверка разбора времени внутри строки лога")
+    @Test
+    void testParseRange() {
+        String logLine = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\"";
+        int from = logLine.indexOf('[') + 1;
+
+        LogTime time = timeLocalParser.parse(logLine, from, logLine.indexOf(']'));
+
+        assertEquals(timeLocalParser.parse("17/May/2015:08:05:32 +0000"), time);
+    }
+
+    @DisplayName("Проверка некорректного времени")
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "asdasd",
+        "17/May/2015:08:05:32",
+        "17/May/2015:08:05:60 +0000",
+        "17/May/2015:24:05:32 +0000",
+        "17/Mai/2015:08:05:32 +0000",
+        "30/Feb/2015:08:05:32 +0000",
+        "17-May-2015:08:05:32 +0000",
+        "17/May/2015:08:05:32 *0000",
+        "17/May/2015:08:05:32 +00a0",
+        "17/May/2015:08:05:32 +9900",
+        "17/May/2015:08:05:32 -1801"
+    })
+    void testParseInvalid(String logTime) {
+        assertNull(timeLocalParser.parse(logTime));
+    }
+
+    @DisplayName("Проверка, что некорректное время не портит запомненную минуту")
+    @Test
+    void testParseInvalidAfterCachedMinute() {
+        timeLocalParser.parse("17/May/2015:08:05:32 +0000");
+
+        assertNull(timeLocalParser.parse("17/May/2015:08:05:3x +0000"));
+        assertNull(timeLocalParser.parse("17/May/2015:08:05:32 -00x0"));
+        assertEquals(1431849933L, timeLocalParser.parse("17/May/2015:08:05:33 +0000").epochSecond());
+    }
+}
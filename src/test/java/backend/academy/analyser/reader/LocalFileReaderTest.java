@@ -1,17 +1,28 @@
 package backend.academy.analyser.reader;
 
 import backend.academy.analyser.LogsFilter;
+import backend.academy.analyser.metrics.FileTiming;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.parser.LogLineParser;
 import backend.academy.analyser.parser.LogParser;
+import backend.academy.analyser.parser.ParserType;
 import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockitoAnnotations;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -37,10 +48,9 @@ public class LocalFileReaderTest {
 
         localFileReader = new LocalFileReader(
             statsHandler,
-            LocalDateTime.now(),
-            LocalDateTime.now(),
-            "filterField",
-            "filterValue"
+            LogsFilter.compile("filterField", "filterValue", LocalDateTime.now(), LocalDateTime.now()),
+            ParserType.SINGLE_PASS::create,
+            LocalReadOptions.DEFAULT
         );
     }
 
@@ -89,4 +99,155 @@ public class LocalFileReaderTest {
         verify(spyFileReader, times(0)).processFile(alienFile);
     }
 
+    @DisplayName("Проверка совпадения статистики при чтении файла через отображение в память")
+    @Test
+    void testMappedReadModeSameAsBuffered() throws IOException {
+        Path logFile = writeLogFile();
+
+        StatsHandler bufferedStats = readWithOptions(logFile, LocalReadOptions.DEFAULT);
+        StatsHandler mappedStats = readWithOptions(logFile, new LocalReadOptions(ReadMode.MAPPED, 1));
+
+        assertEquals(2, mappedStats.requestCount());
+        assertEquals(bufferedStats.sumResponseSize(), mappedStats.sumResponseSize());
+        assertEquals(bufferedStats.requestStats().requestResourceCounts(),
+            mappedStats.requestStats().requestResourceCounts());
+        assertEquals(bufferedStats.dateStats().hoursRequestCounts(), mappedStats.dateStats().hoursRequestCounts());
+    }
+
+    @DisplayName("Проверка совпадения статистики при параллельной обработке частей файла")
+    @Test
+    void testParallelSameAsSequential() throws IOException {
+        Path logFile = writeLogFile();
+
+        StatsHandler sequentialStats = readWithOptions(logFile, LocalReadOptions.DEFAULT);
+        StatsHandler parallelStats = readWithOptions(logFile, new LocalReadOptions(ReadMode.BUFFERED, 3, 1));
+        sequentialStats.countStats();
+        parallelStats.countStats();
+
+        assertEquals(2, parallelStats.requestCount());
+        assertEquals(sequentialStats.sumResponseSize(), parallelStats.sumResponseSize());
+        assertEquals(sequentialStats.percentiles(), parallelStats.percentiles());
+        assertEquals(sequentialStats.responseCodeStats().responseCodesMap(),
+            parallelStats.responseCodeStats().responseCodesMap());
+        assertEquals(sequentialStats.requestStats().requestResourceCounts(),
+            parallelStats.requestStats().requestResourceCounts());
+        assertEquals(sequentialStats.dateStats().hoursRequestCounts(), parallelStats.dateStats().hoursRequestCounts());
+    }
+
+    @DisplayName("Проверка совпадения статистики при обработке файла конвейером")
+    @Test
+    void testPipelineSameAsSequential() throws IOException {
+        Path logFile = writeLogFile();
+
+        StatsHandler sequentialStats = readWithOptions(logFile, LocalReadOptions.DEFAULT);
+        StatsHandler pipelineStats = readWithOptions(logFile, new LocalReadOptions(ReadMode.PIPELINE, 2));
+
+        assertEquals(2, pipelineStats.requestCount());
+        assertEquals(sequentialStats.sumResponseSize(), pipelineStats.sumResponseSize());
+        assertEquals(sequentialStats.requestStats().requestResourceCounts(),
+            pipelineStats.requestStats().requestResourceCounts());
+        assertEquals(sequentialStats.dateStats().hoursRequestCounts(), pipelineStats.dateStats().hoursRequestCounts());
+    }
+
+    @DisplayName("Проверка параллельной обработки файлов по шаблону")
+    @Test
+    void testParallelWildcardSameAsSequential() throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve("logs"));
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(directory.resolve("access" + i + ".txt"), String.format(
+                "93.180.71.3 - - [17/May/2015:%02d:05:32 +0000] \"GET /downloads/product_%d HTTP/1.1\" 200 %d \"-\" \"-\"%n",
+                i, i, i * 100), StandardCharsets.UTF_8);
+        }
+        String wildcard = directory + "/access*.txt";
+
+        StatsHandler sequentialStats =
+            new StatsHandler(wildcard, LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        new LocalFileReader(sequentialStats, LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX),
+            ParserType.SINGLE_PASS::create, LocalReadOptions.DEFAULT).read(wildcard);
+        StatsHandler parallelStats =
+            new StatsHandler(wildcard, LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        new LocalFileReader(parallelStats, LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX),
+            ParserType.SINGLE_PASS::create, new LocalReadOptions(ReadMode.BUFFERED, 3)).read(wildcard);
+
+        assertEquals(5, parallelStats.requestCount());
+        assertEquals(1000, parallelStats.sumResponseSize());
+        assertEquals(sequentialStats.requestStats().requestResourceCounts(),
+            parallelStats.requestStats().requestResourceCounts());
+        assertEquals(sequentialStats.dateStats().hoursRequestCounts(), parallelStats.dateStats().hoursRequestCounts());
+    }
+
+    @DisplayName("Проверка учета статистики успешных потоков и проброса ошибки упавшего потока")
+    @Test
+    void testParallelFailureKeepsSuccessfulParts() throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve("logs"));
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(directory.resolve("access" + i + ".txt"), String.format(
+                "93.180.71.3 - - [17/May/2015:%02d:05:32 +0000] \"GET /downloads/product_%d HTTP/1.1\" 200 %d \"-\" \"-\"%n",
+                i, i, i * 100), StandardCharsets.UTF_8);
+        }
+        String wildcard = directory + "/access*.txt";
+        AtomicInteger createdParsers = new AtomicInteger();
+        Supplier<LogLineParser> failingSecondParser = () -> {
+            if (createdParsers.incrementAndGet() == 2) {
+                throw new IllegalArgumentException("parser failure");
+            }
+            return ParserType.SINGLE_PASS.create();
+        };
+        StatsHandler stats = new StatsHandler(wildcard, LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        LocalFileReader reader = new LocalFileReader(stats,
+            LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX), failingSecondParser,
+            new LocalReadOptions(ReadMode.BUFFERED, 2));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> reader.read(wildcard));
+
+        assertEquals("parser failure", exception.getCause().getMessage());
+        assertEquals(5, stats.requestCount());
+    }
+
+    @DisplayName("Проверка метрик запуска в каждом режиме чтения")
+    @Test
+    void testRunMetrics() throws IOException {
+        Path logFile = writeLogFile();
+
+        for (LocalReadOptions options : List.of(LocalReadOptions.DEFAULT, new LocalReadOptions(ReadMode.MAPPED, 1),
+            new LocalReadOptions(ReadMode.BUFFERED, 3, 1), new LocalReadOptions(ReadMode.PIPELINE, 2))) {
+            RunMetrics runMetrics = new RunMetrics();
+            StatsHandler stats =
+                new StatsHandler(logFile.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+            new LocalFileReader(stats,
+                LogsFilter.compile("status", "404", LocalDateTime.MIN, LocalDateTime.MAX),
+                ParserType.SINGLE_PASS::create, options, runMetrics)
+                .read(logFile.toString());
+
+            assertEquals(3, runMetrics.getLinesRead());
+            assertEquals(2, runMetrics.getLinesParsed());
+            assertEquals(1, runMetrics.getLinesRejected());
+            assertEquals(1, runMetrics.getLinesMalformed());
+            assertEquals(List.of(logFile.toString()),
+                runMetrics.fileTimings().stream().map(FileTiming::file).toList());
+            if (options.readMode() != ReadMode.BUFFERED || options.isParallel()) {
+                assertEquals(Files.size(logFile), runMetrics.getBytesRead());
+            }
+        }
+    }
+
+    private Path writeLogFile() throws IOException {
+        Path logFile = tempDir.resolve("access.log");
+        Files.write(logFile, List.of(
+            "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 \"-\" \"Debian APT\"",
+            "broken line",
+            "80.91.33.133 - - [17/May/2015:09:05:24 +0000] \"GET /downloads/product_2 HTTP/1.1\" 404 336 \"-\" \"Агент\""
+        ), StandardCharsets.UTF_8);
+        return logFile;
+    }
+
+    private StatsHandler readWithOptions(Path logFile, LocalReadOptions options) {
+        StatsHandler stats =
+            new StatsHandler(logFile.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        new LocalFileReader(stats, LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX),
+            ParserType.SINGLE_PASS::create, options)
+            .read(logFile.toString());
+        return stats;
+    }
+
 }
@@ -0,0 +1,160 @@
+package backend.academy.analyser.reader;
+
+import backend.academy.analyser.LogsFilter;
+import backend.academy.analyser.metrics.FileTiming;
+import backend.academy.analyser.metrics.RunMetrics;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.parser.ParserType;
+import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для конвейера обработки файлов")
+public class LogPipelineTest {
+
+    @TempDir
+    public Path tempDir;
+
+    @DisplayName("Проверка совпадения статистики конвейера с последовательным чтением")
+    @ParameterizedTest
+    @ValueSource(ints = {16, 150, 4096})
+    void testRunSameAsSequential(int chunkSize) throws IOException {
+        Path first = writeLogFile("first.log", 0, 40);
+        Path second = writeLogFile("second.log", 40, 25);
+
+        StatsHandler sequentialStats =
+            new StatsHandler(tempDir.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        LocalFileReader sequentialReader = new LocalFileReader(sequentialStats,
+            LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX),
+            ParserType.SINGLE_PASS::create, LocalReadOptions.DEFAULT);
+        sequentialReader.processFile(first);
+        sequentialReader.processFile(second);
+        StatsHandler pipelineStats =
+            new StatsHandler(tempDir.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        RunMetrics runMetrics = new RunMetrics();
+        LogPipeline pipeline = new LogPipeline(ParserType.SINGLE_PASS::create,
+            LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX), 3, runMetrics, 2, chunkSize);
+        pipeline.run(List.of(first, second), pipelineStats);
+
+        assertEquals(65, pipelineStats.requestCount());
+        assertEquals(sequentialStats.sumResponseSize(), pipelineStats.sumResponseSize());
+        assertEquals(sequentialStats.responseCodeStats().responseCodesMap(),
+            pipelineStats.responseCodeStats().responseCodesMap());
+        assertEquals(sequentialStats.requestStats().requestResourceCounts(),
+            pipelineStats.requestStats().requestResourceCounts());
+        assertEquals(sequentialStats.dateStats().hoursRequestCounts(), pipelineStats.dateStats().hoursRequestCounts());
+        assertEquals(pipeline.readStage().items(),
+            pipeline.parseStages().stream().mapToLong(PipelineStage::items).sum());
+        assertTrue(pipeline.aggregateStage().items() > 0);
+        assertEquals(0, pipeline.chunkQueueDepth());
+        assertEquals(0, pipeline.batchQueueDepth());
+        assertEquals(67, runMetrics.getLinesRead());
+        assertEquals(65, runMetrics.getLinesParsed());
+        assertEquals(2, runMetrics.getLinesMalformed());
+        assertEquals(Files.size(first) + Files.size(second), runMetrics.getBytesRead());
+        assertEquals(List.of(Files.size(first), Files.size(second)),
+            runMetrics.fileTimings().stream().map(FileTiming::bytes).toList());
+        assertTrue(runMetrics.getStageMillis().containsKey("parse-2"));
+    }
+
+    @DisplayName("Проверка проброса ошибки стадии разбора после остановки конвейера")
+    @Test
+    void testRunStageFailure() throws IOException {
+        Path logFile = writeLogFile("access.log", 0, 40);
+        AtomicInteger createdParsers = new AtomicInteger();
+        Supplier<LogLineParser> failingSecondParser = () -> {
+            if (createdParsers.incrementAndGet() == 2) {
+                throw new IllegalArgumentException("parser failure");
+            }
+            return ParserType.SINGLE_PASS.create();
+        };
+        RunMetrics runMetrics = new RunMetrics();
+        LogPipeline pipeline = new LogPipeline(failingSecondParser,
+            LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX), 2, runMetrics, 2, 16);
+        StatsHandler stats =
+            new StatsHandler(tempDir.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> pipeline.run(List.of(logFile), stats));
+
+        assertEquals("parser failure", exception.getCause().getMessage());
+        assertTrue(runMetrics.getStageMillis().containsKey("aggregate"));
+    }
+
+    @DisplayName("Проверка остановки конвейера при Error в стадии разбора")
+    @Test
+    void testRunStageError() throws IOException {
+        Path logFile = writeLogFile("access.log", 0, 400);
+        AtomicInteger createdParsers = new AtomicInteger();
+        Supplier<LogLineParser> failingSecondParser = () -> {
+            if (createdParsers.incrementAndGet() == 2) {
+                throw new OutOfMemoryError("parser error");
+            }
+            return ParserType.SINGLE_PASS.create();
+        };
+        LogPipeline pipeline = new LogPipeline(failingSecondParser,
+            LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX), 2, new RunMetrics(), 2, 16);
+        StatsHandler stats =
+            new StatsHandler(tempDir.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> pipeline.run(List.of(logFile), stats));
+
+        assertEquals("parser error", exception.getCause().getMessage());
+    }
+
+    @DisplayName("Проверка учета слишком длинной строки как некорректной")
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testRunOversizedLine(boolean newlineAtEnd) throws IOException {
+        Path first = writeLogFile("first.log", 0, 20);
+        String oversized = "x".repeat(1000);
+        Files.writeString(first, oversized + "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Path second = writeLogFile("second.log", 20, 20);
+        Files.writeString(second, newlineAtEnd ? oversized + "\n" : oversized,
+            StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        RunMetrics runMetrics = new RunMetrics();
+        LogPipeline pipeline = new LogPipeline(ParserType.SINGLE_PASS::create,
+            LogsFilter.compile("", "", LocalDateTime.MIN, LocalDateTime.MAX), 2, runMetrics, 2, 64, 256);
+        StatsHandler stats =
+            new StatsHandler(tempDir.toString(), LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+
+        pipeline.run(List.of(first, second), stats);
+
+        assertEquals(40, stats.requestCount());
+        assertEquals(44, runMetrics.getLinesRead());
+        assertEquals(4, runMetrics.getLinesMalformed());
+        assertEquals(List.of(Files.size(first), Files.size(second)),
+            runMetrics.fileTimings().stream().map(FileTiming::bytes).toList());
+    }
+
+    private Path writeLogFile(String name, int first, int count) throws IOException {
+        List<String> lines = new ArrayList<>(count + 1);
+        for (int i = first; i < first + count; i++) {
+            lines.add(String.format(
+                "93.180.71.%d - - [17/May/2015:%02d:05:32 +0000] \"GET /downloads/product_%d HTTP/1.1\" %d %d \"-\" \"-\"",
+                i % 256, i % 24, i % 7, i % 3 == 0 ? 404 : 200, i * 10));
+        }
+        lines.add("broken line");
+        Path logFile = tempDir.resolve(name);
+        Files.write(logFile, lines, StandardCharsets.UTF_8);
+        return logFile;
+    }
+}
@@ -0,0 +1,150 @@
+package backend.academy.analyser.reader;
+
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.parser.LogLineParser;
+import backend.academy.analyser.parser.ParserType;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для чтения файлов, отображенных в память")
+public class MappedFileScannerTest {
+
+    @TempDir
+    public Path tempDir;
+
+    @DisplayName("Проверка деления файла на строки")
+    @Test
+    void testScanLines() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, "first line\r\nsecond line that is long enough to span words\n\nlast", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<>();
+        MappedFileScanner.scan(file, line -> lines.add(line.toString()));
+
+        assertEquals(List.of("first line", "second line that is long enough to span words", "", "last"), lines);
+    }
+
+    @DisplayName("Проверка позиций, длины и частей строки с не-ASCII символами")
+    @Test
+    void testScanNonAsciiLine() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, "ascii \"agent\"\nпривет \"агент\"\n", StandardCharsets.UTF_8);
+
+        List<String> parts = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        MappedFileScanner.scan(file, line -> {
+            int quote = 0;
+            while (line.charAt(quote) != '"') {
+                quote++;
+            }
+            CharSequence value = line.subSequence(quote + 1, line.length() - 1);
+            parts.add(value.toString());
+            lengths.add(line.length());
+            assertEquals(line.length() - quote - 2, value.length());
+        });
+
+        assertEquals(List.of("agent", "агент"), parts);
+        assertEquals(List.of(13, 14), lengths);
+    }
+
+    @DisplayName("Проверка повторного использования строк словаря парсера для строк с кириллицей")
+    @Test
+    void testParseNonAsciiLinesWithDictionary() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        String line = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 304 0 "
+            + "\"-\" \"Браузер/1.0 (Линукс)\"\n";
+        Files.writeString(file, line + line, StandardCharsets.UTF_8);
+        LogLineParser logParser = ParserType.SINGLE_PASS.create();
+
+        List<NginxLogEntity> entities = new ArrayList<>();
+        MappedFileScanner.scan(file, mappedLine -> entities.add(logParser.parse(mappedLine)));
+
+        assertEquals(2, entities.size());
+        assertEquals("Браузер/1.0 (Линукс)", entities.getFirst().httpUserAgent());
+        assertSame(entities.getFirst().httpUserAgent(), entities.getLast().httpUserAgent());
+    }
+
+    @DisplayName("Проверка чтения диапазона файла")
+    @Test
+    void testScanRange() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, "aaa\nbbb\nccc\n", StandardCharsets.UTF_8);
+
+        List<String> lines = new ArrayList<>();
+        MappedFileScanner.scan(file, 4, 8, line -> lines.add(line.toString()));
+
+        assertEquals(List.of("bbb"), lines);
+    }
+
+    @DisplayName("Проверка деления файла на части по границам строк")
+    @Test
+    void testSplit() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, "first\nsecond line\nthird\nfourth line\nfifth", StandardCharsets.UTF_8);
+
+        List<FileRange> ranges = MappedFileScanner.split(file, 3, 1);
+
+        assertEquals(3, ranges.size());
+        assertEquals(0, ranges.getFirst().from());
+        assertEquals(Files.size(file), ranges.getLast().to());
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            FileRange range = ranges.get(i);
+            if (i > 0) {
+                assertEquals(ranges.get(i - 1).to(), range.from());
+            }
+            MappedFileScanner.scan(file, range.from(), range.to(), line -> lines.add(line.toString()));
+        }
+        assertEquals(List.of("first", "second line", "third", "fourth line", "fifth"), lines);
+    }
+
+    @DisplayName("Проверка, что маленький файл не делится на части")
+    @Test
+    void testSplitSmallFile() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, "aaa\nbbb\n", StandardCharsets.UTF_8);
+
+        List<FileRange> ranges = MappedFileScanner.split(file, 4, 1024);
+
+        assertEquals(List.of(new FileRange(file, 0, Files.size(file))), ranges);
+    }
+
+    @DisplayName("Проверка чтения пустого файла")
+    @Test
+    void testScanEmptyFile() throws IOException {
+        Path file = Files.createFile(tempDir.resolve("log.txt"));
+
+        List<String> lines = new ArrayList<>();
+        MappedFileScanner.scan(file, line -> lines.add(line.toString()));
+
+        assertTrue(lines.isEmpty());
+    }
+
+    @DisplayName("Проверка декодирования полей с не-ASCII символами")
+    @Test
+    void testScanUtf8Line() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, "агент \"Мозилла\"\n", StandardCharsets.UTF_8);
+
+        List<String> fields = new ArrayList<>();
+        MappedFileScanner.scan(file, line -> {
+            int quote = 0;
+            while (line.charAt(quote) != '"') {
+                quote++;
+            }
+            fields.add(line.subSequence(quote + 1, line.length() - 1).toString());
+        });
+
+        assertEquals(List.of("Мозилла"), fields);
+    }
+}
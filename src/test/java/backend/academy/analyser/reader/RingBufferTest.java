@@ -0,0 +1,83 @@
+package backend.academy.analyser.reader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для ограниченной очереди без блокировок")
+public class RingBufferTest {
+
+    @DisplayName("Проверка порядка элементов и отказа при заполненной очереди")
+    @Test
+    void testOfferAndPoll() {
+        RingBuffer<Integer> queue = new RingBuffer<>(3);
+
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(4));
+
+        List<Integer> polled = new ArrayList<>();
+        Integer element = queue.poll();
+        while (element != null) {
+            polled.add(element);
+            element = queue.poll();
+        }
+
+        assertEquals(List.of(1, 2, 3, 4), polled);
+        assertEquals(0, queue.size());
+        assertEquals(4, queue.highWaterMark());
+        assertNull(queue.poll());
+    }
+
+    @DisplayName("Проверка одновременной работы нескольких производителей и потребителей")
+    @Test
+    void testConcurrentProducersAndConsumers() throws InterruptedException, ExecutionException {
+        RingBuffer<Integer> queue = new RingBuffer<>(8);
+        int producers = 3;
+        int elementsPerProducer = 10_000;
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers * 2)) {
+            List<Future<Long>> sums = new ArrayList<>(producers);
+            for (int p = 0; p < producers; p++) {
+                executor.submit(() -> {
+                    for (int i = 1; i <= elementsPerProducer; i++) {
+                        while (!queue.offer(i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+                sums.add(executor.submit(() -> {
+                    long sum = 0;
+                    for (int i = 0; i < elementsPerProducer; i++) {
+                        Integer element = queue.poll();
+                        while (element == null) {
+                            Thread.onSpinWait();
+                            element = queue.poll();
+                        }
+                        sum += element;
+                    }
+                    return sum;
+                }));
+            }
+
+            long total = 0;
+            for (Future<Long> sum : sums) {
+                total += sum.get();
+            }
+            assertEquals(producers * (long) elementsPerProducer * (elementsPerProducer + 1) / 2, total);
+        }
+    }
+}
@@ -1,65 +1,48 @@
 package backend.academy.analyser.reader;
 
 import backend.academy.analyser.LogsFilter;
-import backend.academy.analyser.NginxLogEntity;
-import backend.academy.analyser.parser.LogParser;
+import backend.academy.analyser.parser.ParserType;
 import backend.academy.analyser.stats.StatsHandler;
+import backend.academy.analyser.stats.StatsOptions;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.io.StringReader;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @DisplayName("Тесты для чтения и обработки файлов по URL")
 public class UrlLogFileReaderTest {
 
-    @InjectMocks
-    private UrlLogFileReader urlLogFileReader;
-
-    @Mock
-    private LogParser logParser;
-
-    @Mock
-    private LogsFilter logsFilter;
+    private static final String URL = "http://www.google.com";
 
-    @Mock
-    private NginxLogEntity nginxLogEntity;
+    private UrlLogFileReader urlLogFileReader;
 
-    @Mock
     private StatsHandler statsHandler;
 
-    private LocalDateTime fromTime;
-    private LocalDateTime toTime;
-
     @BeforeEach
     public void setUp() {
-        MockitoAnnotations.openMocks(this);
-        fromTime = LocalDateTime.of(2023, 1, 1, 0, 0);
-        toTime = LocalDateTime.of(2023, 12, 31, 23, 59);
-        urlLogFileReader = new UrlLogFileReader(statsHandler, fromTime, toTime, "status", "400");
+        LocalDateTime fromTime = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime toTime = LocalDateTime.of(2023, 12, 31, 23, 59);
+        statsHandler = new StatsHandler(URL, LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        urlLogFileReader = new UrlLogFileReader(statsHandler,
+            LogsFilter.compile("status", "400", fromTime, toTime), ParserType.SINGLE_PASS::create);
     }
 
     @DisplayName("Проверка валидации URL с корректным URL")
     @Test
     void testIsValidUrlWithValidUrl() {
-        assertTrue(urlLogFileReader.isValidUrl("http://www.google.com"));
+        assertTrue(urlLogFileReader.isValidUrl(URL));
     }
 
     @DisplayName("Проверка валидации URL с некорректным URL")
@@ -74,36 +57,25 @@ public class UrlLogFileReaderTest {
         UrlLogFileReader readerSpy = spy(urlLogFileReader);
         doNothing().when(readerSpy).processUrl(anyString());
 
-        readerSpy.processUrl("http://www.google.com");
+        readerSpy.read(URL);
 
-        verify(readerSpy).processUrl("http://www.google.com");
+        verify(readerSpy).processUrl(URL);
     }
 
-    @DisplayName("Проверка чтения логов в файле")
+    @DisplayName("Проверка чтения логов по URL с фильтрацией по полю и диапазону дат")
     @Test
     void testProcessUrl() throws IOException {
-        LogsFilter mockFilter = mock(LogsFilter.class);
-        LogParser mockLogParser = mock(LogParser.class);
-
         UrlLogFileReader readerSpy = spy(urlLogFileReader);
+        String logs = String.join("\n",
+            "93.180.71.3 - - [17/May/2023:08:05:32 +0000] \"GET /downloads/product_1 HTTP/1.1\" 400 10 \"-\" \"-\"",
+            "93.180.71.3 - - [17/May/2023:08:05:33 +0000] \"GET /downloads/product_2 HTTP/1.1\" 200 20 \"-\" \"-\"",
+            "93.180.71.3 - - [17/May/2015:08:05:34 +0000] \"GET /downloads/product_3 HTTP/1.1\" 400 30 \"-\" \"-\"",
+            "broken line");
+        doReturn(new BufferedReader(new StringReader(logs))).when(readerSpy).createBufferedReader(any());
 
-        URI uri = URI.create("http://www.google.com");
-        BufferedReader bufferedReader =
-            new BufferedReader(new InputStreamReader(uri.toURL().openStream(), StandardCharsets.UTF_8));
-
-        when(mockLogParser.parse(any())).thenReturn(nginxLogEntity);
-        when(mockFilter.filter(any())).thenReturn(true);
-        when(mockFilter.checkFromToDate(any(), any(), any())).thenReturn(true);
-        when(readerSpy.createBufferedReader(uri)).thenReturn(bufferedReader);
-
-        doReturn(mockFilter.filter(any())).when(logsFilter).filter(any());
-        doReturn(mockFilter.checkFromToDate(any(), any(), any())).when(logsFilter).checkFromToDate(any(), any(), any());
-        doReturn(mockLogParser.parse(any())).when(logParser).parse(any());
-
-        readerSpy.processUrl("http://www.google.com");
+        readerSpy.processUrl(URL);
 
-        verify(mockLogParser).parse(any());
-        verify(mockFilter).filter(any());
-        verify(mockFilter).checkFromToDate(any(), any(), any());
+        assertEquals(1, statsHandler.requestCount());
+        assertEquals(10, statsHandler.sumResponseSize());
     }
 }
@@ -0,0 +1,52 @@
+package backend.academy.analyser.stats;
+
+import backend.academy.analyser.stats.date.DateStats;
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.DistinctStats;
+import backend.academy.analyser.stats.distinct.HyperLogLog;
+import backend.academy.analyser.stats.quantile.PercentileMode;
+import backend.academy.analyser.stats.request.RequestStats;
+import backend.academy.analyser.stats.response.ResponseCodeStats;
+import backend.academy.analyser.stats.size.ResponseSizeStats;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@DisplayName("Тесты реестра подключаемых статистик")
+public class StatsCollectorsTest {
+
+    @DisplayName("Проверка поиска встроенных статистик через ServiceLoader")
+    @Test
+    void testNames() {
+        assertEquals(List.of("requests", "codes", "dates", "distinct", "sizes"), StatsCollectors.names());
+    }
+
+    @DisplayName("Проверка создания выбранных статистик в порядке регистрации")
+    @Test
+    void testCreate() {
+        StatsOptions options = new StatsOptions(StatsOptions.DEFAULT_PERCENTILE_LEVELS, PercentileMode.SKETCH, 0,
+            StatsOptions.DEFAULT_TOP, HyperLogLog.DEFAULT_PRECISION, TimeResolution.MINUTE,
+            List.of("sizes", "codes"));
+
+        List<StatsCollector<?>> collectors = StatsCollectors.create(options);
+
+        assertEquals(2, collectors.size());
+        assertInstanceOf(ResponseCodeStats.class, collectors.get(0));
+        assertInstanceOf(ResponseSizeStats.class, collectors.get(1));
+    }
+
+    @DisplayName("Проверка создания всех статистик по умолчанию")
+    @Test
+    void testCreateDefault() {
+        List<StatsCollector<?>> collectors = StatsCollectors.create(StatsOptions.DEFAULT);
+
+        assertEquals(5, collectors.size());
+        assertInstanceOf(RequestStats.class, collectors.get(0));
+        assertInstanceOf(ResponseCodeStats.class, collectors.get(1));
+        assertInstanceOf(DateStats.class, collectors.get(2));
+        assertInstanceOf(DistinctStats.class, collectors.get(3));
+        assertInstanceOf(ResponseSizeStats.class, collectors.get(4));
+    }
+}
@@ -1,15 +1,30 @@
 package backend.academy.analyser.stats;
 
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogField;
+import backend.academy.analyser.LogTime;
 import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.stats.date.TimeResolution;
+import backend.academy.analyser.stats.distinct.HyperLogLog;
+import backend.academy.analyser.stats.quantile.DDSketch;
+import backend.academy.analyser.stats.quantile.PercentileMode;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -21,7 +36,7 @@ public class StatsHandlerTest {
 
     @BeforeEach
     public void setUp() {
-        statsHandler = new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX);
+        statsHandler = new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
         nginxLogEntity = mock(NginxLogEntity.class);
     }
 
@@ -42,8 +57,8 @@ public class StatsHandlerTest {
     void testUpdateStats() {
         when(nginxLogEntity.bodyBytesSent()).thenReturn(215);
         when(nginxLogEntity.status()).thenReturn(404);
-        when(nginxLogEntity.timeLocal()).thenReturn(LocalDateTime.now());
-        when(nginxLogEntity.request()).thenReturn("GET /downloads/product_1 HTTP/1.1");
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.now(), ZoneOffset.UTC));
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
 
         statsHandler.updateStats(nginxLogEntity);
 
@@ -60,36 +75,232 @@ public class StatsHandlerTest {
     void testCountStats() {
         when(nginxLogEntity.bodyBytesSent()).thenReturn(215);
         when(nginxLogEntity.status()).thenReturn(404);
-        when(nginxLogEntity.timeLocal()).thenReturn(LocalDateTime.now());
-        when(nginxLogEntity.request()).thenReturn("GET /downloads/product_1 HTTP/1.1");
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.now(), ZoneOffset.UTC));
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
 
         statsHandler.updateStats(nginxLogEntity);
 
         when(nginxLogEntity.bodyBytesSent()).thenReturn(100);
         when(nginxLogEntity.status()).thenReturn(500);
-        when(nginxLogEntity.timeLocal()).thenReturn(LocalDateTime.now());
-        when(nginxLogEntity.request()).thenReturn("GET /downloads/product_1 HTTP/1.1");
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.now(), ZoneOffset.UTC));
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
 
         statsHandler.updateStats(nginxLogEntity);
 
         statsHandler.countStats();
 
         assertEquals(157, statsHandler.avgResponseSize());
-        assertEquals(209, statsHandler.percentile());
+        assertEquals(209, statsHandler.percentiles().get("95"), 209 * DDSketch.DEFAULT_RELATIVE_ACCURACY);
     }
 
-    @DisplayName("Проверка метода сортировки мапы")
+    @DisplayName("Проверка объединения статистики, собранной по частям логов")
     @Test
-    void testSortRequestMap() {
-        Map<String, Integer> requestMap = new HashMap<>();
-        requestMap.put("GET", 10);
-        requestMap.put("POST", 5);
-        requestMap.put("HEAD", 15);
+    void testMerge() {
+        when(nginxLogEntity.bodyBytesSent()).thenReturn(215);
+        when(nginxLogEntity.status()).thenReturn(404);
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.of(2015, 5, 17, 8, 5), ZoneOffset.UTC));
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
+
+        StatsHandler partialStats = statsHandler.createPartial();
+        statsHandler.updateStats(nginxLogEntity);
+        partialStats.updateStats(nginxLogEntity);
+        partialStats.updateStats(nginxLogEntity);
 
-        LinkedHashMap<String, Integer> sortedMap = statsHandler.sortRequestMap(requestMap);
+        statsHandler.merge(partialStats);
+        statsHandler.countStats();
+
+        assertEquals("testFile", partialStats.files());
+        assertEquals(3, statsHandler.requestCount());
+        assertEquals(645, statsHandler.sumResponseSize());
+        assertEquals(215, statsHandler.avgResponseSize());
+        assertEquals(3, statsHandler.responseCodeStats().responseCodesMap().get(404));
+        assertEquals(3, statsHandler.dateStats().hoursRequestCounts().get("8"));
+        assertEquals(3, statsHandler.requestStats().requestMethodsCounts().get("GET"));
+        assertEquals(3, statsHandler.requestStats().requestResourceCounts().get("/downloads/product_1"));
+    }
+
+    @DisplayName("Проверка независимости результата объединения от порядка частей")
+    @Test
+    void testMergeAssociativeAndCommutative() {
+        StatsHandler first = statsWithSizes(100, 404);
+        StatsHandler second = statsWithSizes(300, 200);
+        StatsHandler third = statsWithSizes(50, 200);
+
+        StatsHandler leftToRight = statsHandler.createPartial();
+        leftToRight.merge(first);
+        leftToRight.merge(second);
+        leftToRight.merge(third);
+        StatsHandler grouped = statsHandler.createPartial();
+        StatsHandler secondWithThird = statsHandler.createPartial();
+        secondWithThird.merge(third);
+        secondWithThird.merge(second);
+        grouped.merge(secondWithThird);
+        grouped.merge(first);
+        leftToRight.countStats();
+        grouped.countStats();
+
+        assertEquals(leftToRight.requestCount(), grouped.requestCount());
+        assertEquals(leftToRight.sumResponseSize(), grouped.sumResponseSize());
+        assertEquals(leftToRight.avgResponseSize(), grouped.avgResponseSize());
+        assertEquals(leftToRight.percentiles(), grouped.percentiles());
+        assertEquals(leftToRight.responseCodeStats().responseCodesMap(), grouped.responseCodeStats().responseCodesMap());
+        assertEquals(leftToRight.dateStats().hoursRequestCounts(), grouped.dateStats().hoursRequestCounts());
+        assertEquals(leftToRight.requestStats().requestResourceCounts(),
+            grouped.requestStats().requestResourceCounts());
+    }
+
+    private StatsHandler statsWithSizes(int responseSize, int status) {
+        NginxLogEntity entity = mock(NginxLogEntity.class);
+        when(entity.bodyBytesSent()).thenReturn(responseSize);
+        when(entity.status()).thenReturn(status);
+        when(entity.time()).thenReturn(LogTime.of(LocalDateTime.of(2015, 5, 17, responseSize % 24, 0), ZoneOffset.UTC));
+        when(entity.request()).thenReturn(parseHttpRequest("GET /downloads/product_" + status + " HTTP/1.1"));
+        StatsHandler stats = statsHandler.createPartial();
+        stats.updateStats(entity);
+        stats.updateStats(entity);
+        return stats;
+    }
+
+    @DisplayName("Проверка подсчета нескольких выбранных перцентилей")
+    @Test
+    void testCountSeveralPercentiles() {
+        StatsHandler stats = new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX,
+            percentileOptions(List.of(50.0, 99.9), PercentileMode.SKETCH));
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.now(), ZoneOffset.UTC));
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
+        for (int size = 1; size <= 1000; size++) {
+            when(nginxLogEntity.bodyBytesSent()).thenReturn(size);
+            stats.updateStats(nginxLogEntity);
+        }
+
+        stats.countStats();
+
+        assertEquals(List.of("50", "99.9"), List.copyOf(stats.percentiles().keySet()));
+        assertEquals(500, stats.percentiles().get("50"), 500 * DDSketch.DEFAULT_RELATIVE_ACCURACY);
+        assertEquals(999, stats.percentiles().get("99.9"), 999 * DDSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    @DisplayName("Проверка точного подсчета перцентиля")
+    @Test
+    void testCountExactPercentile() {
+        StatsHandler stats = new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX,
+            percentileOptions(StatsOptions.DEFAULT_PERCENTILE_LEVELS, PercentileMode.EXACT));
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.now(), ZoneOffset.UTC));
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
+        when(nginxLogEntity.bodyBytesSent()).thenReturn(215);
+        stats.updateStats(nginxLogEntity);
+        when(nginxLogEntity.bodyBytesSent()).thenReturn(100);
+        stats.updateStats(nginxLogEntity);
+
+        StatsHandler partialStats = stats.createPartial();
+        partialStats.updateStats(nginxLogEntity);
+        stats.merge(partialStats);
+        stats.countStats();
+
+        assertEquals(PercentileMode.EXACT, partialStats.percentileMode());
+        assertEquals(203, stats.percentiles().get("95"));
+    }
+
+    @DisplayName("Проверка сохранения настроек статистики в частичной статистике")
+    @Test
+    void testCreatePartialKeepsOptions() {
+        StatsOptions options = new StatsOptions(List.of(50.0), PercentileMode.EXACT, 16, 5, 10,
+            TimeResolution.HOUR, StatsCollectors.names());
+        StatsHandler stats = new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX, options);
+
+        StatsHandler partialStats = stats.createPartial();
+
+        assertEquals(options, partialStats.options());
+        assertTrue(partialStats.requestStats().isApproximate());
+        assertEquals(16, partialStats.requestStats().resourceHeavyHitters().capacity());
+        assertEquals(10, partialStats.distinctStats().remoteAddrs().precision());
+        assertEquals(3600, partialStats.dateStats().timeSeries().bucketSeconds());
+        assertFalse(statsHandler.requestStats().isApproximate());
+    }
+
+    @DisplayName("Проверка метода выбора записей мапы с наибольшими значениями")
+    @Test
+    void testTopRequestMap() {
+        Map<String, Long> requestMap = new HashMap<>();
+        requestMap.put("GET", 10L);
+        requestMap.put("POST", 5L);
+        requestMap.put("HEAD", 15L);
+        requestMap.put("PUT", 10L);
+        requestMap.put("DELETE", 1L);
+
+        LinkedHashMap<String, Long> sortedMap = statsHandler.topRequestMap(requestMap);
 
         assertEquals(15, sortedMap.values().iterator().next());
         assertEquals("HEAD", sortedMap.keySet().iterator().next());
+        assertEquals(List.of("HEAD", "GET", "PUT"), List.copyOf(sortedMap.keySet()));
+    }
+
+
+    @DisplayName("Проверка совпадения статистики по пакету и по отдельным логам")
+    @Test
+    void testUpdateStatsWithBatch() {
+        StatsHandler batchStats =
+            new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX, StatsOptions.DEFAULT);
+        LogBatch batch = new LogBatch(4);
+        String[] requests = {"GET /downloads/product_1 HTTP/1.1", "POST /api HTTP/1.1", "GET /downloads/product_1 HTTP/1.1",
+            "broken", "HEAD /api HTTP/1.0"};
+        for (int i = 0; i < requests.length; i++) {
+            NginxLogEntity entity = new NginxLogEntity("-", "-",
+                LogTime.of(LocalDateTime.of(2015, 5, 17, i * 5, 0), ZoneOffset.UTC), parseHttpRequest(requests[i]),
+                200 + i * 100, i * 1000, "-", "-");
+            statsHandler.updateStats(entity);
+            batch.add(entity);
+            if (batch.isFull()) {
+                batchStats.updateStats(batch);
+                batch.clear();
+            }
+        }
+        batchStats.updateStats(batch);
+        statsHandler.countStats();
+        batchStats.countStats();
+
+        assertEquals(statsHandler.requestCount(), batchStats.requestCount());
+        assertEquals(statsHandler.sumResponseSize(), batchStats.sumResponseSize());
+        assertEquals(statsHandler.percentiles(), batchStats.percentiles());
+        assertEquals(statsHandler.responseCodeStats().responseCodesMap(),
+            batchStats.responseCodeStats().responseCodesMap());
+        assertEquals(statsHandler.dateStats().hoursRequestCounts(), batchStats.dateStats().hoursRequestCounts());
+        assertEquals(statsHandler.requestStats().requestResourceCounts(),
+            batchStats.requestStats().requestResourceCounts());
+        assertEquals(Map.of("GET", 2L, "POST", 1L, "HEAD", 1L), batchStats.requestStats().requestMethodsCounts());
+    }
+
+    @DisplayName("Проверка сбора только выбранных статистик")
+    @Test
+    void testSelectedMetrics() {
+        StatsOptions options = new StatsOptions(StatsOptions.DEFAULT_PERCENTILE_LEVELS, PercentileMode.EXACT, 0,
+            StatsOptions.DEFAULT_TOP, HyperLogLog.DEFAULT_PRECISION, TimeResolution.MINUTE, List.of("codes"));
+        StatsHandler stats = new StatsHandler("testFile", LocalDateTime.MIN, LocalDateTime.MAX, options);
+        NginxLogEntity entity = new NginxLogEntity(null, "-", null, null, 404, 100, "-", null);
+
+        stats.updateStats(entity);
+        stats.merge(stats.createPartial());
+        stats.countStats();
+
+        assertEquals(Set.of(LogField.STATUS), stats.requiredFields());
+        assertEquals(1, stats.collectors().size());
+        assertEquals(1, stats.requestCount());
+        assertEquals(1, stats.responseCodeStats().responseCodesMap().get(404));
+        assertNull(stats.requestStats());
+        assertNull(stats.dateStats());
+        assertEquals(0, stats.sumResponseSize());
+        assertEquals(Map.of(), stats.percentiles());
+    }
+
+    @DisplayName("Проверка полей лога, которые нужны всем статистикам")
+    @Test
+    void testRequiredFields() {
+        assertEquals(EnumSet.of(LogField.REMOTE_ADDR, LogField.TIME, LogField.REQUEST, LogField.STATUS,
+            LogField.BYTES, LogField.USER_AGENT), statsHandler.requiredFields());
     }
 
+    private static StatsOptions percentileOptions(List<Double> percentileLevels, PercentileMode percentileMode) {
+        return new StatsOptions(percentileLevels, percentileMode, 0, StatsOptions.DEFAULT_TOP,
+            HyperLogLog.DEFAULT_PRECISION, TimeResolution.MINUTE, StatsCollectors.names());
+    }
 }
@@ -1,7 +1,10 @@
 package backend.academy.analyser.stats.date;
 
+import backend.academy.analyser.LogTime;
 import backend.academy.analyser.NginxLogEntity;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,7 +28,7 @@ public class DateStatsTest {
     @DisplayName("Проверка инициализации мапы со статистикой часов")
     @Test
     void testInitHoursRequestCounts() {
-        Map<String, Integer> hoursRequestCounts = dateStats.hoursRequestCounts();
+        Map<String, Long> hoursRequestCounts = dateStats.hoursRequestCounts();
 
         assertEquals(0, hoursRequestCounts.size());
     }
@@ -34,7 +37,7 @@ public class DateStatsTest {
     @Test
     void testChangeDateStats() {
         String hour = "8";
-        when(nginxLogEntity.timeLocal()).thenReturn(LocalDateTime.of(2022, 5, 8, 8, 1));
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.of(2022, 5, 8, 8, 1), ZoneOffset.UTC));
 
         dateStats.changeDateStats(nginxLogEntity);
         dateStats.changeDateStats(nginxLogEntity);
@@ -42,4 +45,66 @@ public class DateStatsTest {
         assertEquals(2, dateStats.hoursRequestCounts().get(hour));
     }
 
+    @DisplayName("Проверка самых нагруженных часов, построенных из минутного ряда")
+    @Test
+    void testPeakHours() {
+        LogTime first = LogTime.of(LocalDateTime.of(2022, 5, 8, 8, 1), ZoneOffset.UTC);
+        LogTime second = LogTime.of(LocalDateTime.of(2022, 5, 8, 8, 59), ZoneOffset.UTC);
+        LogTime third = LogTime.of(LocalDateTime.of(2022, 5, 8, 9, 0), ZoneOffset.UTC);
+        when(nginxLogEntity.time()).thenReturn(first, second, third);
+        when(nginxLogEntity.status()).thenReturn(200, 503, 200);
+        when(nginxLogEntity.bodyBytesSent()).thenReturn(10, 20, 30);
+        for (int i = 0; i < 3; i++) {
+            dateStats.update(nginxLogEntity);
+        }
+
+        assertEquals(60, dateStats.resolutionSeconds());
+        assertEquals(3, dateStats.peakIntervals(3).size());
+        assertEquals(List.of(new TimeBucket(first.localEpochSecond() - 60, 2, 1, 30),
+                new TimeBucket(third.localEpochSecond(), 1, 0, 30)),
+            dateStats.peakHours(3));
+    }
+
+    @DisplayName("Проверка пропуска лога без времени")
+    @Test
+    void testChangeDateStatsWithoutTime() {
+        when(nginxLogEntity.time()).thenReturn(null);
+
+        dateStats.update(nginxLogEntity);
+
+        assertEquals(Map.of(), dateStats.hoursRequestCounts());
+        assertEquals(List.of(), dateStats.peakIntervals(3));
+    }
+
+    @DisplayName("Проверка объединения статистики по часам")
+    @Test
+    void testMerge() {
+        DateStats otherStats = new DateStats();
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.of(2022, 5, 8, 8, 1), ZoneOffset.UTC));
+        dateStats.changeDateStats(nginxLogEntity);
+        otherStats.changeDateStats(nginxLogEntity);
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.of(2022, 5, 8, 23, 59), ZoneOffset.UTC));
+        otherStats.changeDateStats(nginxLogEntity);
+
+        dateStats.merge(otherStats);
+
+        assertEquals(Map.of("8", 2L, "23", 1L), dateStats.hoursRequestCounts());
+    }
+
+    @DisplayName("Проверка временного ряда выбранного размера интервала")
+    @Test
+    void testTimeSeries() {
+        DateStats hourStats = new DateStats(TimeResolution.HOUR);
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.of(2022, 5, 8, 8, 1), ZoneOffset.UTC));
+        when(nginxLogEntity.status()).thenReturn(500);
+        when(nginxLogEntity.bodyBytesSent()).thenReturn(10);
+        hourStats.changeDateStats(nginxLogEntity);
+        when(nginxLogEntity.time()).thenReturn(LogTime.of(LocalDateTime.of(2022, 5, 8, 8, 59), ZoneOffset.UTC));
+        hourStats.changeDateStats(nginxLogEntity);
+
+        assertEquals(List.of(new TimeBucket(LocalDateTime.of(2022, 5, 8, 8, 0).toEpochSecond(ZoneOffset.UTC), 2, 2, 20)),
+            hourStats.timeSeries().buckets());
+        assertEquals(60, dateStats.timeSeries().bucketSeconds());
+    }
+
 }
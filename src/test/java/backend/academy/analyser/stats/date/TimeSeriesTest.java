@@ -0,0 +1,103 @@
+package backend.academy.analyser.stats.date;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogTime;
+import backend.academy.analyser.NginxLogEntity;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тесты для временного ряда с интервалами фиксированного размера")
+public class TimeSeriesTest {
+
+    private static final long START = LocalDateTime.of(2015, 5, 17, 8, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @DisplayName("Проверка счетчиков интервалов")
+    @Test
+    void testAdd() {
+        TimeSeries timeSeries = new TimeSeries(60);
+        timeSeries.add(START + 5, 200, 100);
+        timeSeries.add(START + 59, 503, 20);
+        timeSeries.add(START + 61, 404, 7);
+        timeSeries.add(START - 1, 500, 1);
+
+        assertEquals(List.of(
+            new TimeBucket(START - 60, 1, 1, 1),
+            new TimeBucket(START, 2, 1, 120),
+            new TimeBucket(START + 60, 1, 0, 7)), timeSeries.buckets());
+    }
+
+    @DisplayName("Проверка интервалов на разных страницах и далеко друг от друга")
+    @Test
+    void testSparsePages() {
+        TimeSeries timeSeries = new TimeSeries(1);
+        long farFuture = START + 10L * 365 * 24 * 3600;
+        timeSeries.add(farFuture, 200, 1);
+        timeSeries.add(START + TimeSeries.PAGE_SIZE, 200, 1);
+        timeSeries.add(START, 200, 1);
+
+        assertEquals(List.of(START, START + TimeSeries.PAGE_SIZE, farFuture),
+            timeSeries.buckets().stream().map(TimeBucket::startEpochSecond).toList());
+    }
+
+    @DisplayName("Проверка совпадения укрупненного ряда с рядом, собранным по тем же логам")
+    @Test
+    void testRollup() {
+        TimeSeries seconds = new TimeSeries(TimeResolution.SECOND.seconds());
+        TimeSeries hours = new TimeSeries(TimeResolution.HOUR.seconds());
+        for (int i = 0; i < 20_000; i++) {
+            long second = START + i * 7L - 3600;
+            int status = i % 13 == 0 ? 502 : 200;
+            seconds.add(second, status, i);
+            hours.add(second, status, i);
+        }
+
+        assertEquals(hours.buckets(), seconds.rollup(TimeResolution.HOUR.seconds()).buckets());
+        assertEquals(hours.buckets(), seconds.rollup(TimeResolution.MINUTE.seconds())
+            .rollup(TimeResolution.FIVE_MINUTES.seconds()).rollup(TimeResolution.HOUR.seconds()).buckets());
+        assertThrows(IllegalArgumentException.class, () -> hours.rollup(TimeResolution.FIVE_MINUTES.seconds()));
+    }
+
+    @DisplayName("Проверка объединения рядов и совпадения с рядом по пакету")
+    @Test
+    void testMergeAndBatch() {
+        TimeSeries first = new TimeSeries(300);
+        TimeSeries second = new TimeSeries(300);
+        TimeSeries batchSeries = new TimeSeries(300);
+        LogBatch batch = new LogBatch(64);
+        for (int i = 0; i < 50; i++) {
+            NginxLogEntity entity = new NginxLogEntity("-", "-",
+                LogTime.of(LocalDateTime.of(2015, 5, 17, 8, i), ZoneOffset.ofHours(3)),
+                parseHttpRequest("GET / HTTP/1.1"), 200 + i * 10, i, "-", "-");
+            (i % 2 == 0 ? first : second).add(entity.time().localEpochSecond(), entity.status(),
+                entity.bodyBytesSent());
+            batch.add(entity);
+        }
+        batchSeries.add(batch);
+
+        first.merge(second);
+
+        assertEquals(batchSeries.buckets(), first.buckets());
+        assertEquals(new TimeBucket(START, 5, 0, 10), first.buckets().getFirst());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new TimeSeries(60)));
+    }
+
+    @DisplayName("Проверка выбора самых нагруженных интервалов")
+    @Test
+    void testPeakBuckets() {
+        TimeSeries timeSeries = new TimeSeries(60);
+        for (int minute = 0; minute < 10; minute++) {
+            for (int i = 0; i <= minute % 4; i++) {
+                timeSeries.add(START + minute * 60L, 200, 1);
+            }
+        }
+
+        assertEquals(List.of(START + 180, START + 420, START + 120),
+            timeSeries.peakBuckets(3).stream().map(TimeBucket::startEpochSecond).toList());
+    }
+}
@@ -0,0 +1,61 @@
+package backend.academy.analyser.stats.distinct;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogTime;
+import backend.academy.analyser.NginxLogEntity;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Тесты для оценки количества различных адресов, ресурсов и user-agent")
+public class DistinctStatsTest {
+
+    private static final List<NginxLogEntity> ENTITIES = List.of(
+        entity("10.0.0.1", "GET /a HTTP/1.1", "curl"),
+        entity("10.0.0.2", "GET /a HTTP/1.1", "curl"),
+        entity("10.0.0.1", "GET /b HTTP/1.1", "Mozilla"),
+        entity("10.0.0.3", "broken", "Mozilla"),
+        entity(null, "GET /c HTTP/1.1", null));
+
+    @DisplayName("Проверка оценок по отдельным логам")
+    @Test
+    void testChangeDistinctStats() {
+        DistinctStats distinctStats = new DistinctStats();
+
+        ENTITIES.forEach(distinctStats::changeDistinctStats);
+
+        assertEquals(3, distinctStats.remoteAddrs().estimate());
+        assertEquals(3, distinctStats.resources().estimate());
+        assertEquals(2, distinctStats.userAgents().estimate());
+    }
+
+    @DisplayName("Проверка совпадения оценок по пакету и по отдельным логам после объединения")
+    @Test
+    void testBatchAndMerge() {
+        DistinctStats entityStats = new DistinctStats(8);
+        DistinctStats batchStats = new DistinctStats(8);
+        LogBatch batch = new LogBatch(8);
+        for (NginxLogEntity entity : ENTITIES) {
+            entityStats.changeDistinctStats(entity);
+            batch.add(entity);
+        }
+        DistinctStats mergedStats = new DistinctStats(8);
+        batchStats.changeDistinctStats(batch);
+
+        mergedStats.merge(batchStats);
+        mergedStats.merge(entityStats);
+
+        assertEquals(entityStats.remoteAddrs(), mergedStats.remoteAddrs());
+        assertEquals(entityStats.resources(), mergedStats.resources());
+        assertEquals(entityStats.userAgents(), mergedStats.userAgents());
+    }
+
+    private static NginxLogEntity entity(String remoteAddr, String request, String userAgent) {
+        return new NginxLogEntity(remoteAddr, "-", LogTime.of(LocalDateTime.MIN, ZoneOffset.UTC),
+            parseHttpRequest(request), 200, 0, "-", userAgent);
+    }
+}
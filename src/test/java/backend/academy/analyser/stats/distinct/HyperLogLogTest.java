@@ -0,0 +1,78 @@
+package backend.academy.analyser.stats.distinct;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тесты для оценки количества различных значений по алгоритму HyperLogLog")
+public class HyperLogLogTest {
+
+    private static final double ALLOWED_ERROR = 3 * 1.04 / Math.sqrt(1 << HyperLogLog.DEFAULT_PRECISION);
+
+    @DisplayName("Проверка оценки пустой структуры и повторяющихся значений")
+    @Test
+    void testEmptyAndDuplicates() {
+        HyperLogLog hyperLogLog = new HyperLogLog();
+
+        assertEquals(0, hyperLogLog.estimate());
+        for (int i = 0; i < 1000; i++) {
+            hyperLogLog.add("192.168.0." + i % 10);
+        }
+        assertEquals(10, hyperLogLog.estimate());
+    }
+
+    @DisplayName("Проверка относительной ошибки на малых и больших количествах")
+    @Test
+    void testRelativeError() {
+        for (int count : new int[] {100, 5_000, 40_000, 300_000, 2_000_000}) {
+            HyperLogLog hyperLogLog = new HyperLogLog();
+            for (int i = 0; i < count; i++) {
+                hyperLogLog.add("10." + (i >>> 16) + '.' + (i >>> 8 & 0xff) + '.' + (i & 0xff));
+            }
+            assertEquals(count, hyperLogLog.estimate(), count * ALLOWED_ERROR);
+        }
+    }
+
+    @DisplayName("Проверка совпадения объединенной оценки с оценкой по всем значениям")
+    @Test
+    void testMerge() {
+        HyperLogLog whole = new HyperLogLog(12);
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            String value = "/resource/" + i;
+            whole.add(value);
+            (i % 3 == 0 ? first : second).add(value);
+            if (i % 10 == 0) {
+                first.add(value);
+            }
+        }
+
+        first.merge(second);
+
+        assertEquals(whole, first);
+        assertEquals(whole.estimate(), first.estimate());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(14)));
+    }
+
+    @DisplayName("Проверка сохранения и восстановления оценки")
+    @Test
+    void testBytes() {
+        HyperLogLog hyperLogLog = new HyperLogLog(10);
+        for (int i = 0; i < 10_000; i++) {
+            hyperLogLog.add("agent-" + i);
+        }
+
+        byte[] bytes = hyperLogLog.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(1025, bytes.length);
+        assertEquals(10, restored.precision());
+        assertEquals(hyperLogLog.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {10, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MAX_PRECISION + 1));
+    }
+}
@@ -0,0 +1,87 @@
+package backend.academy.analyser.stats.quantile;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тесты для скетча перцентилей")
+public class DDSketchTest {
+
+    private static final double ACCURACY = DDSketch.DEFAULT_RELATIVE_ACCURACY;
+
+    @DisplayName("Проверка перцентилей пустого скетча")
+    @Test
+    void testEmptySketch() {
+        DDSketch sketch = new DDSketch();
+
+        assertEquals(0, sketch.count());
+        assertEquals(0, sketch.percentile(95));
+    }
+
+    @DisplayName("Проверка относительной ошибки перцентилей")
+    @Test
+    void testRelativeAccuracy() {
+        DDSketch sketch = new DDSketch();
+        for (int value = 0; value <= 100_000; value++) {
+            sketch.add(value);
+        }
+
+        assertEquals(100_001, sketch.count());
+        assertEquals(0, sketch.percentile(0));
+        for (double level : new double[] {50, 90, 95, 99, 99.9}) {
+            double expected = level * 1000;
+            assertEquals(expected, sketch.percentile(level), expected * ACCURACY);
+        }
+        assertEquals(100_000, sketch.percentile(100), 100_000 * ACCURACY);
+        assertEquals(Integer.MAX_VALUE, singleValueSketch(Integer.MAX_VALUE).percentile(50),
+            Integer.MAX_VALUE * ACCURACY);
+    }
+
+    @DisplayName("Проверка интерполяции между соседними значениями")
+    @Test
+    void testInterpolation() {
+        DDSketch sketch = new DDSketch();
+        sketch.add(215);
+        sketch.add(100);
+
+        assertEquals(209, sketch.percentile(95), 209 * ACCURACY);
+    }
+
+    @DisplayName("Проверка совпадения объединенного скетча со скетчем по всем значениям")
+    @Test
+    void testMerge() {
+        Random random = new Random(42);
+        DDSketch whole = new DDSketch();
+        DDSketch first = new DDSketch();
+        DDSketch second = new DDSketch();
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(1_000_000);
+            whole.add(value);
+            (i % 3 == 0 ? first : second).add(value);
+        }
+
+        second.merge(first);
+
+        assertEquals(whole.count(), second.count());
+        for (double level : new double[] {50, 95, 99.9}) {
+            assertEquals(whole.percentile(level), second.percentile(level));
+        }
+    }
+
+    @DisplayName("Проверка запрета объединения скетчей с разной точностью")
+    @Test
+    void testMergeDifferentAccuracy() {
+        DDSketch sketch = new DDSketch();
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new DDSketch(0.05)));
+        assertThrows(IllegalArgumentException.class, () -> new DDSketch(1));
+    }
+
+    private DDSketch singleValueSketch(int value) {
+        DDSketch sketch = new DDSketch();
+        sketch.add(value);
+        return sketch;
+    }
+}
@@ -0,0 +1,58 @@
+package backend.academy.analyser.stats.quantile;
+
+import com.google.common.math.Quantiles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тесты для точного подсчета перцентилей по гистограмме частот")
+public class ExactHistogramTest {
+
+    @DisplayName("Проверка перцентилей пустой гистограммы")
+    @Test
+    void testEmptyHistogram() {
+        ExactHistogram histogram = new ExactHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(95));
+    }
+
+    @DisplayName("Проверка совпадения перцентилей с подсчетом по отсортированному списку")
+    @Test
+    void testSameAsSortedList() {
+        Random random = new Random(7);
+        ExactHistogram histogram = new ExactHistogram();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(50) * 100;
+            histogram.add(value);
+            values.add(value);
+        }
+
+        for (double level : new double[] {0, 50, 90, 95, 99, 99.9, 100}) {
+            int expected = (int) Quantiles.scale(1000).index((int) (level * 10)).compute(values);
+            assertEquals(expected, histogram.percentile(level));
+        }
+    }
+
+    @DisplayName("Проверка объединения гистограмм")
+    @Test
+    void testMerge() {
+        ExactHistogram histogram = new ExactHistogram();
+        ExactHistogram other = new ExactHistogram();
+        histogram.add(215);
+        other.add(100);
+        other.add(100);
+
+        histogram.merge(other);
+
+        assertEquals(3, histogram.count());
+        assertEquals(203, histogram.percentile(95));
+        assertEquals(2, other.count());
+        assertThrows(IllegalArgumentException.class, () -> histogram.merge(new DDSketch()));
+    }
+}
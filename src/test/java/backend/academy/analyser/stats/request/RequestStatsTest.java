@@ -1,15 +1,20 @@
 package backend.academy.analyser.stats.request;
 
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.LogTime;
 import backend.academy.analyser.NginxLogEntity;
-import backend.academy.analyser.parser.HttpRequestParser;
+import backend.academy.analyser.stats.topk.HeavyHitter;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
+import static backend.academy.analyser.parser.HttpRequestParser.parseHttpRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Тест класса, собирающего статистику по запросам")
@@ -27,8 +32,8 @@ public class RequestStatsTest {
     @DisplayName("Проверка инициализации мап со статистикой")
     @Test
     void testInitResourcesAndMethodsMap() {
-        Map<String, Integer> requestResourceCounts = requestStats.requestResourceCounts();
-        Map<String, Integer> requestMethodsCounts = requestStats.requestMethodsCounts();
+        Map<String, Long> requestResourceCounts = requestStats.requestResourceCounts();
+        Map<String, Long> requestMethodsCounts = requestStats.requestMethodsCounts();
 
         assertEquals(0, requestResourceCounts.size());
         assertEquals(0, requestMethodsCounts.size());
@@ -37,20 +42,78 @@ public class RequestStatsTest {
     @DisplayName("Проверка обновления статистики методов и ресурсов")
     @Test
     void testChangeRequestStats() {
-        Map<String, Integer> requestResourceCounts = requestStats.requestResourceCounts();
-        Map<String, Integer> requestMethodsCounts = requestStats.requestMethodsCounts();
+        Map<String, Long> requestResourceCounts = requestStats.requestResourceCounts();
+        Map<String, Long> requestMethodsCounts = requestStats.requestMethodsCounts();
 
-        when(nginxLogEntity.request()).thenReturn("GET /downloads/product_1 HTTP/1.1");
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
 
-        try (MockedStatic<HttpRequestParser> parserMock = mockStatic(HttpRequestParser.class)) {
-            parserMock.when(() -> HttpRequestParser.parseHttpRequest("GET /downloads/product_1 HTTP/1.1"))
-                .thenReturn(new String[] {"GET", "/downloads/product_1", "HTTP/1.1"});
-
-            requestStats.changeRequestStats(nginxLogEntity);
-        }
+        requestStats.changeRequestStats(nginxLogEntity);
 
         assertEquals(1, requestMethodsCounts.get("GET"));
         assertEquals(1, requestResourceCounts.get("/downloads/product_1"));
     }
 
+    @DisplayName("Проверка пропуска логов с неразобранным запросом")
+    @Test
+    void testChangeRequestStatsMalformedRequest() {
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("\\x16\\x03\\x01"));
+
+        requestStats.changeRequestStats(nginxLogEntity);
+
+        assertEquals(0, requestStats.requestMethodsCounts().size());
+        assertEquals(0, requestStats.requestResourceCounts().size());
+    }
+
+    @DisplayName("Проверка пропуска лога без запроса")
+    @Test
+    void testChangeRequestStatsWithoutRequest() {
+        when(nginxLogEntity.request()).thenReturn(null);
+
+        requestStats.update(nginxLogEntity);
+
+        assertEquals(0, requestStats.requestMethodsCounts().size());
+        assertEquals(0, requestStats.requestResourceCounts().size());
+    }
+
+    @DisplayName("Проверка объединения статистики методов и ресурсов")
+    @Test
+    void testMerge() {
+        RequestStats otherStats = new RequestStats();
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("GET /downloads/product_1 HTTP/1.1"));
+        requestStats.changeRequestStats(nginxLogEntity);
+        otherStats.changeRequestStats(nginxLogEntity);
+        when(nginxLogEntity.request()).thenReturn(parseHttpRequest("HEAD /downloads/product_2 HTTP/1.1"));
+        otherStats.changeRequestStats(nginxLogEntity);
+
+        requestStats.merge(otherStats);
+
+        assertEquals(Map.of("GET", 2L, "HEAD", 1L), requestStats.requestMethodsCounts());
+        assertEquals(Map.of("/downloads/product_1", 2L, "/downloads/product_2", 1L),
+            requestStats.requestResourceCounts());
+        assertEquals(Map.of("GET", 1L, "HEAD", 1L), otherStats.requestMethodsCounts());
+    }
+
+    @DisplayName("Проверка приближенного подсчета ресурсов по отдельным логам, пакетам и при объединении")
+    @Test
+    void testHeavyHitters() {
+        RequestStats heavyHitterStats = new RequestStats(2);
+        RequestStats otherStats = new RequestStats(2);
+        LogBatch batch = new LogBatch(8);
+        for (String request : List.of("GET /a HTTP/1.1", "GET /b HTTP/1.1", "GET /a HTTP/1.1", "POST /c HTTP/1.1")) {
+            NginxLogEntity entity = new NginxLogEntity("-", "-", LogTime.of(LocalDateTime.MIN, ZoneOffset.UTC),
+                parseHttpRequest(request), 200, 0, "-", "-");
+            heavyHitterStats.changeRequestStats(entity);
+            batch.add(entity);
+        }
+        otherStats.changeRequestStats(batch);
+
+        heavyHitterStats.merge(otherStats);
+
+        assertTrue(heavyHitterStats.isApproximate());
+        assertEquals(0, heavyHitterStats.requestResourceCounts().size());
+        assertEquals(Map.of("GET", 6L, "POST", 2L), heavyHitterStats.requestMethodsCounts());
+        assertEquals(8, heavyHitterStats.resourceHeavyHitters().total());
+        assertEquals(new HeavyHitter("/a", 4, 0), heavyHitterStats.resourceHeavyHitters().top(1).getFirst());
+    }
+
 }
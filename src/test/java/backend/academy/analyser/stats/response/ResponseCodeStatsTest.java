@@ -2,6 +2,7 @@ package backend.academy.analyser.stats.response;
 
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,7 +23,7 @@ public class ResponseCodeStatsTest {
     @DisplayName("Проверка метода инициализирующего мапу встреченных ответов")
     @Test
     void testInitResponseCodeStats() {
-        HashMap<Integer, Integer> responseCodesMap = responseCodeStats.responseCodesMap();
+        HashMap<Integer, Long> responseCodesMap = responseCodeStats.responseCodesMap();
 
         for (Code code : Code.values()) {
             assertTrue(responseCodesMap.containsKey(code.code()));
@@ -44,21 +45,57 @@ public class ResponseCodeStatsTest {
         assertEquals(2, responseCodeStats.responseCodesMap().get(status500));
     }
 
-    @DisplayName("Проверка метода, сортирующего мапу в порядке убывания")
+    @DisplayName("Проверка метода, выбирающего коды с наибольшим количеством в порядке убывания")
     @Test
-    void testSortCodeMap() {
-        HashMap<Integer, Integer> map = new HashMap<>();
-        map.put(Code.OK.code(), 1);
-        map.put(Code.INTERNAL_SERVER_ERROR.code(), 17);
-        map.put(Code.NOT_FOUND.code(), 18);
+    void testTopCodeMap() {
+        HashMap<Integer, Long> map = new HashMap<>();
+        map.put(Code.OK.code(), 1L);
+        map.put(Code.INTERNAL_SERVER_ERROR.code(), 17L);
+        map.put(Code.NOT_FOUND.code(), 18L);
+        map.put(Code.NOT_MODIFIED.code(), 1L);
 
-        LinkedHashMap<Integer, Integer> sortedMap = responseCodeStats.sortCodeMap(map);
+        LinkedHashMap<Integer, Long> sortedMap = responseCodeStats.topCodeMap(map, 3);
 
         Integer[] expectedOrder = {Code.NOT_FOUND.code(), Code.INTERNAL_SERVER_ERROR.code(), Code.OK.code()};
         int i = 0;
-        for (Map.Entry<Integer, Integer> entry : sortedMap.entrySet()) {
+        for (Map.Entry<Integer, Long> entry : sortedMap.entrySet()) {
             assertEquals(expectedOrder[i++], entry.getKey());
         }
+        assertEquals(3, sortedMap.size());
+        assertEquals(List.of(Code.NOT_FOUND.code()), List.copyOf(responseCodeStats.topCodeMap(map, 1).keySet()));
+    }
+
+    @DisplayName("Проверка объединения статистики по кодам ответа")
+    @Test
+    void testMerge() {
+        ResponseCodeStats otherStats = new ResponseCodeStats();
+        int status200 = Code.OK.code();
+        int status404 = Code.NOT_FOUND.code();
+
+        responseCodeStats.changeResponseCodeStats(status200);
+        otherStats.changeResponseCodeStats(status200);
+        otherStats.changeResponseCodeStats(status404);
+
+        responseCodeStats.merge(otherStats);
+
+        assertEquals(2, responseCodeStats.responseCodesMap().get(status200));
+        assertEquals(1, responseCodeStats.responseCodesMap().get(status404));
+        assertEquals(0, responseCodeStats.responseCodesMap().get(Code.INTERNAL_SERVER_ERROR.code()));
+    }
+
+    @DisplayName("Проверка подсчета кодов ответа вне диапазона от 100 до 599")
+    @Test
+    void testNonStandardResponseCodes() {
+        responseCodeStats.changeResponseCodeStats(999);
+        responseCodeStats.changeResponseCodeStats(999);
+        responseCodeStats.changeResponseCodeStats(Code.OK.code());
+
+        ResponseCodeStats otherStats = new ResponseCodeStats();
+        otherStats.changeResponseCodeStats(999);
+        responseCodeStats.merge(otherStats);
+
+        assertEquals(3, responseCodeStats.responseCodesMap().get(999));
+        assertEquals(1, responseCodeStats.responseCodesMap().get(Code.OK.code()));
     }
 
 }
@@ -0,0 +1,68 @@
+package backend.academy.analyser.stats.size;
+
+import backend.academy.analyser.LogBatch;
+import backend.academy.analyser.NginxLogEntity;
+import backend.academy.analyser.stats.quantile.PercentileMode;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Тесты для статистики по размеру ответа")
+public class ResponseSizeStatsTest {
+
+    private static final List<NginxLogEntity> ENTITIES = List.of(entity(100), entity(200), entity(300), entity(400));
+
+    @DisplayName("Проверка среднего размера и перцентилей по отдельным логам")
+    @Test
+    void testUpdate() {
+        ResponseSizeStats sizeStats = new ResponseSizeStats(List.of(50.0, 100.0), PercentileMode.EXACT);
+
+        ENTITIES.forEach(sizeStats::update);
+        sizeStats.finish();
+
+        assertEquals(1000, sizeStats.sumResponseSize());
+        assertEquals(250, sizeStats.avgResponseSize());
+        assertEquals(250, sizeStats.percentiles().get("50"));
+        assertEquals(400, sizeStats.percentiles().get("100"));
+    }
+
+    @DisplayName("Проверка совпадения статистики по пакету и по отдельным логам после объединения")
+    @Test
+    void testBatchAndMerge() {
+        ResponseSizeStats entityStats = new ResponseSizeStats(List.of(95.0), PercentileMode.EXACT);
+        ResponseSizeStats batchStats = new ResponseSizeStats(List.of(95.0), PercentileMode.EXACT);
+        ResponseSizeStats otherBatchStats = new ResponseSizeStats(List.of(95.0), PercentileMode.EXACT);
+        LogBatch batch = new LogBatch();
+        LogBatch otherBatch = new LogBatch();
+        for (int i = 0; i < ENTITIES.size(); i++) {
+            entityStats.update(ENTITIES.get(i));
+            (i % 2 == 0 ? batch : otherBatch).add(ENTITIES.get(i));
+        }
+
+        batchStats.update(batch);
+        otherBatchStats.update(otherBatch);
+        batchStats.merge(otherBatchStats);
+        entityStats.finish();
+        batchStats.finish();
+
+        assertEquals(entityStats.sumResponseSize(), batchStats.sumResponseSize());
+        assertEquals(entityStats.avgResponseSize(), batchStats.avgResponseSize());
+        assertEquals(entityStats.percentiles(), batchStats.percentiles());
+    }
+
+    @DisplayName("Проверка статистики без логов")
+    @Test
+    void testEmpty() {
+        ResponseSizeStats sizeStats = new ResponseSizeStats(List.of(95.0), PercentileMode.SKETCH);
+
+        sizeStats.finish();
+
+        assertEquals(0, sizeStats.avgResponseSize());
+        assertEquals(0, sizeStats.percentiles().get("95"));
+    }
+
+    private static NginxLogEntity entity(int bodyBytesSent) {
+        return new NginxLogEntity("10.0.0.1", "-", null, null, 200, bodyBytesSent, "-", "curl");
+    }
+}
@@ -0,0 +1,125 @@
+package backend.academy.analyser.stats.topk;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для поиска самых частых значений по алгоритму Space-Saving")
+public class SpaceSavingTest {
+
+    @DisplayName("Проверка точного подсчета, пока счетчиков хватает")
+    @Test
+    void testExactBelowCapacity() {
+        SpaceSaving spaceSaving = new SpaceSaving(4);
+        spaceSaving.add("/b");
+        spaceSaving.add("/a", 3);
+        spaceSaving.add("/c");
+        spaceSaving.add("/b");
+
+        assertEquals(6, spaceSaving.total());
+        assertEquals(0, spaceSaving.maxError());
+        assertEquals(List.of(new HeavyHitter("/a", 3, 0), new HeavyHitter("/b", 2, 0), new HeavyHitter("/c", 1, 0)),
+            spaceSaving.top(10));
+        assertEquals(List.of(new HeavyHitter("/a", 3, 0)), spaceSaving.top(1));
+    }
+
+    @DisplayName("Проверка вытеснения значения с наименьшим количеством")
+    @Test
+    void testReplaceMinimum() {
+        SpaceSaving spaceSaving = new SpaceSaving(2);
+        spaceSaving.add("/a", 5);
+        spaceSaving.add("/b", 2);
+        spaceSaving.add("/c");
+
+        assertEquals(List.of(new HeavyHitter("/a", 5, 0), new HeavyHitter("/c", 3, 2)), spaceSaving.top(2));
+        assertEquals(1, spaceSaving.top(2).get(1).guaranteedCount());
+        assertEquals(3, spaceSaving.maxError());
+    }
+
+    @DisplayName("Проверка гарантий точности на распределении Ципфа")
+    @Test
+    void testErrorBound() {
+        int capacity = 64;
+        SpaceSaving spaceSaving = new SpaceSaving(capacity);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String item = "/resource/" + (int) Math.floor(Math.pow(1000, random.nextDouble()));
+            spaceSaving.add(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        long maxError = spaceSaving.total() / capacity;
+        for (HeavyHitter heavyHitter : spaceSaving.top(capacity)) {
+            long count = exact.get(heavyHitter.item());
+            assertTrue(heavyHitter.guaranteedCount() <= count && count <= heavyHitter.count());
+            assertTrue(heavyHitter.error() <= maxError);
+        }
+        exact.forEach((item, count) -> {
+            if (count > maxError) {
+                assertTrue(spaceSaving.top(capacity).stream().anyMatch(h -> h.item().equals(item)));
+            }
+        });
+        assertEquals("/resource/1", spaceSaving.top(1).getFirst().item());
+    }
+
+    @DisplayName("Проверка гарантий точности объединенной структуры")
+    @Test
+    void testMerge() {
+        int capacity = 32;
+        SpaceSaving first = new SpaceSaving(capacity);
+        SpaceSaving second = new SpaceSaving(capacity);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            String item = "/resource/" + (int) Math.floor(Math.pow(500, random.nextDouble()));
+            (i % 3 == 0 ? first : second).add(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        first.merge(second);
+
+        assertEquals(100_000, first.total());
+        List<HeavyHitter> top = first.top(capacity);
+        assertEquals(capacity, top.size());
+        for (HeavyHitter heavyHitter : top) {
+            long count = exact.get(heavyHitter.item());
+            assertTrue(heavyHitter.guaranteedCount() <= count && count <= heavyHitter.count());
+            assertTrue(heavyHitter.error() <= first.total() / capacity);
+        }
+        first.add("/resource/1");
+        assertEquals("/resource/1", first.top(1).getFirst().item());
+    }
+
+    @DisplayName("Проверка объединения структур, в которых счетчиков хватает")
+    @Test
+    void testMergeExact() {
+        SpaceSaving first = new SpaceSaving(4);
+        SpaceSaving second = new SpaceSaving(4);
+        first.add("/a", 2);
+        first.add("/b");
+        second.add("/b", 2);
+        second.add("/c");
+
+        first.merge(second);
+
+        assertEquals(List.of(new HeavyHitter("/b", 3, 0), new HeavyHitter("/a", 2, 0), new HeavyHitter("/c", 1, 0)),
+            first.top(4));
+    }
+
+    @DisplayName("Проверка ошибки при объединении структур с разным количеством счетчиков")
+    @Test
+    void testMergeDifferentCapacity() {
+        SpaceSaving spaceSaving = new SpaceSaving(4);
+        SpaceSaving other = new SpaceSaving(8);
+
+        assertThrows(IllegalArgumentException.class, () -> spaceSaving.merge(other));
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving(0));
+    }
+}
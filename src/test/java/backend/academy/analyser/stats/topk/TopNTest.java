@@ -0,0 +1,65 @@
+package backend.academy.analyser.stats.topk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты для выбора записей с наибольшими количествами")
+public class TopNTest {
+
+    @DisplayName("Проверка совпадения выбора с началом полной сортировки")
+    @Test
+    void testSelectMatchesSort() {
+        Map<String, Long> counts = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            counts.put("/resource/" + i, (long) random.nextInt(100));
+        }
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        LinkedHashMap<String, Long> top = TopN.select(counts, 25);
+
+        assertEquals(sorted.subList(0, 25), List.copyOf(top.entrySet()));
+    }
+
+    @DisplayName("Проверка порядка записей с равными количествами")
+    @Test
+    void testTiesOrderedByKey() {
+        List<Integer> codes = new ArrayList<>(List.of(500, 200, 404, 304, 301));
+        Collections.shuffle(codes, new Random(7));
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int code : codes) {
+            counts.put(code, code == 301 ? 1L : 5L);
+        }
+
+        assertEquals(List.of(200, 304, 404), List.copyOf(TopN.select(counts, 3).keySet()));
+    }
+
+    @DisplayName("Проверка выбора при количестве записей меньше выбираемого")
+    @Test
+    void testLimitLargerThanMap() {
+        assertEquals(List.of("b", "a"), List.copyOf(TopN.select(Map.of("a", 1L, "b", 2L), 10).keySet()));
+        assertTrue(TopN.select(Map.of("a", 1L), 0).isEmpty());
+        assertTrue(TopN.select(Map.<String, Long>of(), 3).isEmpty());
+    }
+
+    @DisplayName("Проверка выбора элементов в заданном порядке")
+    @Test
+    void testSelectWithComparator() {
+        List<Integer> items = List.of(5, 3, 9, 1, 7, 9);
+
+        assertEquals(List.of(9, 9, 7), TopN.select(items, 3, Comparator.<Integer>reverseOrder()));
+        assertEquals(List.of(1, 3), TopN.select(items, 2, Comparator.<Integer>naturalOrder()));
+        assertTrue(TopN.select(items, 0, Comparator.<Integer>naturalOrder()).isEmpty());
+    }
+}